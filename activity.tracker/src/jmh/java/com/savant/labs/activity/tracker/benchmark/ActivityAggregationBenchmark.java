@@ -0,0 +1,36 @@
+package com.savant.labs.activity.tracker.benchmark;
+
+import com.savant.labs.activity.tracker.models.GitHubRepository;
+import com.savant.labs.activity.tracker.models.RepositoryActivity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ActivityAggregationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int repositories;
+
+    private List<GitHubRepository> fetched;
+
+    @Setup
+    public void setUp() {
+        fetched = Fixtures.repositories(repositories, 10);
+    }
+
+    @Benchmark
+    public RepositoryActivity aggregate() {
+        return new RepositoryActivity(Fixtures.USERNAME, fetched);
+    }
+}
@@ -0,0 +1,83 @@
+package com.savant.labs.activity.tracker.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.savant.labs.activity.tracker.client.JsonArrayStreamDecoder;
+import com.savant.labs.activity.tracker.models.GitHubCommit;
+import com.savant.labs.activity.tracker.models.GitHubRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decodes one list page the way a blocking {@code bodyToMono(List)} would and the way the
+ * client does, element by element from 8 KB network-sized buffers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class DecodingBenchmark {
+
+    private static final int CHUNK_SIZE = 8192;
+    private static final TypeReference<List<GitHubRepository>> REPOSITORIES = new TypeReference<>() {};
+    private static final TypeReference<List<GitHubCommit>> COMMITS = new TypeReference<>() {};
+
+    @Param({"30", "100"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private JsonArrayStreamDecoder decoder;
+    private byte[] repositoryPage;
+    private byte[] commitPage;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Fixtures.objectMapper();
+        decoder = new JsonArrayStreamDecoder(objectMapper, Fixtures.config());
+        repositoryPage = Fixtures.repositoryPage(pageSize);
+        commitPage = Fixtures.commitPage(pageSize);
+    }
+
+    @Benchmark
+    public List<GitHubRepository> repositoriesWholePage() throws IOException {
+        return objectMapper.readValue(repositoryPage, REPOSITORIES);
+    }
+
+    @Benchmark
+    public List<GitHubRepository> repositoriesStreamed() {
+        return decoder.decode(chunked(repositoryPage), GitHubRepository.class).collectList().block();
+    }
+
+    @Benchmark
+    public List<GitHubCommit> commitsWholePage() throws IOException {
+        return objectMapper.readValue(commitPage, COMMITS);
+    }
+
+    @Benchmark
+    public List<GitHubCommit> commitsStreamed() {
+        return decoder.decode(chunked(commitPage), GitHubCommit.class).collectList().block();
+    }
+
+    private static Flux<DataBuffer> chunked(byte[] body) {
+        List<DataBuffer> buffers = new ArrayList<>(body.length / CHUNK_SIZE + 1);
+        for (int offset = 0; offset < body.length; offset += CHUNK_SIZE) {
+            buffers.add(DefaultDataBufferFactory.sharedInstance.wrap(
+                    Arrays.copyOfRange(body, offset, Math.min(body.length, offset + CHUNK_SIZE))));
+        }
+        return Flux.fromIterable(buffers);
+    }
+}
@@ -0,0 +1,174 @@
+package com.savant.labs.activity.tracker.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.savant.labs.activity.tracker.config.GitHubConfig;
+import com.savant.labs.activity.tracker.models.AuthorInfo;
+import com.savant.labs.activity.tracker.models.CommitAuthor;
+import com.savant.labs.activity.tracker.models.CommitDetails;
+import com.savant.labs.activity.tracker.models.GitHubCommit;
+import com.savant.labs.activity.tracker.models.GitHubRepository;
+import com.savant.labs.activity.tracker.models.Owner;
+import com.savant.labs.activity.tracker.models.RepositoryActivity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Inputs shaped like real GitHub responses: list pages carry every field the REST API returns,
+ * most of which the models ignore, and activities have a few authors shared across repositories.
+ */
+final class Fixtures {
+
+    static final String USERNAME = "octocat";
+    private static final LocalDateTime PUSHED_AT = LocalDateTime.of(2024, 5, 1, 12, 30, 15);
+
+    private Fixtures() {
+    }
+
+    static GitHubConfig config() {
+        GitHubConfig config = new GitHubConfig();
+        config.setToken("benchmark-token");
+        config.getApi().setUsersReposEndpoint("/users/{username}/repos?type=public&sort=updated&per_page={perPage}&page={page}");
+        config.getApi().setRepoCommitsEndpoint("/repos/{repoFullName}/commits?sha={branch}&per_page={maxCommits}&page={page}");
+        return config;
+    }
+
+    static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    static byte[] repositoryPage(int size) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            String name = "repo-" + i;
+            String api = "https://api.github.com/repos/" + USERNAME + "/" + name;
+            json.append(i > 0 ? "," : "").append("{")
+                    .append("\"id\":").append(100_000 + i).append(",\"node_id\":\"R_kgDOH").append(i).append("\",")
+                    .append("\"name\":\"").append(name).append("\",\"full_name\":\"").append(USERNAME).append('/').append(name).append("\",")
+                    .append("\"private\":false,\"owner\":").append(user(USERNAME, 583231)).append(',')
+                    .append("\"html_url\":\"https://github.com/").append(USERNAME).append('/').append(name).append("\",")
+                    .append("\"description\":\"Repository number ").append(i).append(", with a description of typical length\",")
+                    .append("\"fork\":false,\"url\":\"").append(api).append("\",");
+            for (String link : List.of("forks", "keys", "collaborators", "teams", "hooks", "issue_events", "events",
+                    "assignees", "branches", "tags", "blobs", "git_tags", "git_refs", "trees", "statuses", "languages",
+                    "stargazers", "contributors", "subscribers", "subscription", "commits", "git_commits", "comments",
+                    "issue_comment", "contents", "compare", "merges", "archive", "downloads", "issues", "pulls",
+                    "milestones", "notifications", "labels", "releases", "deployments")) {
+                json.append('"').append(link).append("_url\":\"").append(api).append('/').append(link).append("\",");
+            }
+            json.append("\"created_at\":\"2020-01-0").append(1 + i % 9).append("T10:00:00Z\",")
+                    .append("\"updated_at\":\"2024-05-01T12:30:15Z\",\"pushed_at\":\"2024-05-01T12:30:15Z\",")
+                    .append("\"git_url\":\"git://github.com/").append(USERNAME).append('/').append(name).append(".git\",")
+                    .append("\"ssh_url\":\"git@github.com:").append(USERNAME).append('/').append(name).append(".git\",")
+                    .append("\"clone_url\":\"https://github.com/").append(USERNAME).append('/').append(name).append(".git\",")
+                    .append("\"homepage\":null,\"size\":").append(1024 + i).append(",\"stargazers_count\":").append(i)
+                    .append(",\"watchers_count\":").append(i).append(",\"language\":\"Java\",\"has_issues\":true,")
+                    .append("\"has_projects\":true,\"has_downloads\":true,\"has_wiki\":true,\"has_pages\":false,")
+                    .append("\"forks_count\":").append(i % 7).append(",\"archived\":false,\"disabled\":false,")
+                    .append("\"open_issues_count\":").append(i % 5).append(",\"license\":{\"key\":\"mit\",\"name\":\"MIT License\",")
+                    .append("\"spdx_id\":\"MIT\",\"url\":\"https://api.github.com/licenses/mit\",\"node_id\":\"MDc6TGljZW5zZTEz\"},")
+                    .append("\"topics\":[\"java\",\"spring-boot\",\"github-api\"],\"visibility\":\"public\",")
+                    .append("\"forks\":").append(i % 7).append(",\"open_issues\":").append(i % 5).append(",\"watchers\":").append(i)
+                    .append(",\"default_branch\":\"main\"}");
+        }
+        return json.append("]").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    static byte[] commitPage(int size) {
+        Random random = new Random(size);
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            String sha = sha(random);
+            String author = "author" + (i % 3);
+            String repoApi = "https://api.github.com/repos/" + USERNAME + "/repo-0";
+            String person = "{\"name\":\"Author " + (i % 3) + "\",\"email\":\"" + author + "@example.com\","
+                    + "\"date\":\"2024-05-01T" + (10 + i % 10) + ":00:00Z\"}";
+            json.append(i > 0 ? "," : "").append("{")
+                    .append("\"sha\":\"").append(sha).append("\",\"node_id\":\"C_kwDOH").append(i).append("\",")
+                    .append("\"commit\":{\"author\":").append(person).append(",\"committer\":").append(person).append(',')
+                    .append("\"message\":\"Change ").append(i).append(": adjust the handling of a case\\n\\n")
+                    .append("A longer body explaining why the change was needed and what it affects.\",")
+                    .append("\"tree\":{\"sha\":\"").append(sha(random)).append("\",\"url\":\"").append(repoApi).append("/git/trees/x\"},")
+                    .append("\"url\":\"").append(repoApi).append("/git/commits/").append(sha).append("\",\"comment_count\":0,")
+                    .append("\"verification\":{\"verified\":false,\"reason\":\"unsigned\",\"signature\":null,\"payload\":null,\"verified_at\":null}},")
+                    .append("\"url\":\"").append(repoApi).append("/commits/").append(sha).append("\",")
+                    .append("\"html_url\":\"https://github.com/").append(USERNAME).append("/repo-0/commit/").append(sha).append("\",")
+                    .append("\"comments_url\":\"").append(repoApi).append("/commits/").append(sha).append("/comments\",")
+                    .append("\"author\":").append(user(author, 100 + i % 3)).append(",\"committer\":").append(user(author, 100 + i % 3)).append(',')
+                    .append("\"parents\":[{\"sha\":\"").append(sha(random)).append("\",\"url\":\"").append(repoApi).append("/commits/p\",")
+                    .append("\"html_url\":\"https://github.com/").append(USERNAME).append("/repo-0/commit/p\"}]}");
+        }
+        return json.append("]").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String user(String login, long id) {
+        String api = "https://api.github.com/users/" + login;
+        return "{\"login\":\"" + login + "\",\"id\":" + id + ",\"node_id\":\"MDQ6VXNlcj" + id + "\","
+                + "\"avatar_url\":\"https://avatars.githubusercontent.com/u/" + id + "?v=4\",\"gravatar_id\":\"\","
+                + "\"url\":\"" + api + "\",\"html_url\":\"https://github.com/" + login + "\","
+                + "\"followers_url\":\"" + api + "/followers\",\"following_url\":\"" + api + "/following{/other_user}\","
+                + "\"gists_url\":\"" + api + "/gists{/gist_id}\",\"starred_url\":\"" + api + "/starred{/owner}{/repo}\","
+                + "\"subscriptions_url\":\"" + api + "/subscriptions\",\"organizations_url\":\"" + api + "/orgs\","
+                + "\"repos_url\":\"" + api + "/repos\",\"events_url\":\"" + api + "/events{/privacy}\","
+                + "\"received_events_url\":\"" + api + "/received_events\",\"type\":\"User\",\"user_view_type\":\"public\","
+                + "\"site_admin\":false}";
+    }
+
+    private static String sha(Random random) {
+        StringBuilder sha = new StringBuilder(40);
+        for (int i = 0; i < 40; i++) {
+            sha.append(Character.forDigit(random.nextInt(16), 16));
+        }
+        return sha.toString();
+    }
+
+    static List<GitHubRepository> repositories(int count, int commitsPerRepository) {
+        Random random = new Random(count);
+        List<GitHubRepository> repositories = new ArrayList<>(count);
+        for (int r = 0; r < count; r++) {
+            String fullName = USERNAME + "/repo-" + r;
+            GitHubRepository repo = new GitHubRepository(100_000L + r, "repo-" + r, fullName);
+            repo.setHtmlUrl("https://github.com/" + fullName);
+            repo.setDescription("Repository number " + r + ", with a description of typical length");
+            repo.setLanguage("Java");
+            repo.setDefaultBranch("main");
+            repo.setStargazersCount(r);
+            repo.setWatchersCount(r);
+            repo.setForksCount(r % 7);
+            repo.setCreatedAt(PUSHED_AT.minusYears(1));
+            repo.setUpdatedAt(PUSHED_AT);
+            repo.setPushedAt(PUSHED_AT);
+            Owner owner = new Owner(583231L, USERNAME, "User");
+            owner.setAvatarUrl("https://avatars.githubusercontent.com/u/583231?v=4");
+            owner.setHtmlUrl("https://github.com/" + USERNAME);
+            repo.setOwner(owner);
+
+            List<GitHubCommit> commits = new ArrayList<>(commitsPerRepository);
+            for (int c = 0; c < commitsPerRepository; c++) {
+                String sha = sha(random);
+                int author = c % 3;
+                AuthorInfo person = new AuthorInfo("Author " + author, "author" + author + "@example.com", PUSHED_AT.minusHours(c));
+                CommitDetails details = new CommitDetails("Change " + c + ": adjust the handling of a case", person);
+                details.setCommitter(person);
+                GitHubCommit commit = new GitHubCommit(sha, details);
+                CommitAuthor commitAuthor = new CommitAuthor(100L + author, "author" + author);
+                commitAuthor.setAvatarUrl("https://avatars.githubusercontent.com/u/" + (100 + author) + "?v=4");
+                commitAuthor.setHtmlUrl("https://github.com/author" + author);
+                commit.setAuthor(commitAuthor);
+                commit.setHtmlUrl("https://github.com/" + fullName + "/commit/" + sha);
+                commits.add(commit);
+            }
+            repo.setRecentCommits(commits);
+            repositories.add(repo);
+        }
+        return repositories;
+    }
+
+    static RepositoryActivity activity(int repositories, int commitsPerRepository) {
+        return new RepositoryActivity(USERNAME, repositories(repositories, commitsPerRepository));
+    }
+}
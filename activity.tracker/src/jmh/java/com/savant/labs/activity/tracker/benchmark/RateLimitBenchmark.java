@@ -0,0 +1,63 @@
+package com.savant.labs.activity.tracker.benchmark;
+
+import com.savant.labs.activity.tracker.service.impl.RateLimitService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Every upstream call reserves from the same core bucket, so admission is measured with all
+ * threads sharing one {@link RateLimitService}. The budget is refilled each iteration and is
+ * large enough that no caller ever queues.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class RateLimitBenchmark {
+
+    private RateLimitService rateLimitService;
+
+    @Setup
+    public void setUp() {
+        rateLimitService = new RateLimitService();
+    }
+
+    @Setup(Level.Iteration)
+    public void refill() {
+        rateLimitService.updateRateLimit(Integer.MAX_VALUE, Instant.now().plus(1, ChronoUnit.DAYS).getEpochSecond());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Void admit1Thread() {
+        return rateLimitService.checkRateLimit().block();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Void admit4Threads() {
+        return rateLimitService.checkRateLimit().block();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public Void admit16Threads() {
+        return rateLimitService.checkRateLimit().block();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public Void admit64Threads() {
+        return rateLimitService.checkRateLimit().block();
+    }
+}
@@ -0,0 +1,52 @@
+package com.savant.labs.activity.tracker.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.savant.labs.activity.tracker.cache.FieldProjection;
+import com.savant.labs.activity.tracker.models.RepositoryActivity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializes the activity response as a cache miss does, in full and through a {@code fields=}
+ * projection.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    @Param({"100", "1000"})
+    public int repositories;
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter projectedWriter;
+    private RepositoryActivity activity;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Fixtures.objectMapper();
+        projectedWriter = FieldProjection.parse("username,repositories.full_name,repositories.pushed_at,repositories.recentCommits.sha")
+                .writer(FieldProjection.projecting(objectMapper));
+        activity = Fixtures.activity(repositories, 10);
+    }
+
+    @Benchmark
+    public byte[] full() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(activity);
+    }
+
+    @Benchmark
+    public byte[] projected() throws JsonProcessingException {
+        return projectedWriter.writeValueAsBytes(activity);
+    }
+}
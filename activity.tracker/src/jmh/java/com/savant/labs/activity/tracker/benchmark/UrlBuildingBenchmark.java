@@ -0,0 +1,47 @@
+package com.savant.labs.activity.tracker.benchmark;
+
+import com.savant.labs.activity.tracker.service.impl.GitHubApiClientService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * URL templating runs once per upstream page, so a fan-out over many repositories builds
+ * hundreds of URLs per user request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class UrlBuildingBenchmark {
+
+    private static final LocalDateTime SINCE = LocalDateTime.of(2024, 5, 1, 0, 0);
+
+    private GitHubApiClientService apiClient;
+
+    @Setup
+    public void setUp() {
+        apiClient = new GitHubApiClientService(null, Fixtures.config(), null, null, null, null, null, null, null, null, null);
+    }
+
+    @Benchmark
+    public String repositoriesUrl() {
+        return apiClient.buildRepositoriesUrl(Fixtures.USERNAME, 3);
+    }
+
+    @Benchmark
+    public String commitsUrl() {
+        return apiClient.buildCommitsUrl("octocat/hello-world", "main", 1);
+    }
+
+    @Benchmark
+    public String commitsUrlSince() {
+        return apiClient.buildCommitsUrl("octocat/hello-world", "main", 1, SINCE);
+    }
+}
@@ -0,0 +1,61 @@
+package com.savant.labs.activity.tracker.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Upstream response delay, parsed from {@code fixed:<d>}, {@code uniform:<min>:<max>} or
+ * {@code lognormal:<median>:<p99>}, e.g. {@code lognormal:40ms:400ms}. Log-normal is the shape
+ * real API latencies usually have: most calls near the median and a long right tail.
+ */
+public interface LatencyDistribution {
+
+    double Z_99 = 2.326;
+
+    long sampleNanos();
+
+    static LatencyDistribution parse(String spec) {
+        String[] parts = spec.trim().split(":");
+        try {
+            switch (parts[0]) {
+                case "fixed" -> {
+                    long nanos = nanos(parts[1]);
+                    return () -> nanos;
+                }
+                case "uniform" -> {
+                    long min = nanos(parts[1]);
+                    long max = nanos(parts[2]);
+                    if (max < min) {
+                        throw new IllegalArgumentException("max is below min");
+                    }
+                    return () -> min + ThreadLocalRandom.current().nextLong(max - min + 1);
+                }
+                case "lognormal" -> {
+                    long median = nanos(parts[1]);
+                    long p99 = nanos(parts[2]);
+                    if (median <= 0 || p99 < median) {
+                        throw new IllegalArgumentException("median must be positive and at most p99");
+                    }
+                    double mu = Math.log(median);
+                    double sigma = (Math.log(p99) - mu) / Z_99;
+                    return () -> (long) Math.exp(mu + sigma * ThreadLocalRandom.current().nextGaussian());
+                }
+                default -> throw new IllegalArgumentException("unknown distribution " + parts[0]);
+            }
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid latency distribution '" + spec + "': missing a parameter", e);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid latency distribution '" + spec + "': " + e.getMessage(), e);
+        }
+    }
+
+    private static long nanos(String duration) {
+        return DurationStyle.detectAndParse(duration).toNanos();
+    }
+
+    default Duration sample() {
+        return Duration.ofNanos(sampleNanos());
+    }
+}
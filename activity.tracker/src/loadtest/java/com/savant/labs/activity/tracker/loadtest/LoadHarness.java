@@ -0,0 +1,309 @@
+package com.savant.labs.activity.tracker.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.savant.labs.activity.tracker.Application;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.ConfigurableApplicationContext;
+import picocli.CommandLine;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.net.http.HttpClient;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Load-tests the real application against {@link MockGitHubServer}. Run with
+ * {@code ./gradlew loadTest --args="--rate=200 --duration=2m"}; {@code --help} lists the options.
+ * <p>
+ * The application runs in this JVM with its normal configuration, pointed at the mock. After a
+ * warm-up whose numbers are discarded, the measured run reports throughput, latency percentiles,
+ * upstream calls and the allocation rate, on stdout and as JSON. The allocation rate and GC
+ * figures cover the whole process (application, mock and load generator).
+ */
+@Command(name = "loadTest", mixinStandardHelpOptions = true, sortOptions = false,
+        description = "Drives the application with an open-model load against a local GitHub stand-in.")
+public class LoadHarness implements Callable<Integer> {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    @Option(names = "--rate", defaultValue = "50", description = "Arrivals per second (default: ${DEFAULT-VALUE}).")
+    double rate;
+
+    @Option(names = "--arrivals", defaultValue = "POISSON", description = "POISSON or CONSTANT (default: ${DEFAULT-VALUE}).")
+    OpenLoadGenerator.Arrivals arrivals;
+
+    @Option(names = "--duration", defaultValue = "60s", converter = DurationConverter.class,
+            description = "Measured run (default: ${DEFAULT-VALUE}).")
+    Duration duration;
+
+    @Option(names = "--warmup", defaultValue = "15s", converter = DurationConverter.class,
+            description = "Unmeasured run at the same rate before it (default: ${DEFAULT-VALUE}).")
+    Duration warmup;
+
+    @Option(names = "--endpoint", defaultValue = "/api/v1/github/activity/{username}",
+            description = "Path requested per arrival (default: ${DEFAULT-VALUE}).")
+    String endpoint;
+
+    @Option(names = "--max-in-flight", defaultValue = "10000",
+            description = "Outstanding requests above which arrivals are dropped (default: ${DEFAULT-VALUE}).")
+    int maxInFlight;
+
+    @Option(names = "--request-timeout", defaultValue = "60s", converter = DurationConverter.class,
+            description = "Per request, and for draining at the end (default: ${DEFAULT-VALUE}).")
+    Duration requestTimeout;
+
+    @Option(names = "--users", defaultValue = "1000", description = "Synthetic users requested uniformly (default: ${DEFAULT-VALUE}).")
+    int users;
+
+    @Option(names = "--min-repos", defaultValue = "1", description = "Fewest repositories per user (default: ${DEFAULT-VALUE}).")
+    int minRepositories;
+
+    @Option(names = "--max-repos", defaultValue = "5000", description = "Most repositories per user (default: ${DEFAULT-VALUE}).")
+    int maxRepositories;
+
+    @Option(names = "--commits-per-repo", defaultValue = "10", description = "Commits per repository (default: ${DEFAULT-VALUE}).")
+    int commitsPerRepository;
+
+    @Option(names = "--latency", defaultValue = "lognormal:40ms:400ms",
+            description = "Upstream latency: fixed:<d>, uniform:<min>:<max> or lognormal:<median>:<p99> (default: ${DEFAULT-VALUE}).")
+    String latency;
+
+    @Option(names = "--server-error-rate", defaultValue = "0", description = "Share of upstream calls failing with a 5xx.")
+    double serverErrorRate;
+
+    @Option(names = "--forbidden-rate", defaultValue = "0", description = "Share of upstream calls rejected as a secondary rate limit.")
+    double forbiddenRate;
+
+    @Option(names = "--timeout-rate", defaultValue = "0", description = "Share of upstream calls left hanging.")
+    double timeoutRate;
+
+    @Option(names = "--timeout-delay", defaultValue = "30s", converter = DurationConverter.class,
+            description = "How long a hanging call hangs (default: ${DEFAULT-VALUE}).")
+    Duration timeoutDelay;
+
+    @Option(names = "--upstream-rate-limit", defaultValue = "1000000",
+            description = "Primary upstream budget per window (default: ${DEFAULT-VALUE}).")
+    int upstreamRateLimit;
+
+    @Option(names = "--upstream-rate-limit-window", defaultValue = "1h", converter = DurationConverter.class,
+            description = "Primary budget window (default: ${DEFAULT-VALUE}).")
+    Duration upstreamRateLimitWindow;
+
+    @Option(names = "--app", description = "Application property override, repeatable, e.g. --app github.cache.ttl=1s.")
+    Map<String, String> appProperties = new LinkedHashMap<>();
+
+    @Option(names = "--seed", defaultValue = "42", description = "Seed for users and arrivals (default: ${DEFAULT-VALUE}).")
+    long seed;
+
+    @Option(names = "--report", defaultValue = "build/reports/load-test/results.json",
+            description = "JSON report (default: ${DEFAULT-VALUE}).")
+    Path report;
+
+    public static void main(String[] args) {
+        System.exit(new CommandLine(new LoadHarness()).execute(args));
+    }
+
+    @Override
+    public Integer call() throws Exception {
+        SyntheticUsers population = new SyntheticUsers(users, minRepositories, maxRepositories, seed);
+        MockGitHubServer.Profile profile = new MockGitHubServer.Profile(LatencyDistribution.parse(latency),
+                commitsPerRepository, serverErrorRate, forbiddenRate, timeoutRate, timeoutDelay,
+                upstreamRateLimit, upstreamRateLimitWindow);
+
+        try (MockGitHubServer upstream = new MockGitHubServer(profile).start();
+             ConfigurableApplicationContext application = startApplication(upstream.baseUrl());
+             ExecutorService clientThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .executor(clientThreads)
+                    .build();
+            String baseUrl = "http://localhost:" + application.getEnvironment().getRequiredProperty("local.server.port");
+            OpenLoadGenerator generator = new OpenLoadGenerator(httpClient, baseUrl, endpoint, population, rate,
+                    arrivals, maxInFlight, requestTimeout, seed);
+
+            System.out.printf("%nMock GitHub at %s: %d users, %d repositories. Application at %s.%n",
+                    upstream.baseUrl(), users, population.totalRepositories(), baseUrl);
+            if (!warmup.isZero()) {
+                System.out.printf("Warming up for %s at %.1f req/s...%n", format(warmup), rate);
+                generator.run(warmup);
+            }
+            upstream.resetCalls();
+
+            System.out.printf("Measuring for %s at %.1f req/s (%s arrivals)...%n", format(duration), rate, arrivals);
+            ProcessCost before = ProcessCost.now();
+            OpenLoadGenerator.Result result = generator.run(duration);
+            ProcessCost cost = ProcessCost.now().minus(before);
+            Map<String, Long> upstreamCalls = upstream.calls();
+
+            print(result, upstreamCalls, cost);
+            writeReport(result, upstreamCalls, cost);
+        }
+        return 0;
+    }
+
+    private ConfigurableApplicationContext startApplication(String upstreamUrl) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("server.port", "0");
+        properties.put("github.base-url", upstreamUrl);
+        properties.put("github.token", "load-test-token");
+        properties.put("github.snapshot.enabled", "false");
+        properties.put("logging.level.root", "WARN");
+        properties.putAll(appProperties);
+
+        // Passed as command-line arguments so they take precedence over application.properties
+        List<String> args = new ArrayList<>();
+        properties.forEach((key, value) -> args.add("--" + key + "=" + value));
+        return new SpringApplicationBuilder(Application.class).run(args.toArray(String[]::new));
+    }
+
+    private void print(OpenLoadGenerator.Result result, Map<String, Long> upstreamCalls, ProcessCost cost) {
+        Histogram latency = result.latency();
+        long upstreamTotal = upstreamCalls.values().stream().mapToLong(Long::longValue).sum();
+
+        System.out.printf("%nRequests    scheduled %d, dropped %d, unfinished %d%n",
+                result.scheduled(), result.dropped(), result.unfinished());
+        System.out.printf("Responses   2xx %d, 4xx %d, 5xx %d, timeouts %d, transport errors %d%n",
+                result.ok(), result.clientErrors(), result.serverErrors(), result.timeouts(), result.transportErrors());
+        System.out.printf("Throughput  %.1f req/s (2xx) over %s%n", result.throughput(), format(result.elapsed()));
+        StringBuilder percentiles = new StringBuilder();
+        for (double percentile : PERCENTILES) {
+            percentiles.append(String.format("p%s %.1f  ", percentileLabel(percentile), millis(latency.getValueAtPercentile(percentile))));
+        }
+        System.out.printf("Latency ms  %smax %.1f (%d of %d samples censored by failures)%n", percentiles,
+                millis(latency.getMaxValue()), result.censored(), latency.getTotalCount());
+        System.out.printf("Upstream    %d calls, %.2f per response%n", upstreamTotal,
+                result.responses() == 0 ? 0.0 : (double) upstreamTotal / result.responses());
+        upstreamCalls.forEach((key, count) -> System.out.printf("            %-16s %d%n", key, count));
+        System.out.printf("Allocation  %.1f MB/s (whole process)%n", cost.allocationRate(result.elapsed()) / (1024 * 1024));
+        System.out.printf("GC          %d collections, %d ms%n%n", cost.gcCount(), cost.gcMillis());
+    }
+
+    private void writeReport(OpenLoadGenerator.Result result, Map<String, Long> upstreamCalls, ProcessCost cost)
+            throws Exception {
+        Histogram histogram = result.latency();
+
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("rate", rate);
+        settings.put("arrivals", arrivals);
+        settings.put("duration", duration.toString());
+        settings.put("warmup", warmup.toString());
+        settings.put("endpoint", endpoint);
+        settings.put("users", users);
+        settings.put("minRepositories", minRepositories);
+        settings.put("maxRepositories", maxRepositories);
+        settings.put("commitsPerRepository", commitsPerRepository);
+        settings.put("latency", latency);
+        settings.put("serverErrorRate", serverErrorRate);
+        settings.put("forbiddenRate", forbiddenRate);
+        settings.put("timeoutRate", timeoutRate);
+        settings.put("upstreamRateLimit", upstreamRateLimit);
+        settings.put("appProperties", appProperties);
+        settings.put("seed", seed);
+
+        Map<String, Object> requests = new LinkedHashMap<>();
+        requests.put("scheduled", result.scheduled());
+        requests.put("dropped", result.dropped());
+        requests.put("unfinished", result.unfinished());
+        requests.put("ok", result.ok());
+        requests.put("clientErrors", result.clientErrors());
+        requests.put("serverErrors", result.serverErrors());
+        requests.put("timeouts", result.timeouts());
+        requests.put("transportErrors", result.transportErrors());
+        requests.put("throughputPerSecond", result.throughput());
+
+        Map<String, Object> latencyMillis = new LinkedHashMap<>();
+        for (double percentile : PERCENTILES) {
+            latencyMillis.put("p" + percentileLabel(percentile), millis(histogram.getValueAtPercentile(percentile)));
+        }
+        latencyMillis.put("max", millis(histogram.getMaxValue()));
+        latencyMillis.put("mean", millis((long) histogram.getMean()));
+        // Timeouts and transport errors, recorded at the time they failed: lower bounds of their latency
+        latencyMillis.put("censoredSamples", result.censored());
+        // Full distribution in microseconds, readable with HdrHistogram's decodeFromCompressedByteBuffer
+        ByteBuffer encoded = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int length = histogram.encodeIntoCompressedByteBuffer(encoded);
+        latencyMillis.put("histogram", Base64.getEncoder().encodeToString(Arrays.copyOf(encoded.array(), length)));
+
+        Map<String, Object> process = new LinkedHashMap<>();
+        process.put("allocationBytesPerSecond", cost.allocationRate(result.elapsed()));
+        process.put("gcCount", cost.gcCount());
+        process.put("gcMillis", cost.gcMillis());
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("timestamp", Instant.now().toString());
+        json.put("settings", settings);
+        json.put("elapsedMillis", result.elapsed().toMillis());
+        json.put("requests", requests);
+        json.put("latencyMillis", latencyMillis);
+        json.put("upstreamCalls", upstreamCalls);
+        json.put("process", process);
+
+        Files.createDirectories(report.toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(report.toFile(), json);
+        System.out.printf("Report written to %s%n", report.toAbsolutePath());
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static String percentileLabel(double percentile) {
+        return percentile == Math.rint(percentile) ? Long.toString((long) percentile) : Double.toString(percentile);
+    }
+
+    private static String format(Duration duration) {
+        return duration.toMillis() % 1000 == 0 ? duration.toSeconds() + "s" : duration.toMillis() + "ms";
+    }
+
+    /**
+     * Heap allocated and GC work done by the whole process, from the JVM's own counters.
+     */
+    private record ProcessCost(long allocatedBytes, long gcCount, long gcMillis) {
+
+        static ProcessCost now() {
+            long allocated = ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getTotalThreadAllocatedBytes();
+            long count = 0;
+            long millis = 0;
+            for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+                count += Math.max(0, gc.getCollectionCount());
+                millis += Math.max(0, gc.getCollectionTime());
+            }
+            return new ProcessCost(allocated, count, millis);
+        }
+
+        ProcessCost minus(ProcessCost before) {
+            return new ProcessCost(allocatedBytes - before.allocatedBytes, gcCount - before.gcCount, gcMillis - before.gcMillis);
+        }
+
+        double allocationRate(Duration over) {
+            return allocatedBytes / (over.toNanos() / 1e9);
+        }
+    }
+
+    static class DurationConverter implements CommandLine.ITypeConverter<Duration> {
+
+        @Override
+        public Duration convert(String value) {
+            return DurationStyle.detectAndParse(value);
+        }
+    }
+}
@@ -0,0 +1,440 @@
+package com.savant.labs.activity.tracker.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A local stand-in for the GitHub REST endpoints the application calls: {@code /users/{u}/repos},
+ * {@code /repos/{owner}/{repo}/commits} and {@code /rate_limit}. Users come from
+ * {@link SyntheticUsers}; every answer is derived from the URL, so it is stable across calls and
+ * carries a strong ETag that is honored with an uncharged 304, as on GitHub.
+ * <p>
+ * Every list call is delayed by the profile's latency distribution and then, with the profile's
+ * probabilities, hangs past the client timeout, fails with a 5xx or is rejected as a secondary
+ * rate limit (403 with {@code Retry-After}). The primary budget is a fixed window reported in
+ * {@code X-RateLimit-*} headers; once it is spent, calls get GitHub's 403 until the window resets.
+ */
+public final class MockGitHubServer implements AutoCloseable {
+
+    private static final Instant NEWEST_PUSH = Instant.parse("2024-05-01T12:00:00Z");
+    private static final int DEFAULT_PER_PAGE = 30;
+    private static final int MAX_PER_PAGE = 100;
+    private static final int[] SERVER_ERRORS = {500, 502, 503};
+
+    /**
+     * @param rateLimit      primary requests per window, shared by all tokens
+     * @param timeoutDelay   how long a call injected as a timeout hangs before the connection is dropped
+     */
+    public record Profile(LatencyDistribution latency, int commitsPerRepository, double serverErrorRate,
+                          double forbiddenRate, double timeoutRate, Duration timeoutDelay, int rateLimit,
+                          Duration rateLimitWindow) {
+
+        public Profile {
+            if (serverErrorRate < 0 || forbiddenRate < 0 || timeoutRate < 0
+                    || serverErrorRate + forbiddenRate + timeoutRate > 1) {
+                throw new IllegalArgumentException("Fault rates must be non-negative and add up to at most 1");
+            }
+        }
+    }
+
+    private final Profile profile;
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, LongAdder> calls = new ConcurrentHashMap<>();
+    private final RateLimitWindow rateLimit;
+
+    public MockGitHubServer(Profile profile) throws IOException {
+        this.profile = profile;
+        this.rateLimit = new RateLimitWindow(profile.rateLimit(), profile.rateLimitWindow());
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 4096);
+        server.setExecutor(executor);
+        server.createContext("/users/", exchange -> handle(exchange, "repos", this::repositories));
+        server.createContext("/repos/", exchange -> handle(exchange, "commits", this::commits));
+        server.createContext("/rate_limit", this::rateLimit);
+    }
+
+    public MockGitHubServer start() {
+        server.start();
+        return this;
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    /**
+     * @return calls received since the last reset, keyed {@code <endpoint> <status>}, with
+     *         {@code timeout} as the status of calls that were left hanging
+     */
+    public Map<String, Long> calls() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        calls.forEach((key, count) -> snapshot.put(key, count.sum()));
+        return snapshot;
+    }
+
+    public void resetCalls() {
+        calls.values().forEach(LongAdder::reset);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @FunctionalInterface
+    private interface Resource {
+        Response respond(URI uri);
+    }
+
+    private record Response(int status, String body, String link) {
+
+        static Response notFound() {
+            return new Response(404, "{\"message\":\"Not Found\",\"documentation_url\":\"https://docs.github.com/rest\"}", null);
+        }
+    }
+
+    private void handle(HttpExchange exchange, String endpoint, Resource resource) throws IOException {
+        try (exchange) {
+            sleep(profile.latency().sampleNanos());
+
+            double fault = ThreadLocalRandom.current().nextDouble();
+            if (fault < profile.timeoutRate()) {
+                count(endpoint, "timeout");
+                sleep(profile.timeoutDelay().toNanos());
+                return;
+            }
+            fault -= profile.timeoutRate();
+            if (fault < profile.serverErrorRate()) {
+                int status = SERVER_ERRORS[ThreadLocalRandom.current().nextInt(SERVER_ERRORS.length)];
+                send(exchange, endpoint, status, "{\"message\":\"Server Error\"}", rateLimit.peek());
+                return;
+            }
+            fault -= profile.serverErrorRate();
+            if (fault < profile.forbiddenRate()) {
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                send(exchange, endpoint, 403, "{\"message\":\"You have exceeded a secondary rate limit. "
+                        + "Please wait a few minutes before you try again.\"}", rateLimit.peek());
+                return;
+            }
+
+            URI uri = exchange.getRequestURI();
+            String etag = "\"" + Integer.toHexString(uri.toString().hashCode()) + Integer.toHexString(profile.commitsPerRepository()) + "\"";
+            if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.getResponseHeaders().set("ETag", etag);
+                send(exchange, endpoint, 304, null, rateLimit.peek());
+                return;
+            }
+
+            RateLimitWindow.State budget = rateLimit.acquire();
+            if (budget.remaining() < 0) {
+                send(exchange, endpoint, 403, "{\"message\":\"API rate limit exceeded for user.\"}", budget);
+                return;
+            }
+
+            Response response = resource.respond(uri);
+            if (response.link() != null) {
+                exchange.getResponseHeaders().set("Link", response.link());
+            }
+            if (response.status() == 200) {
+                exchange.getResponseHeaders().set("ETag", etag);
+            }
+            send(exchange, endpoint, response.status(), response.body(), budget);
+        }
+    }
+
+    private void rateLimit(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            RateLimitWindow.State budget = rateLimit.peek();
+            if ("HEAD".equals(exchange.getRequestMethod())) {
+                send(exchange, "rate_limit", 200, null, budget);
+                return;
+            }
+            int remaining = Math.max(0, budget.remaining());
+            String core = "{\"limit\":" + budget.limit() + ",\"remaining\":" + remaining + ",\"reset\":"
+                    + budget.resetEpochSecond() + ",\"used\":" + (budget.limit() - remaining) + ",\"resource\":\"core\"}";
+            send(exchange, "rate_limit", 200, "{\"resources\":{\"core\":" + core + "},\"rate\":" + core + "}", budget);
+        }
+    }
+
+    private Response repositories(URI uri) {
+        String[] path = uri.getPath().split("/");
+        if (path.length != 4 || !"repos".equals(path[3])) {
+            return Response.notFound();
+        }
+        String username = path[2];
+        int total = SyntheticUsers.repositoryCount(username);
+        if (total < 0) {
+            return Response.notFound();
+        }
+        Map<String, String> query = query(uri);
+        int perPage = perPage(query);
+        int page = page(query);
+
+        StringBuilder json = new StringBuilder(perPage * 1024).append('[');
+        for (int i = (page - 1) * perPage; i < Math.min(total, page * perPage); i++) {
+            appendRepository(json.length() > 1 ? json.append(',') : json, username, i);
+        }
+        return new Response(200, json.append(']').toString(), link(uri, query, page, lastPage(total, perPage)));
+    }
+
+    private Response commits(URI uri) {
+        String[] path = uri.getPath().split("/");
+        if (path.length != 5 || !"commits".equals(path[4])) {
+            return Response.notFound();
+        }
+        int repositories = SyntheticUsers.repositoryCount(path[2]);
+        int repository = repositoryIndex(path[3]);
+        if (repository < 0 || repository >= repositories) {
+            return Response.notFound();
+        }
+        Map<String, String> query = query(uri);
+        int perPage = perPage(query);
+        int page = page(query);
+        Instant since = since(query);
+        Instant pushedAt = pushedAt(repository);
+
+        int total = profile.commitsPerRepository();
+        if (since != null) {
+            total = (int) Math.max(0, Math.min(total, Duration.between(since, pushedAt).toHours() + 1));
+        }
+        StringBuilder json = new StringBuilder(perPage * 1024).append('[');
+        for (int i = (page - 1) * perPage; i < Math.min(total, page * perPage); i++) {
+            appendCommit(json.length() > 1 ? json.append(',') : json, path[2], path[3], repository, i,
+                    pushedAt.minus(i, ChronoUnit.HOURS));
+        }
+        return new Response(200, json.append(']').toString(), link(uri, query, page, lastPage(total, perPage)));
+    }
+
+    private static void appendRepository(StringBuilder json, String owner, int index) {
+        String name = "repo-" + index;
+        String api = "https://api.github.com/repos/" + owner + "/" + name;
+        json.append("{\"id\":").append(1_000_000L + index).append(",\"node_id\":\"R_").append(index)
+                .append("\",\"name\":\"").append(name).append("\",\"full_name\":\"").append(owner).append('/').append(name)
+                .append("\",\"private\":false,\"owner\":");
+        appendUser(json, owner);
+        json.append(",\"html_url\":\"https://github.com/").append(owner).append('/').append(name)
+                .append("\",\"description\":\"Synthetic repository ").append(index).append(" for load testing\",\"fork\":false")
+                .append(",\"url\":\"").append(api).append("\",\"commits_url\":\"").append(api).append("/commits{/sha}\"")
+                .append(",\"issues_url\":\"").append(api).append("/issues{/number}\",\"pulls_url\":\"").append(api).append("/pulls{/number}\"")
+                .append(",\"created_at\":\"2020-01-01T00:00:00Z\",\"updated_at\":\"").append(pushedAt(index))
+                .append("\",\"pushed_at\":\"").append(pushedAt(index)).append("\",\"size\":").append(100 + index)
+                .append(",\"stargazers_count\":").append(index % 50).append(",\"watchers_count\":").append(index % 50)
+                .append(",\"language\":\"Java\",\"has_issues\":true,\"forks_count\":").append(index % 7)
+                .append(",\"archived\":false,\"open_issues_count\":").append(index % 5)
+                .append(",\"license\":{\"key\":\"mit\",\"name\":\"MIT License\",\"spdx_id\":\"MIT\"}")
+                .append(",\"topics\":[\"load-test\"],\"visibility\":\"public\",\"default_branch\":\"main\"}");
+    }
+
+    private static void appendCommit(StringBuilder json, String owner, String repository, int repositoryIndex,
+                                     int index, Instant date) {
+        String sha = sha(repositoryIndex, index);
+        String person = "{\"name\":\"" + owner + "\",\"email\":\"" + owner + "@users.noreply.github.com\",\"date\":\"" + date + "\"}";
+        json.append("{\"sha\":\"").append(sha).append("\",\"node_id\":\"C_").append(sha, 0, 12)
+                .append("\",\"commit\":{\"author\":").append(person).append(",\"committer\":").append(person)
+                .append(",\"message\":\"Change ").append(index).append(" to ").append(repository)
+                .append("\",\"tree\":{\"sha\":\"").append(sha(repositoryIndex, -index - 1)).append("\"},\"comment_count\":0")
+                .append(",\"verification\":{\"verified\":false,\"reason\":\"unsigned\"}}")
+                .append(",\"html_url\":\"https://github.com/").append(owner).append('/').append(repository)
+                .append("/commit/").append(sha).append("\",\"author\":");
+        appendUser(json, owner);
+        json.append(",\"committer\":");
+        appendUser(json, owner);
+        json.append(",\"parents\":[{\"sha\":\"").append(sha(repositoryIndex, index + 1)).append("\"}]}");
+    }
+
+    private static void appendUser(StringBuilder json, String login) {
+        long id = 10_000L + Math.abs(login.hashCode() % 1_000_000);
+        json.append("{\"login\":\"").append(login).append("\",\"id\":").append(id)
+                .append(",\"avatar_url\":\"https://avatars.githubusercontent.com/u/").append(id).append("?v=4\"")
+                .append(",\"html_url\":\"https://github.com/").append(login).append("\",\"type\":\"User\",\"site_admin\":false}");
+    }
+
+    private static String sha(int repository, int commit) {
+        long mixed = mix(((long) repository << 32) | (commit & 0xFFFFFFFFL));
+        return String.format("%016x%016x%08x", mixed, mix(mixed), repository);
+    }
+
+    /** SplitMix64 finalizer, so neighbouring commits get unrelated SHAs. */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static Instant pushedAt(int repositoryIndex) {
+        return NEWEST_PUSH.minus(repositoryIndex, ChronoUnit.HOURS);
+    }
+
+    private static int repositoryIndex(String name) {
+        if (!name.startsWith("repo-")) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(name.substring("repo-".length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static Map<String, String> query(URI uri) {
+        Map<String, String> query = new LinkedHashMap<>();
+        if (uri.getRawQuery() != null) {
+            for (String pair : uri.getRawQuery().split("&")) {
+                int eq = pair.indexOf('=');
+                query.put(eq < 0 ? pair : pair.substring(0, eq), eq < 0 ? "" : pair.substring(eq + 1));
+            }
+        }
+        return query;
+    }
+
+    private static int perPage(Map<String, String> query) {
+        return Math.min(MAX_PER_PAGE, Math.max(1, intParam(query, "per_page", DEFAULT_PER_PAGE)));
+    }
+
+    private static int page(Map<String, String> query) {
+        return Math.max(1, intParam(query, "page", 1));
+    }
+
+    private static int intParam(Map<String, String> query, String name, int defaultValue) {
+        try {
+            return query.containsKey(name) ? Integer.parseInt(query.get(name)) : defaultValue;
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    private static Instant since(Map<String, String> query) {
+        try {
+            return query.containsKey("since") ? Instant.parse(query.get("since")) : null;
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static int lastPage(int total, int perPage) {
+        return Math.max(1, (total + perPage - 1) / perPage);
+    }
+
+    private String link(URI uri, Map<String, String> query, int page, int lastPage) {
+        StringBuilder link = new StringBuilder();
+        if (page < lastPage) {
+            appendLink(link, uri, query, page + 1, "next");
+            appendLink(link, uri, query, lastPage, "last");
+        }
+        if (page > 1) {
+            appendLink(link, uri, query, page - 1, "prev");
+            appendLink(link, uri, query, 1, "first");
+        }
+        return link.isEmpty() ? null : link.toString();
+    }
+
+    private void appendLink(StringBuilder link, URI uri, Map<String, String> query, int page, String rel) {
+        Map<String, String> params = new LinkedHashMap<>(query);
+        params.put("page", Integer.toString(page));
+        StringBuilder url = new StringBuilder(baseUrl()).append(uri.getRawPath());
+        char separator = '?';
+        for (Map.Entry<String, String> param : params.entrySet()) {
+            url.append(separator).append(param.getKey()).append('=').append(param.getValue());
+            separator = '&';
+        }
+        link.append(link.isEmpty() ? "" : ", ").append('<').append(url).append(">; rel=\"").append(rel).append('"');
+    }
+
+    private void send(HttpExchange exchange, String endpoint, int status, String body, RateLimitWindow.State budget)
+            throws IOException {
+        count(endpoint, Integer.toString(status));
+        exchange.getResponseHeaders().set("X-RateLimit-Limit", Integer.toString(budget.limit()));
+        exchange.getResponseHeaders().set("X-RateLimit-Remaining", Integer.toString(Math.max(0, budget.remaining())));
+        exchange.getResponseHeaders().set("X-RateLimit-Used", Integer.toString(budget.limit() - Math.max(0, budget.remaining())));
+        exchange.getResponseHeaders().set("X-RateLimit-Reset", Long.toString(budget.resetEpochSecond()));
+        exchange.getResponseHeaders().set("X-RateLimit-Resource", "core");
+        if (body == null) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private void count(String endpoint, String outcome) {
+        calls.computeIfAbsent(endpoint + " " + outcome, key -> new LongAdder()).increment();
+    }
+
+    private static void sleep(long nanos) {
+        if (nanos <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(Duration.ofNanos(nanos));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * GitHub's primary limit: a fixed number of calls per window, the window starting with the
+     * first call after the previous one reset.
+     */
+    private static final class RateLimitWindow {
+
+        record State(int limit, int remaining, long resetEpochSecond) {
+        }
+
+        private final int limit;
+        private final Duration window;
+        private long resetAt;
+        private int remaining;
+
+        RateLimitWindow(int limit, Duration window) {
+            this.limit = limit;
+            this.window = window;
+            this.remaining = limit;
+            this.resetAt = Instant.now().plus(window).getEpochSecond();
+        }
+
+        /**
+         * Charges one call. A negative {@code remaining} means the call is over the limit.
+         */
+        synchronized State acquire() {
+            roll();
+            remaining = Math.max(-1, remaining - 1);
+            return new State(limit, remaining, resetAt);
+        }
+
+        synchronized State peek() {
+            roll();
+            return new State(limit, remaining, resetAt);
+        }
+
+        private void roll() {
+            long now = Instant.now().getEpochSecond();
+            if (now >= resetAt) {
+                remaining = limit;
+                resetAt = now + window.toSeconds();
+            }
+        }
+    }
+}
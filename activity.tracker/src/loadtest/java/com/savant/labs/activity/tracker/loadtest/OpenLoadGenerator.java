@@ -0,0 +1,154 @@
+package com.savant.labs.activity.tracker.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends requests on a fixed arrival schedule (open model), whether or not earlier ones have
+ * answered, so a slow server builds a queue instead of slowing the load down. Latency is taken
+ * from each request's scheduled start, not from when it was actually sent, so a stall in the
+ * generator or the server is not hidden (no coordinated omission). Timeouts and transport errors
+ * are recorded too, at the time they failed: a request that never answered is at least that slow,
+ * so leaving it out would understate the tail in exactly the runs that stress it.
+ */
+public final class OpenLoadGenerator {
+
+    public enum Arrivals {
+        /** Exponential gaps between requests, like independent users. */
+        POISSON,
+        /** Evenly spaced requests. */
+        CONSTANT
+    }
+
+    /**
+     * @param latency    response times in microseconds, measured from the scheduled start; failed
+     *                   requests are recorded at the time they failed, see {@link #censored()}
+     * @param dropped    arrivals not sent because {@code max-in-flight} requests were outstanding
+     * @param unfinished requests still outstanding when the drain timeout ran out
+     */
+    public record Result(Duration elapsed, long scheduled, long dropped, long ok, long clientErrors,
+                         long serverErrors, long timeouts, long transportErrors, long unfinished, Histogram latency) {
+
+        public long responses() {
+            return ok + clientErrors + serverErrors;
+        }
+
+        public double throughput() {
+            return ok / (elapsed.toNanos() / 1e9);
+        }
+
+        /**
+         * Latency samples that are only a lower bound, because the request failed before answering.
+         */
+        public long censored() {
+            return timeouts + transportErrors;
+        }
+    }
+
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final String pathTemplate;
+    private final SyntheticUsers users;
+    private final double ratePerSecond;
+    private final Arrivals arrivals;
+    private final int maxInFlight;
+    private final Duration requestTimeout;
+    private final Random random;
+
+    public OpenLoadGenerator(HttpClient httpClient, String baseUrl, String pathTemplate, SyntheticUsers users,
+                             double ratePerSecond, Arrivals arrivals, int maxInFlight, Duration requestTimeout, long seed) {
+        if (ratePerSecond <= 0) {
+            throw new IllegalArgumentException("The arrival rate must be positive");
+        }
+        this.httpClient = httpClient;
+        this.baseUrl = baseUrl;
+        this.pathTemplate = pathTemplate;
+        this.users = users;
+        this.ratePerSecond = ratePerSecond;
+        this.arrivals = arrivals;
+        this.maxInFlight = maxInFlight;
+        this.requestTimeout = requestTimeout;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Schedules arrivals for {@code duration}, then waits up to the request timeout for the
+     * outstanding ones. Throughput is counted over the schedule plus that drain.
+     */
+    public Result run(Duration duration) throws InterruptedException {
+        Recorder latency = new Recorder(3);
+        AtomicInteger inFlight = new AtomicInteger();
+        LongAdder ok = new LongAdder();
+        LongAdder clientErrors = new LongAdder();
+        LongAdder serverErrors = new LongAdder();
+        LongAdder timeouts = new LongAdder();
+        LongAdder transportErrors = new LongAdder();
+        long scheduled = 0;
+        long dropped = 0;
+
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long meanGapNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+        for (long intended = start; intended < end; intended += gap(meanGapNanos)) {
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            scheduled++;
+            if (inFlight.get() >= maxInFlight) {
+                dropped++;
+                continue;
+            }
+            inFlight.incrementAndGet();
+            long scheduledStart = intended;
+            httpClient.sendAsync(request(users.pick(random)), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, ex) -> {
+                        latency.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - scheduledStart));
+                        if (ex != null) {
+                            (ex.getCause() instanceof HttpTimeoutException || ex instanceof HttpTimeoutException
+                                    ? timeouts : transportErrors).increment();
+                        } else {
+                            int status = response.statusCode();
+                            (status >= 500 ? serverErrors : status >= 400 ? clientErrors : ok).increment();
+                        }
+                        inFlight.decrementAndGet();
+                    });
+        }
+
+        long drainDeadline = System.nanoTime() + requestTimeout.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        return new Result(elapsed, scheduled, dropped, ok.sum(), clientErrors.sum(), serverErrors.sum(),
+                timeouts.sum(), transportErrors.sum(), inFlight.get(), latency.getIntervalHistogram());
+    }
+
+    private long gap(long meanGapNanos) {
+        if (arrivals == Arrivals.CONSTANT) {
+            return Math.max(1, meanGapNanos);
+        }
+        return Math.max(1, (long) (-Math.log(1 - random.nextDouble()) * meanGapNanos));
+    }
+
+    private HttpRequest request(String username) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + pathTemplate.replace("{username}", username)))
+                .timeout(requestTimeout)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+    }
+}
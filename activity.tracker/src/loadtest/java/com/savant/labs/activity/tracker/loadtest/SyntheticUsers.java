@@ -0,0 +1,66 @@
+package com.savant.labs.activity.tracker.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A fixed population of mock GitHub users. Each username carries its repository count
+ * ({@code load17-r1500} owns 1500 repositories), so the mock server needs no shared state to
+ * answer for it. Counts are log-uniform between min and max: most users own a few repositories,
+ * a few own thousands, as on GitHub.
+ */
+public final class SyntheticUsers {
+
+    private static final Pattern USERNAME = Pattern.compile("load\\d+-r(\\d+)");
+
+    private final List<String> usernames;
+
+    public SyntheticUsers(int users, int minRepositories, int maxRepositories, long seed) {
+        if (users < 1 || minRepositories < 1 || maxRepositories < minRepositories) {
+            throw new IllegalArgumentException("Need at least one user and 1 <= min-repos <= max-repos");
+        }
+        Random random = new Random(seed);
+        double logMin = Math.log(minRepositories);
+        double logMax = Math.log(maxRepositories + 1);
+        List<String> names = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            int repositories = (int) Math.min(maxRepositories, Math.floor(Math.exp(logMin + random.nextDouble() * (logMax - logMin))));
+            names.add(username(i, repositories));
+        }
+        this.usernames = List.copyOf(names);
+    }
+
+    public static String username(int index, int repositories) {
+        return "load" + index + "-r" + repositories;
+    }
+
+    /**
+     * @return the repository count encoded in the username, or -1 if it is not a synthetic user
+     */
+    public static int repositoryCount(String username) {
+        Matcher matcher = USERNAME.matcher(username);
+        if (!matcher.matches()) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(matcher.group(1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    public List<String> usernames() {
+        return usernames;
+    }
+
+    public String pick(Random random) {
+        return usernames.get(random.nextInt(usernames.size()));
+    }
+
+    public long totalRepositories() {
+        return usernames.stream().mapToLong(SyntheticUsers::repositoryCount).sum();
+    }
+}
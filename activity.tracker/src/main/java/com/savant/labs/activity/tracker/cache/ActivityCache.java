@@ -0,0 +1,68 @@
+package com.savant.labs.activity.tracker.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.savant.labs.activity.tracker.models.RepositoryActivity;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Caffeine-backed activity cache that never keeps a {@link RepositoryActivity#isFallback() fallback}
+ * activity. {@code @Cacheable(sync = true)} stores whatever its loader returns and does not support
+ * {@code unless}, so the circuit-breaker placeholder is handed back to the caller from here instead
+ * of being served to everyone for the full TTL.
+ */
+public class ActivityCache extends CaffeineCache {
+
+    public ActivityCache(String name, Cache<Object, Object> cache, boolean allowNullValues) {
+        super(name, cache, allowNullValues);
+    }
+
+    public ActivityCache(String name, AsyncCache<Object, Object> cache, boolean allowNullValues) {
+        super(name, cache, allowNullValues);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        try {
+            return super.get(key, () -> {
+                T value = valueLoader.call();
+                if (isFallback(value)) {
+                    // Failing the load is the only way to keep Caffeine from storing the value
+                    throw new Uncached(value);
+                }
+                return value;
+            });
+        } catch (RuntimeException e) {
+            for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+                if (cause instanceof Uncached uncached) {
+                    return (T) uncached.value;
+                }
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (!isFallback(value)) {
+            super.put(key, value);
+        }
+    }
+
+    private static boolean isFallback(Object value) {
+        return value instanceof RepositoryActivity activity && activity.isFallback();
+    }
+
+    private static final class Uncached extends RuntimeException {
+
+        private final transient Object value;
+
+        private Uncached(Object value) {
+            super(null, null, false, false);
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.savant.labs.activity.tracker.cache;
+
+import java.util.Locale;
+
+/**
+ * GitHub logins are case-insensitive, so every cache keyed by username goes through here.
+ */
+public final class ActivityCacheKeys {
+
+    private ActivityCacheKeys() {}
+
+    public static String forUsername(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+}
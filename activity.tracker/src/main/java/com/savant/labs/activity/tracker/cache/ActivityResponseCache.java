@@ -0,0 +1,299 @@
+package com.savant.labs.activity.tracker.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.savant.labs.activity.tracker.config.GitHubConfig;
+import com.savant.labs.activity.tracker.constants.GitHubApiConstants;
+import com.savant.labs.activity.tracker.exception.GitHubConnectorException;
+import com.savant.labs.activity.tracker.models.RepositoryActivity;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps the serialized JSON of each cached activity, plus a gzip copy, so a cache hit is answered
+ * without running Jackson or compressing again. The bytes are attached to the object held by the
+ * activity cache through a weak identity key: when that entry is replaced or evicted the old
+ * object becomes unreachable and its bytes go with it, so they can never outlive the data.
+ * <p>
+ * Responses carry a strong {@code ETag} over the JSON bytes, suffixed {@code -gz} for the gzip body
+ * since a strong tag names one exact byte sequence, and a {@code Cache-Control} max-age capped by the
+ * entry's remaining TTL; an {@code If-None-Match} matching either coding's tag gets a 304.
+ * <p>
+ * A {@link FieldProjection} is applied while serializing and its (much smaller) body is not kept.
+ * It is gzipped here for clients that accept it, at the default level since it is compressed per
+ * request: the server's response compression skips bodies that carry a strong {@code ETag}.
+ */
+@Component
+public class ActivityResponseCache {
+
+    private static final int ETAG_BYTES = 16;
+
+    private final GitHubConfig.ResponseCache settings;
+    private final CacheManager cacheManager;
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper projectingMapper;
+    private final Cache<Object, Serialized> serialized;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter projected;
+    private final Counter notModified;
+
+    @Autowired
+    public ActivityResponseCache(GitHubConfig config, CacheManager cacheManager, ObjectMapper objectMapper,
+                                 MeterRegistry meterRegistry) {
+        this.settings = config.getResponseCache();
+        this.cacheManager = cacheManager;
+        this.objectMapper = objectMapper;
+        this.projectingMapper = FieldProjection.projecting(objectMapper);
+        this.serialized = Caffeine.newBuilder()
+                .weakKeys()
+                .maximumWeight(settings.getMaxWeight().toBytes())
+                .<Object, Serialized>weigher((stored, bytes) -> bytes.weight())
+                .build();
+
+        this.hits = requestCounter(meterRegistry, "hit");
+        this.misses = requestCounter(meterRegistry, "miss");
+        this.projected = requestCounter(meterRegistry, "projected");
+        this.notModified = requestCounter(meterRegistry, "not_modified");
+        Gauge.builder("github.activity.response-cache.entries", serialized, Cache::estimatedSize)
+                .description("Activities held in serialized form")
+                .register(meterRegistry);
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("github.activity.response-cache.requests")
+                .description("Activity responses by how their body was produced")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Answers from the activity cache without deserializing or serializing anything.
+     *
+     * @return empty if the activity is not cached
+     */
+    public Optional<ResponseEntity<byte[]>> respond(String username, HttpHeaders request) {
+        if (!settings.isEnabled()) {
+            return Optional.empty();
+        }
+        String key = ActivityCacheKeys.forUsername(username);
+        return nativeCache()
+                .flatMap(cache -> Optional.ofNullable(cache.getNativeCache().getIfPresent(key))
+                        .map(stored -> {
+                            hits.increment();
+                            return toResponse(serialized.get(stored, this::serialize), key, request);
+                        }));
+    }
+
+    /**
+     * Answers with an activity just returned by the service. If the activity cache holds an entry
+     * for the user its serialized form is kept for the next request; otherwise, e.g. for a
+     * circuit-breaker fallback, the body is serialized once and marked as not cacheable.
+     */
+    public ResponseEntity<byte[]> respond(String username, RepositoryActivity activity, HttpHeaders request) {
+        misses.increment();
+        String key = ActivityCacheKeys.forUsername(username);
+        if (settings.isEnabled()) {
+            Optional<Object> stored = nativeCache().map(cache -> cache.getNativeCache().getIfPresent(key));
+            if (stored.isPresent()) {
+                return toResponse(serialized.get(stored.get(), this::serialize), key, request);
+            }
+        }
+        return toResponse(serialize(activity), null, request);
+    }
+
+    /**
+     * Answers with only the selected fields of an activity, serialized for this request. The
+     * response is cacheable like the full one when the activity cache holds an entry for the user.
+     */
+    public ResponseEntity<byte[]> respond(String username, RepositoryActivity activity, FieldProjection fields,
+                                          HttpHeaders request) {
+        if (fields.isAll()) {
+            return respond(username, activity, request);
+        }
+        projected.increment();
+        String key = ActivityCacheKeys.forUsername(username);
+        boolean cached = nativeCache().map(cache -> cache.getNativeCache().getIfPresent(key) != null).orElse(false);
+        try {
+            byte[] json = fields.writer(projectingMapper).writeValueAsBytes(activity);
+            byte[] gzip = acceptsGzip(request.get(HttpHeaders.ACCEPT_ENCODING))
+                    ? compress(json, Deflater.DEFAULT_COMPRESSION)
+                    : null;
+            return toResponse(new Serialized(json, gzip, etag(json)), cached ? key : null, request);
+        } catch (JsonProcessingException e) {
+            throw new GitHubConnectorException("Failed to serialize activity", e);
+        }
+    }
+
+    private Serialized serialize(Object stored) {
+        RepositoryActivity activity = stored instanceof CompactActivity compact
+                ? compact.toActivity()
+                : (RepositoryActivity) stored;
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(activity);
+            // Compressed once per cache entry and served many times, so spend the CPU
+            return new Serialized(json, compress(json, Deflater.BEST_COMPRESSION), etag(json));
+        } catch (JsonProcessingException e) {
+            throw new GitHubConnectorException("Failed to serialize activity", e);
+        }
+    }
+
+    private ResponseEntity<byte[]> toResponse(Serialized body, String key, HttpHeaders request) {
+        CacheControl cacheControl = key != null
+                ? remainingTtl(key).map(ttl -> CacheControl.maxAge(ttl.compareTo(settings.getMaxAge()) < 0 ? ttl : settings.getMaxAge()))
+                        .orElse(CacheControl.maxAge(settings.getMaxAge()))
+                : CacheControl.noCache();
+
+        boolean gzipped = body.gzip() != null && acceptsGzip(request.get(HttpHeaders.ACCEPT_ENCODING));
+        String etag = gzipped ? body.gzipEtag() : body.etag();
+        String alternative = gzipped ? body.etag() : body.gzip() != null ? body.gzipEtag() : null;
+
+        List<String> ifNoneMatch = request.get(HttpHeaders.IF_NONE_MATCH);
+        String held = matches(ifNoneMatch, etag) ? etag
+                : alternative != null && matches(ifNoneMatch, alternative) ? alternative : null;
+        if (held != null) {
+            notModified.increment();
+            // The 304 names the representation the client holds and carries the same Vary as its 200
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(held)
+                    .cacheControl(cacheControl)
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzipped) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(body.gzip());
+        }
+        return response.body(body.json());
+    }
+
+    private Optional<CaffeineCache> nativeCache() {
+        return cacheManager.getCache(GitHubApiConstants.ACTIVITY_CACHE_NAME) instanceof CaffeineCache cache
+                ? Optional.of(cache)
+                : Optional.empty();
+    }
+
+    private Optional<Duration> remainingTtl(String key) {
+        return nativeCache()
+                .flatMap(cache -> cache.getNativeCache().policy().expireAfterWrite())
+                .flatMap(expiration -> expiration.ageOf(key).map(age -> expiration.getExpiresAfter().minus(age)))
+                .filter(ttl -> !ttl.isNegative());
+    }
+
+    static boolean matches(List<String> ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String header : ifNoneMatch) {
+            for (String candidate : header.split(",")) {
+                String value = candidate.trim();
+                if (value.equals("*")) {
+                    return true;
+                }
+                // If-None-Match uses weak comparison
+                if (value.startsWith("W/")) {
+                    value = value.substring(2);
+                }
+                if (value.equals(etag)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    static boolean acceptsGzip(List<String> acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String header : acceptEncoding) {
+            for (String coding : header.split(",")) {
+                String[] parts = coding.trim().split(";");
+                String name = parts[0].trim().toLowerCase(Locale.ROOT);
+                if (!name.equals("gzip") && !name.equals("x-gzip")) {
+                    continue;
+                }
+                boolean refused = parts.length > 1 && parts[1].trim().replace(" ", "").matches("q=0(\\.0*)?");
+                return !refused;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The gzip of {@code json} if it is at least {@code gzip-min-size} and compressing makes it smaller.
+     */
+    private byte[] compress(byte[] json, int level) {
+        if (json.length < settings.getGzipMinSize().toBytes()) {
+            return null;
+        }
+        byte[] gzip = gzip(json, level);
+        return gzip.length < json.length ? gzip : null;
+    }
+
+    private static byte[] gzip(byte[] json, int level) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(level);
+            }
+        }) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static String etag(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            byte[] prefix = Arrays.copyOf(digest, ETAG_BYTES);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(prefix) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    record Serialized(byte[] json, byte[] gzip, String etag) {
+
+        int weight() {
+            return json.length + (gzip != null ? gzip.length : 0);
+        }
+
+        String gzipEtag() {
+            return etag.substring(0, etag.length() - 1) + "-gz\"";
+        }
+    }
+}
@@ -0,0 +1,395 @@
+package com.savant.labs.activity.tracker.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.savant.labs.activity.tracker.config.GitHubConfig;
+import com.savant.labs.activity.tracker.models.RepositoryActivity;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only, memory-mapped segment of Smile-encoded {@link RepositoryActivity} snapshots, so a
+ * restarted instance can answer for its hot usernames without calling GitHub. Only records from
+ * before the restart are served; later ones are kept for the next restart and as incremental baselines.
+ * <p>
+ * Opening the segment only walks the record headers to rebuild the key to offset index; payloads
+ * are decoded when they are read. A newer record for a key supersedes the older one. When an append
+ * does not fit, live records younger than {@code github.snapshot.max-age} are copied, newest first,
+ * into a fresh segment filled to at most three quarters of {@code max-size}.
+ * <p>
+ * Segment layout: {@code int magic, int version}, then records of
+ * {@code int length, long writtenAtMillis, int payloadCrc, short keyLength, key, payload}, where
+ * {@code length} counts the bytes after itself and is written last, so a torn append ends the scan.
+ */
+@Component
+@Slf4j
+public class ActivitySnapshotStore {
+
+    private static final int MAGIC = 0x47484153;
+    private static final int VERSION = 1;
+    private static final int SEGMENT_HEADER_BYTES = 2 * Integer.BYTES;
+    private static final int WRITTEN_AT_OFFSET = Integer.BYTES;
+    private static final int CRC_OFFSET = WRITTEN_AT_OFFSET + Long.BYTES;
+    private static final int KEY_LENGTH_OFFSET = CRC_OFFSET + Integer.BYTES;
+    private static final int RECORD_HEADER_BYTES = KEY_LENGTH_OFFSET + Short.BYTES;
+    private static final int MAX_KEY_BYTES = 0xFFFF;
+    private static final double COMPACTED_FILL = 0.75;
+
+    private final GitHubConfig.Snapshot settings;
+    private final ObjectMapper smileMapper = new ObjectMapper(new SmileFactory()).findAndRegisterModules();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Slot> index = new HashMap<>();
+    // Keys whose record was found when the segment was opened and has not been served or superseded
+    private final Set<String> restored = ConcurrentHashMap.newKeySet();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter expired;
+    private final Counter compactions;
+
+    private Path path;
+    private int capacity;
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private int writePosition;
+    private long liveBytes;
+
+    @Autowired
+    public ActivitySnapshotStore(GitHubConfig config, MeterRegistry meterRegistry) {
+        this.settings = config.getSnapshot();
+        this.hits = readCounter(meterRegistry, "hit");
+        this.misses = readCounter(meterRegistry, "miss");
+        this.expired = readCounter(meterRegistry, "expired");
+        this.compactions = Counter.builder("github.activity.snapshot.compactions")
+                .description("Times the snapshot segment was compacted")
+                .register(meterRegistry);
+        Gauge.builder("github.activity.snapshot.entries", this, ActivitySnapshotStore::size)
+                .description("Usernames with a stored activity snapshot")
+                .register(meterRegistry);
+        Gauge.builder("github.activity.snapshot.used-bytes", this, ActivitySnapshotStore::usedBytes)
+                .description("Bytes appended to the snapshot segment, including superseded records")
+                .register(meterRegistry);
+
+        if (settings.isEnabled()) {
+            open();
+        }
+    }
+
+    private static Counter readCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("github.activity.snapshot.reads")
+                .description("Snapshot lookups, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private void open() {
+        long started = System.nanoTime();
+        path = Path.of(settings.getPath());
+        capacity = (int) Math.min(Integer.MAX_VALUE, settings.getMaxSize().toBytes());
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            map();
+            if (segment.getInt(0) == MAGIC && segment.getInt(Integer.BYTES) == VERSION) {
+                scan();
+            } else {
+                initialise();
+            }
+            if (writePosition - SEGMENT_HEADER_BYTES > 2 * liveBytes) {
+                compact(0);
+            }
+            log.info("Activity snapshot store opened with {} entries ({} bytes) in {} ms",
+                    index.size(), writePosition, (System.nanoTime() - started) / 1_000_000);
+        } catch (IOException e) {
+            log.warn("Could not open activity snapshot store at {}, snapshots are disabled: {}", path, e.getMessage());
+            close();
+        }
+    }
+
+    private void map() throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+    }
+
+    private void initialise() {
+        segment.putInt(0, MAGIC);
+        segment.putInt(Integer.BYTES, VERSION);
+        segment.put(SEGMENT_HEADER_BYTES, new byte[Math.min(RECORD_HEADER_BYTES, capacity - SEGMENT_HEADER_BYTES)]);
+        writePosition = SEGMENT_HEADER_BYTES;
+    }
+
+    private void scan() {
+        int position = SEGMENT_HEADER_BYTES;
+        while (position + RECORD_HEADER_BYTES <= capacity) {
+            int length = segment.getInt(position);
+            // A corrupt length ends the scan; it is bounded before any arithmetic so it cannot overflow
+            if (length < RECORD_HEADER_BYTES - Integer.BYTES || length > capacity - position - Integer.BYTES) {
+                break;
+            }
+            int size = Integer.BYTES + length;
+            int keyLength = Short.toUnsignedInt(segment.getShort(position + KEY_LENGTH_OFFSET));
+            if (RECORD_HEADER_BYTES + keyLength > size) {
+                break;
+            }
+            byte[] key = new byte[keyLength];
+            segment.get(position + RECORD_HEADER_BYTES, key);
+            restore(new String(key, StandardCharsets.UTF_8),
+                    new Slot(position, size, segment.getLong(position + WRITTEN_AT_OFFSET)));
+            position += size;
+        }
+        writePosition = position;
+    }
+
+    private void restore(String key, Slot slot) {
+        index(key, slot);
+        restored.add(key);
+    }
+
+    private void index(String key, Slot slot) {
+        Slot previous = index.put(key, slot);
+        liveBytes += slot.size() - (previous != null ? previous.size() : 0);
+    }
+
+    /**
+     * Decodes the stored activity for {@code key}, if there is one younger than {@code max-age} that
+     * was written before this process started and has not been served yet. A served snapshot goes
+     * into the activity cache, so when that entry expires the user is fetched again rather than
+     * served the same snapshot for up to {@code max-age} more.
+     */
+    public Optional<RepositoryActivity> get(String key) {
+        return read(key, false);
+    }
+
+    /**
+     * Decodes the stored activity for {@code key} whatever its age, as a baseline for an incremental refresh.
+     * An expired snapshot is kept until the segment is next compacted.
+     */
+    public Optional<RepositoryActivity> getLatest(String key) {
+        return read(key, true);
+    }
+
+    private Optional<RepositoryActivity> read(String key, boolean includeExpired) {
+        lock.readLock().lock();
+        try {
+            if (segment == null) {
+                return Optional.empty();
+            }
+            Slot slot = index.get(key);
+            if (slot == null || (!includeExpired && !restored.remove(key))) {
+                misses.increment();
+                return Optional.empty();
+            }
+            if (!includeExpired && isExpired(slot, System.currentTimeMillis())) {
+                expired.increment();
+                return Optional.empty();
+            }
+            int keyLength = Short.toUnsignedInt(segment.getShort(slot.offset() + KEY_LENGTH_OFFSET));
+            int payloadOffset = RECORD_HEADER_BYTES + keyLength;
+            ByteBuffer payload = segment.slice(slot.offset() + payloadOffset, slot.size() - payloadOffset);
+            CRC32 crc = new CRC32();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != segment.getInt(slot.offset() + CRC_OFFSET)) {
+                log.warn("Activity snapshot for {} is corrupt, ignoring it", key);
+                misses.increment();
+                return Optional.empty();
+            }
+            RepositoryActivity activity = smileMapper.readValue(new ByteBufferBackedInputStream(payload), RepositoryActivity.class);
+            hits.increment();
+            return Optional.of(activity);
+        } catch (IOException e) {
+            log.warn("Could not decode activity snapshot for {}: {}", key, e.getMessage());
+            misses.increment();
+            return Optional.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Appends a snapshot of {@code activity} under {@code key}, compacting the segment first if it is full.
+     */
+    public void put(String key, RepositoryActivity activity) {
+        if (!isOpen()) {
+            return;
+        }
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        byte[] payload;
+        try {
+            payload = smileMapper.writeValueAsBytes(activity);
+        } catch (IOException e) {
+            log.warn("Could not encode activity snapshot for {}: {}", key, e.getMessage());
+            return;
+        }
+        int size = RECORD_HEADER_BYTES + keyBytes.length + payload.length;
+        if (keyBytes.length > MAX_KEY_BYTES || size > (capacity - SEGMENT_HEADER_BYTES) * COMPACTED_FILL) {
+            log.debug("Activity snapshot for {} is too large to store ({} bytes)", key, size);
+            return;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        long now = System.currentTimeMillis();
+
+        lock.writeLock().lock();
+        try {
+            if (segment == null) {
+                return;
+            }
+            if (size > capacity - writePosition) {
+                compact(size);
+            }
+            int offset = writePosition;
+            segment.putLong(offset + WRITTEN_AT_OFFSET, now);
+            segment.putInt(offset + CRC_OFFSET, (int) crc.getValue());
+            segment.putShort(offset + KEY_LENGTH_OFFSET, (short) keyBytes.length);
+            segment.put(offset + RECORD_HEADER_BYTES, keyBytes);
+            segment.put(offset + RECORD_HEADER_BYTES + keyBytes.length, payload);
+            if (offset + size + Integer.BYTES <= capacity) {
+                segment.putInt(offset + size, 0);
+            }
+            segment.putInt(offset, size - Integer.BYTES);
+            writePosition += size;
+            index(key, new Slot(offset, size, now));
+            restored.remove(key);
+        } catch (IOException e) {
+            log.warn("Could not compact activity snapshot store, snapshots are disabled: {}", e.getMessage());
+            closeQuietly();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Rewrites the live, unexpired records into a new segment, keeping the newest ones when they
+     * would fill more than three quarters of it, and leaves room for {@code reserve} more bytes.
+     */
+    private void compact(int reserve) throws IOException {
+        long now = System.currentTimeMillis();
+        List<Map.Entry<String, Slot>> live = new ArrayList<>(index.entrySet());
+        live.removeIf(entry -> isExpired(entry.getValue(), now));
+        live.sort(Comparator.comparingLong((Map.Entry<String, Slot> entry) -> entry.getValue().writtenAt()).reversed());
+
+        long budget = (long) ((capacity - SEGMENT_HEADER_BYTES) * COMPACTED_FILL) - reserve;
+        Path compacted = path.resolveSibling(path.getFileName() + ".compact");
+        Map<String, Slot> kept = new HashMap<>();
+        int position = SEGMENT_HEADER_BYTES;
+        try (FileChannel out = FileChannel.open(compacted, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            writeFully(out, ByteBuffer.allocate(SEGMENT_HEADER_BYTES).putInt(MAGIC).putInt(VERSION).flip(), 0);
+            for (Map.Entry<String, Slot> entry : live) {
+                Slot slot = entry.getValue();
+                if (position - SEGMENT_HEADER_BYTES + slot.size() > budget) {
+                    break;
+                }
+                writeFully(out, segment.slice(slot.offset(), slot.size()), position);
+                kept.put(entry.getKey(), new Slot(position, slot.size(), slot.writtenAt()));
+                position += slot.size();
+            }
+            out.force(true);
+        }
+
+        channel.close();
+        Files.move(compacted, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        map();
+        int dropped = index.size() - kept.size();
+        index.clear();
+        liveBytes = 0;
+        kept.forEach(this::index);
+        restored.retainAll(kept.keySet());
+        writePosition = position;
+        compactions.increment();
+        log.info("Activity snapshot store compacted to {} entries ({} bytes), {} dropped", kept.size(), position, dropped);
+    }
+
+    private static void writeFully(FileChannel out, ByteBuffer source, long position) throws IOException {
+        while (source.hasRemaining()) {
+            position += out.write(source, position);
+        }
+    }
+
+    private boolean isExpired(Slot slot, long now) {
+        return now - slot.writtenAt() > settings.getMaxAge().toMillis();
+    }
+
+    public boolean isOpen() {
+        lock.readLock().lock();
+        try {
+            return segment != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long usedBytes() {
+        lock.readLock().lock();
+        try {
+            return writePosition;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            if (segment != null) {
+                segment.force();
+            }
+            closeQuietly();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void closeQuietly() {
+        segment = null;
+        index.clear();
+        restored.clear();
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.debug("Could not close activity snapshot store: {}", e.getMessage());
+            }
+            channel = null;
+        }
+    }
+
+    private record Slot(int offset, int size, long writtenAt) {
+    }
+}
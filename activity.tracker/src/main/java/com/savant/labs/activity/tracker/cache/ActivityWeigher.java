@@ -0,0 +1,171 @@
+package com.savant.labs.activity.tracker.cache;
+
+import com.github.benmanes.caffeine.cache.Weigher;
+import com.savant.labs.activity.tracker.models.AuthorInfo;
+import com.savant.labs.activity.tracker.models.CommitAuthor;
+import com.savant.labs.activity.tracker.models.CommitDetails;
+import com.savant.labs.activity.tracker.models.GitHubCommit;
+import com.savant.labs.activity.tracker.models.GitHubRepository;
+import com.savant.labs.activity.tracker.models.Owner;
+import com.savant.labs.activity.tracker.models.RepositoryActivity;
+
+import java.util.List;
+
+/**
+ * Estimates the retained heap size of a cached {@link RepositoryActivity} in bytes.
+ * The numbers are a rough 64-bit compressed-oops model; they only need to be
+ * proportional so that one huge account cannot push out hundreds of small ones.
+ */
+public class ActivityWeigher implements Weigher<Object, Object> {
+
+    private static final int OBJECT_HEADER = 16;
+    private static final int REFERENCE = 4;
+    private static final int STRING_OVERHEAD = 40;
+    private static final int BOXED_NUMBER = 16;
+    private static final int DATE_TIME = 48;
+    private static final int LIST_OVERHEAD = 40;
+    private static final int ARRAY_HEADER = 16;
+    private static final int SHA_BYTES = 20;
+
+    @Override
+    public int weigh(Object key, Object value) {
+        long bytes = estimateKey(key) + switch (value) {
+            case RepositoryActivity activity -> estimate(activity);
+            case CompactActivity compact -> estimate(compact);
+            default -> OBJECT_HEADER;
+        };
+        return (int) Math.min(Integer.MAX_VALUE, bytes);
+    }
+
+    public long estimate(RepositoryActivity activity) {
+        long bytes = OBJECT_HEADER + 5 * REFERENCE
+                + string(activity.getUsername())
+                + DATE_TIME
+                + 2L * BOXED_NUMBER;
+        List<GitHubRepository> repositories = activity.getRepositories();
+        if (repositories != null) {
+            bytes += list(repositories);
+            for (GitHubRepository repository : repositories) {
+                bytes += repository(repository);
+            }
+        }
+        return bytes;
+    }
+
+    private long repository(GitHubRepository repository) {
+        long bytes = OBJECT_HEADER + 15 * REFERENCE
+                + BOXED_NUMBER
+                + string(repository.getName())
+                + string(repository.getFullName())
+                + string(repository.getHtmlUrl())
+                + string(repository.getDescription())
+                + string(repository.getLanguage())
+                + string(repository.getDefaultBranch())
+                + 3L * DATE_TIME
+                + 3L * BOXED_NUMBER
+                + owner(repository.getOwner());
+        List<GitHubCommit> commits = repository.getRecentCommits();
+        if (commits != null) {
+            bytes += list(commits);
+            for (GitHubCommit commit : commits) {
+                bytes += commit(commit);
+            }
+        }
+        return bytes;
+    }
+
+    private long owner(Owner owner) {
+        if (owner == null) {
+            return 0;
+        }
+        return OBJECT_HEADER + 5 * REFERENCE
+                + BOXED_NUMBER
+                + string(owner.getLogin())
+                + string(owner.getAvatarUrl())
+                + string(owner.getHtmlUrl())
+                + string(owner.getType());
+    }
+
+    private long commit(GitHubCommit commit) {
+        long bytes = OBJECT_HEADER + 4 * REFERENCE
+                + string(commit.getSha())
+                + string(commit.getHtmlUrl())
+                + commitAuthor(commit.getAuthor());
+        CommitDetails details = commit.getCommit();
+        if (details != null) {
+            bytes += OBJECT_HEADER + 3 * REFERENCE
+                    + string(details.getMessage())
+                    + authorInfo(details.getAuthor())
+                    + authorInfo(details.getCommitter());
+        }
+        return bytes;
+    }
+
+    private long commitAuthor(CommitAuthor author) {
+        if (author == null) {
+            return 0;
+        }
+        return OBJECT_HEADER + 4 * REFERENCE
+                + BOXED_NUMBER
+                + string(author.getLogin())
+                + string(author.getAvatarUrl())
+                + string(author.getHtmlUrl());
+    }
+
+    private long authorInfo(AuthorInfo info) {
+        if (info == null) {
+            return 0;
+        }
+        return OBJECT_HEADER + 3 * REFERENCE
+                + string(info.getName())
+                + string(info.getEmail())
+                + (info.getDate() != null ? DATE_TIME : 0);
+    }
+
+    /**
+     * Interned strings, owners, authors and committers are shared between entries, so only the
+     * reference to them is charged here.
+     */
+    public long estimate(CompactActivity activity) {
+        long bytes = OBJECT_HEADER + 2 * REFERENCE + Long.BYTES;
+        CompactActivity.Repository[] repositories = activity.repositories();
+        if (repositories != null) {
+            bytes += array(repositories);
+            for (CompactActivity.Repository repository : repositories) {
+                bytes += OBJECT_HEADER + 9 * REFERENCE + 4L * Long.BYTES + 3L * Integer.BYTES
+                        + string(repository.name())
+                        + string(repository.fullName())
+                        + string(repository.htmlUrl())
+                        + string(repository.description());
+                CompactActivity.Commit[] commits = repository.commits();
+                if (commits != null) {
+                    bytes += array(commits);
+                    for (CompactActivity.Commit commit : commits) {
+                        bytes += OBJECT_HEADER + 7 * REFERENCE + 2L * Long.BYTES + 1
+                                + (commit.sha() != null ? ARRAY_HEADER + SHA_BYTES : 0)
+                                + string(commit.shaText())
+                                + string(commit.message())
+                                + string(commit.htmlUrl());
+                    }
+                }
+            }
+        }
+        return bytes;
+    }
+
+    private static long estimateKey(Object key) {
+        return key instanceof String s ? string(s) : OBJECT_HEADER;
+    }
+
+    private static long string(String value) {
+        return value == null ? 0 : STRING_OVERHEAD + value.length();
+    }
+
+    private static long array(Object[] array) {
+        return ARRAY_HEADER + (long) array.length * REFERENCE;
+    }
+
+    private static long list(List<?> list) {
+        return LIST_OVERHEAD + (long) list.size() * REFERENCE;
+    }
+}
@@ -0,0 +1,298 @@
+package com.savant.labs.activity.tracker.cache;
+
+import com.github.benmanes.caffeine.cache.Interner;
+import com.savant.labs.activity.tracker.models.AuthorInfo;
+import com.savant.labs.activity.tracker.models.CommitAuthor;
+import com.savant.labs.activity.tracker.models.CommitDetails;
+import com.savant.labs.activity.tracker.models.GitHubCommit;
+import com.savant.labs.activity.tracker.models.GitHubRepository;
+import com.savant.labs.activity.tracker.models.Owner;
+import com.savant.labs.activity.tracker.models.RepositoryActivity;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Storage form of a cached {@link RepositoryActivity}, converted back to the public models on
+ * every read. Compared to the model graph it
+ * <ul>
+ *     <li>shares logins, emails, names, branches, owners and commit authors between all cached
+ *     entries through weak interners;</li>
+ *     <li>drops {@code html_url} and {@code avatar_url} values that follow GitHub's URL scheme and
+ *     derives them on read, keeping only ones that differ (e.g. GitHub Enterprise);</li>
+ *     <li>keeps timestamps as epoch milliseconds (UTC, like the models) instead of {@link LocalDateTime};</li>
+ *     <li>keeps 40-character hex SHAs as 20-byte arrays;</li>
+ *     <li>flattens each commit's details, author and committer into one object.</li>
+ * </ul>
+ */
+public final class CompactActivity {
+
+    private static final String WEB_URL = "https://github.com/";
+    private static final String AVATAR_URL = "https://avatars.githubusercontent.com/u/";
+    private static final String AVATAR_VERSION = "?v=4";
+    private static final String COMMIT_PATH = "/commit/";
+    private static final int SHA_HEX_LENGTH = 40;
+    private static final long NO_TIME = Long.MIN_VALUE;
+    private static final long NO_ID = Long.MIN_VALUE;
+    private static final int NO_COUNT = Integer.MIN_VALUE;
+    private static final HexFormat HEX = HexFormat.of();
+    // Compared by identity: marks a URL that was missing, as opposed to one left to be derived
+    @SuppressWarnings("StringOperationCanBeSimplified")
+    private static final String ABSENT = new String("");
+
+    private static final Interner<String> STRINGS = Interner.newWeakInterner();
+    private static final Interner<User> USERS = Interner.newWeakInterner();
+    private static final Interner<Person> PEOPLE = Interner.newWeakInterner();
+
+    private final String username;
+    private final long fetchedAt;
+    private final Repository[] repositories;
+
+    private CompactActivity(String username, long fetchedAt, Repository[] repositories) {
+        this.username = username;
+        this.fetchedAt = fetchedAt;
+        this.repositories = repositories;
+    }
+
+    public static CompactActivity of(RepositoryActivity activity) {
+        List<GitHubRepository> source = activity.getRepositories();
+        Repository[] repositories = null;
+        if (source != null) {
+            repositories = new Repository[source.size()];
+            for (int i = 0; i < repositories.length; i++) {
+                repositories[i] = repository(source.get(i));
+            }
+        }
+        return new CompactActivity(intern(activity.getUsername()), timeOf(activity.getFetchedAt()), repositories);
+    }
+
+    public RepositoryActivity toActivity() {
+        List<GitHubRepository> models = null;
+        if (repositories != null) {
+            models = new ArrayList<>(repositories.length);
+            for (Repository repository : repositories) {
+                models.add(repository.toModel());
+            }
+        }
+        RepositoryActivity activity = models != null
+                ? new RepositoryActivity(username, models)
+                : new RepositoryActivity();
+        activity.setUsername(username);
+        activity.setFetchedAt(timeOf(fetchedAt));
+        return activity;
+    }
+
+    public String username() {
+        return username;
+    }
+
+    public Repository[] repositories() {
+        return repositories;
+    }
+
+    private static Repository repository(GitHubRepository repo) {
+        Commit[] commits = null;
+        if (repo.getRecentCommits() != null) {
+            commits = new Commit[repo.getRecentCommits().size()];
+            for (int i = 0; i < commits.length; i++) {
+                commits[i] = commit(repo.getRecentCommits().get(i), repo.getFullName());
+            }
+        }
+        return new Repository(
+                idOf(repo.getId()),
+                repo.getName(),
+                repo.getFullName(),
+                unlessDerived(repo.getHtmlUrl(), webUrlOf(repo.getFullName())),
+                repo.getDescription(),
+                timeOf(repo.getCreatedAt()),
+                timeOf(repo.getUpdatedAt()),
+                timeOf(repo.getPushedAt()),
+                intern(repo.getLanguage()),
+                countOf(repo.getStargazersCount()),
+                countOf(repo.getWatchersCount()),
+                countOf(repo.getForksCount()),
+                intern(repo.getDefaultBranch()),
+                owner(repo.getOwner()),
+                commits);
+    }
+
+    private static Commit commit(GitHubCommit commit, String repoFullName) {
+        String sha = commit.getSha();
+        boolean packed = sha != null && sha.length() == SHA_HEX_LENGTH
+                && sha.chars().allMatch(c -> (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f'));
+        CommitDetails details = commit.getCommit();
+        AuthorInfo author = details != null ? details.getAuthor() : null;
+        AuthorInfo committer = details != null ? details.getCommitter() : null;
+        return new Commit(
+                packed ? HEX.parseHex(sha) : null,
+                packed ? null : sha,
+                details != null,
+                details != null ? details.getMessage() : null,
+                person(author),
+                author != null ? timeOf(author.getDate()) : NO_TIME,
+                person(committer),
+                committer != null ? timeOf(committer.getDate()) : NO_TIME,
+                user(commit.getAuthor()),
+                unlessDerived(commit.getHtmlUrl(), commitUrlOf(repoFullName, sha)));
+    }
+
+    private static User owner(Owner owner) {
+        if (owner == null) {
+            return null;
+        }
+        return USERS.intern(new User(idOf(owner.getId()), intern(owner.getLogin()), intern(owner.getType()),
+                unlessDerived(owner.getAvatarUrl(), avatarUrlOf(owner.getId())),
+                unlessDerived(owner.getHtmlUrl(), webUrlOf(owner.getLogin()))));
+    }
+
+    private static User user(CommitAuthor author) {
+        if (author == null) {
+            return null;
+        }
+        return USERS.intern(new User(idOf(author.getId()), intern(author.getLogin()), null,
+                unlessDerived(author.getAvatarUrl(), avatarUrlOf(author.getId())),
+                unlessDerived(author.getHtmlUrl(), webUrlOf(author.getLogin()))));
+    }
+
+    private static Person person(AuthorInfo info) {
+        return info != null ? PEOPLE.intern(new Person(intern(info.getName()), intern(info.getEmail()))) : null;
+    }
+
+    public record Repository(long id, String name, String fullName, String htmlUrl, String description,
+                             long createdAt, long updatedAt, long pushedAt, String language,
+                             int stargazersCount, int watchersCount, int forksCount, String defaultBranch,
+                             User owner, Commit[] commits) {
+
+        private GitHubRepository toModel() {
+            GitHubRepository repo = new GitHubRepository(idOf(id), name, fullName);
+            repo.setHtmlUrl(derive(htmlUrl, webUrlOf(fullName)));
+            repo.setDescription(description);
+            repo.setCreatedAt(timeOf(createdAt));
+            repo.setUpdatedAt(timeOf(updatedAt));
+            repo.setPushedAt(timeOf(pushedAt));
+            repo.setLanguage(language);
+            repo.setStargazersCount(countOf(stargazersCount));
+            repo.setWatchersCount(countOf(watchersCount));
+            repo.setForksCount(countOf(forksCount));
+            repo.setDefaultBranch(defaultBranch);
+            repo.setOwner(owner != null ? owner.toOwner() : null);
+            if (commits != null) {
+                List<GitHubCommit> models = new ArrayList<>(commits.length);
+                for (Commit commit : commits) {
+                    models.add(commit.toModel(fullName));
+                }
+                repo.setRecentCommits(models);
+            }
+            return repo;
+        }
+    }
+
+    public record Commit(byte[] sha, String shaText, boolean hasDetails, String message,
+                         Person author, long authorDate, Person committer, long committerDate,
+                         User user, String htmlUrl) {
+
+        private GitHubCommit toModel(String repoFullName) {
+            String shaValue = sha != null ? HEX.formatHex(sha) : shaText;
+            GitHubCommit commit = new GitHubCommit(shaValue, null);
+            if (hasDetails) {
+                CommitDetails details = new CommitDetails(message, info(author, authorDate));
+                details.setCommitter(info(committer, committerDate));
+                commit.setCommit(details);
+            }
+            commit.setAuthor(user != null ? user.toCommitAuthor() : null);
+            commit.setHtmlUrl(derive(htmlUrl, commitUrlOf(repoFullName, shaValue)));
+            return commit;
+        }
+
+        private static AuthorInfo info(Person person, long date) {
+            return person != null ? new AuthorInfo(person.name(), person.email(), timeOf(date)) : null;
+        }
+    }
+
+    /**
+     * A repository owner or commit author. URL fields are {@code null} when derivable.
+     */
+    public record User(long id, String login, String type, String avatarUrl, String htmlUrl) {
+
+        private Owner toOwner() {
+            Owner model = new Owner(idOf(id), login, type);
+            model.setAvatarUrl(derive(avatarUrl, avatarUrlOf(idOf(id))));
+            model.setHtmlUrl(derive(htmlUrl, webUrlOf(login)));
+            return model;
+        }
+
+        private CommitAuthor toCommitAuthor() {
+            CommitAuthor model = new CommitAuthor(idOf(id), login);
+            model.setAvatarUrl(derive(avatarUrl, avatarUrlOf(idOf(id))));
+            model.setHtmlUrl(derive(htmlUrl, webUrlOf(login)));
+            return model;
+        }
+    }
+
+    public record Person(String name, String email) {
+    }
+
+    private static String intern(String value) {
+        return value != null ? STRINGS.intern(value) : null;
+    }
+
+    /**
+     * {@code value} if it differs from what would be derived, or {@code null} to derive it on read.
+     * A missing value that would otherwise be derived is stored as {@link #ABSENT}.
+     */
+    private static String unlessDerived(String value, String derived) {
+        if (value == null) {
+            return derived == null ? null : ABSENT;
+        }
+        return value.equals(derived) ? null : value;
+    }
+
+    @SuppressWarnings("StringEquality")
+    private static String derive(String stored, String derived) {
+        if (stored == ABSENT) {
+            return null;
+        }
+        return stored != null ? stored : derived;
+    }
+
+    private static String webUrlOf(String path) {
+        return path != null ? WEB_URL + path : null;
+    }
+
+    private static String avatarUrlOf(Long id) {
+        return id != null ? AVATAR_URL + id + AVATAR_VERSION : null;
+    }
+
+    private static String commitUrlOf(String repoFullName, String sha) {
+        return repoFullName != null && sha != null ? WEB_URL + repoFullName + COMMIT_PATH + sha : null;
+    }
+
+    private static long timeOf(LocalDateTime value) {
+        return value != null ? value.toInstant(ZoneOffset.UTC).toEpochMilli() : NO_TIME;
+    }
+
+    private static LocalDateTime timeOf(long value) {
+        return value != NO_TIME
+                ? LocalDateTime.ofEpochSecond(Math.floorDiv(value, 1000), (int) Math.floorMod(value, 1000) * 1_000_000, ZoneOffset.UTC)
+                : null;
+    }
+
+    private static long idOf(Long value) {
+        return value != null ? value : NO_ID;
+    }
+
+    private static Long idOf(long value) {
+        return value != NO_ID ? value : null;
+    }
+
+    private static int countOf(Integer value) {
+        return value != null ? value : NO_COUNT;
+    }
+
+    private static Integer countOf(int value) {
+        return value != NO_COUNT ? value : null;
+    }
+}
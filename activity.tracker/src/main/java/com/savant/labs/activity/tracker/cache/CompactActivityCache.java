@@ -0,0 +1,32 @@
+package com.savant.labs.activity.tracker.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.savant.labs.activity.tracker.models.RepositoryActivity;
+
+/**
+ * Caffeine-backed cache that holds {@link RepositoryActivity} values as {@link CompactActivity}.
+ * Values are converted when stored and on every read, so callers, including {@code @Cacheable},
+ * only ever see the public models and each read gets its own copy. Other values pass through.
+ */
+public class CompactActivityCache extends ActivityCache {
+
+    public CompactActivityCache(String name, Cache<Object, Object> cache, boolean allowNullValues) {
+        super(name, cache, allowNullValues);
+    }
+
+    public CompactActivityCache(String name, AsyncCache<Object, Object> cache, boolean allowNullValues) {
+        super(name, cache, allowNullValues);
+    }
+
+    @Override
+    protected Object toStoreValue(Object userValue) {
+        return super.toStoreValue(userValue instanceof RepositoryActivity activity ? CompactActivity.of(activity) : userValue);
+    }
+
+    @Override
+    protected Object fromStoreValue(Object storeValue) {
+        Object value = super.fromStoreValue(storeValue);
+        return value instanceof CompactActivity compact ? compact.toActivity() : value;
+    }
+}
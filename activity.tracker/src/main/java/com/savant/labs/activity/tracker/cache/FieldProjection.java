@@ -0,0 +1,150 @@
+package com.savant.labs.activity.tracker.cache;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.savant.labs.activity.tracker.constants.GitHubApiConstants;
+import com.savant.labs.activity.tracker.exception.GitHubConnectorException;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * A {@code fields=} selection such as {@code repositories.name,repositories.pushed_at,repositories.recentCommits.sha}.
+ * Paths use the JSON property names; a path ending at an object keeps the whole object, and lists are
+ * transparent ({@code repositories.name} selects the name of every repository).
+ * <p>
+ * The selection is applied by a Jackson property filter while serializing, so the model graph is
+ * neither copied nor modified. Writers come from a mapper prepared with {@link #projecting(ObjectMapper)}.
+ */
+public final class FieldProjection {
+
+    public static final FieldProjection ALL = new FieldProjection(null, "");
+
+    static final int MAX_FIELDS = 64;
+
+    private static final String FILTER_ID = "fieldProjection";
+    private static final Pattern SEGMENT = Pattern.compile("[A-Za-z0-9_]+");
+
+    private final Node root;
+    private final String fields;
+
+    private FieldProjection(Node root, String fields) {
+        this.root = root;
+        this.fields = fields;
+    }
+
+    /**
+     * @param fields comma-separated dotted paths; {@code null} or blank selects everything
+     * @throws GitHubConnectorException with {@code VALIDATION_ERROR} if a path is malformed
+     */
+    public static FieldProjection parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        String[] paths = fields.split(",");
+        if (paths.length > MAX_FIELDS) {
+            throw invalid("At most " + MAX_FIELDS + " fields can be selected");
+        }
+        Node root = new Node();
+        for (String path : paths) {
+            Node node = root;
+            for (String segment : path.trim().split("\\.", -1)) {
+                if (!SEGMENT.matcher(segment).matches()) {
+                    throw invalid("Invalid field path: '" + path.trim() + "'");
+                }
+                node = node.children.computeIfAbsent(segment, name -> new Node());
+            }
+            // Selecting an object keeps all of it, whatever else is selected below it
+            node.children.clear();
+            node.whole = true;
+        }
+        return new FieldProjection(root, fields.replace(" ", ""));
+    }
+
+    private static GitHubConnectorException invalid(String message) {
+        return new GitHubConnectorException(message, GitHubApiConstants.ERROR_CODE_VALIDATION, 400);
+    }
+
+    public boolean isAll() {
+        return root == null;
+    }
+
+    /**
+     * A copy of {@code mapper} whose bean serializers consult the projection filter. Build it once and
+     * pass it to {@link #writer(ObjectMapper)}; the original mapper is left untouched.
+     */
+    public static ObjectMapper projecting(ObjectMapper mapper) {
+        return mapper.copy().addMixIn(Object.class, Projected.class);
+    }
+
+    public ObjectWriter writer(ObjectMapper projecting) {
+        SimpleBeanPropertyFilter filter = isAll() ? SimpleBeanPropertyFilter.serializeAll() : new Filter(root);
+        return projecting.writer(new SimpleFilterProvider().addFilter(FILTER_ID, filter));
+    }
+
+    @Override
+    public String toString() {
+        return fields;
+    }
+
+    @JsonFilter(FILTER_ID)
+    private interface Projected {
+    }
+
+    private static final class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        private boolean whole;
+
+        private boolean includes(String name) {
+            return whole || children.containsKey(name);
+        }
+
+        private Node child(String name) {
+            return whole ? this : children.get(name);
+        }
+    }
+
+    private static final class Filter extends SimpleBeanPropertyFilter {
+
+        private final Node root;
+
+        private Filter(Node root) {
+            this.root = root;
+        }
+
+        @Override
+        public void serializeAsField(Object pojo, JsonGenerator gen, SerializerProvider provider,
+                                     PropertyWriter writer) throws Exception {
+            Node node = nodeOf(gen.getOutputContext());
+            if (node != null && node.includes(writer.getName())) {
+                writer.serializeAsField(pojo, gen, provider);
+            } else if (!gen.canOmitFields()) {
+                writer.serializeAsOmittedField(pojo, gen, provider);
+            }
+        }
+
+        /**
+         * The selection node of the object being written: its parent object's node, followed by the
+         * name of the field holding it. Arrays in between do not count.
+         */
+        private Node nodeOf(JsonStreamContext context) {
+            JsonStreamContext parent = context.getParent();
+            while (parent != null && parent.inArray()) {
+                parent = parent.getParent();
+            }
+            if (parent == null || parent.inRoot()) {
+                return root;
+            }
+            Node owner = nodeOf(parent);
+            return owner != null ? owner.child(parent.getCurrentName()) : null;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.savant.labs.activity.tracker.cache;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Count-min sketch of access frequencies with periodic aging, in the style of TinyLFU: after
+ * {@code 10 * width} increments every counter is halved, so popularity fades unless it is renewed.
+ * Estimates never undercount an item's decayed frequency and overcount only on hash collisions.
+ */
+public class FrequencySketch {
+
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final int[][] table;
+    private final int mask;
+    private final int sampleSize;
+    private int additions;
+
+    public FrequencySketch(int expectedItems) {
+        int width = Integer.highestOneBit(Math.max(16, expectedItems - 1) << 1);
+        this.table = new int[SEEDS.length][width];
+        this.mask = width - 1;
+        this.sampleSize = 10 * width;
+    }
+
+    public void increment(Object item) {
+        int hash = spread(item.hashCode());
+        lock.lock();
+        try {
+            for (int row = 0; row < SEEDS.length; row++) {
+                int index = index(hash, row);
+                if (table[row][index] < Integer.MAX_VALUE) {
+                    table[row][index]++;
+                }
+            }
+            if (++additions >= sampleSize) {
+                age();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int frequency(Object item) {
+        int hash = spread(item.hashCode());
+        lock.lock();
+        try {
+            int frequency = Integer.MAX_VALUE;
+            for (int row = 0; row < SEEDS.length; row++) {
+                frequency = Math.min(frequency, table[row][index(hash, row)]);
+            }
+            return frequency;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void age() {
+        for (int[] row : table) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] >>>= 1;
+            }
+        }
+        additions /= 2;
+    }
+
+    private int index(int hash, int row) {
+        long h = (hash + SEEDS[row]) * SEEDS[row];
+        h += h >>> 32;
+        return (int) h & mask;
+    }
+
+    private static int spread(int hash) {
+        int h = hash * 0x9e3779b9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,229 @@
+package com.savant.labs.activity.tracker.cache;
+
+import com.github.benmanes.caffeine.cache.Policy;
+import com.savant.labs.activity.tracker.config.GitHubConfig;
+import com.savant.labs.activity.tracker.constants.GitHubApiConstants;
+import com.savant.labs.activity.tracker.service.IGitHubActivityService;
+import com.savant.labs.activity.tracker.service.IRateLimitService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Re-fetches popular cached activities shortly before they expire, so the first request after
+ * the TTL is still a cache hit instead of paying for a cold fetch.
+ * <p>
+ * Requests are counted in a decaying {@link FrequencySketch}. Every {@code github.refresh-ahead.interval}
+ * the entries within {@code window} of their TTL are ranked by estimated frequency, and at most
+ * {@code max-refreshes-per-tick} of them are refreshed incrementally, with their starts spread
+ * over the interval. Nothing is refreshed while the core rate-limit budget is below
+ * {@code min-remaining-requests}, so refreshes never compete with user requests for the last calls.
+ * <p>
+ * {@code github.cache.refresh-ahead.lag} is how long after becoming due an entry was replaced;
+ * {@code avoided-misses} counts requests served by a refreshed entry after the old one would have expired.
+ */
+@Component
+@Slf4j
+public class RefreshAheadScheduler {
+
+    private final GitHubConfig.RefreshAhead settings;
+    private final IGitHubActivityService activityService;
+    private final IRateLimitService rateLimitService;
+    private final CacheManager cacheManager;
+    private final FrequencySketch sketch;
+    private final Map<String, String> tracked = new ConcurrentHashMap<>();
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    // Key -> nanoTime at which the entry replaced by a refresh would have expired, pruned with tracked
+    private final Map<String, Long> replacedExpiry = new ConcurrentHashMap<>();
+    private final Timer lag;
+    private final Counter refreshed;
+    private final Counter failed;
+    private final Counter avoidedMisses;
+    private final Counter skippedRateLimit;
+
+    private Disposable ticks;
+
+    @Autowired
+    public RefreshAheadScheduler(GitHubConfig config, IGitHubActivityService activityService,
+                                 IRateLimitService rateLimitService, CacheManager cacheManager,
+                                 MeterRegistry meterRegistry) {
+        this.settings = config.getRefreshAhead();
+        this.activityService = activityService;
+        this.rateLimitService = rateLimitService;
+        this.cacheManager = cacheManager;
+        this.sketch = new FrequencySketch(settings.getMaxTracked());
+
+        this.lag = Timer.builder("github.cache.refresh-ahead.lag")
+                .description("Time from a cache entry becoming due for refresh to its replacement")
+                .register(meterRegistry);
+        this.refreshed = refreshCounter(meterRegistry, "success");
+        this.failed = refreshCounter(meterRegistry, "failure");
+        this.avoidedMisses = Counter.builder("github.cache.refresh-ahead.avoided-misses")
+                .description("Requests served by a refreshed entry after the previous one would have expired")
+                .register(meterRegistry);
+        this.skippedRateLimit = Counter.builder("github.cache.refresh-ahead.skipped")
+                .description("Refresh rounds skipped, by reason")
+                .tag("reason", "rate_limit")
+                .register(meterRegistry);
+        Gauge.builder("github.cache.refresh-ahead.tracked", tracked, Map::size)
+                .description("Usernames tracked as refresh candidates")
+                .register(meterRegistry);
+        Gauge.builder("github.cache.refresh-ahead.replaced", replacedExpiry, Map::size)
+                .description("Refreshed entries still watched for requests past the replaced entry's expiry")
+                .register(meterRegistry);
+    }
+
+    private static Counter refreshCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("github.cache.refresh-ahead.refreshes")
+                .description("Background refreshes, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Counts a request for {@code username}'s activity.
+     */
+    public void recordAccess(String username) {
+        if (!settings.isEnabled()) {
+            return;
+        }
+        String key = ActivityCacheKeys.forUsername(username);
+        sketch.increment(key);
+        if (tracked.size() < settings.getMaxTracked()) {
+            tracked.putIfAbsent(key, username);
+        }
+
+        Long expiredAt = replacedExpiry.get(key);
+        if (expiredAt != null) {
+            long now = System.nanoTime();
+            if (now >= expiredAt && replacedExpiry.remove(key, expiredAt)) {
+                avoidedMisses.increment();
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!settings.isEnabled() || ticks != null) {
+            return;
+        }
+        ticks = Flux.interval(settings.getInterval(), settings.getInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> refreshDue()
+                        .onErrorResume(ex -> {
+                            log.warn("Refresh-ahead round failed: {}", ex.getMessage());
+                            return Mono.just(0L);
+                        }), 1)
+                .subscribe();
+        log.info("Refresh-ahead started, checking every {} s for entries within {} s of expiry",
+                settings.getInterval().toSeconds(), settings.getWindow().toSeconds());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (ticks != null) {
+            ticks.dispose();
+            ticks = null;
+        }
+    }
+
+    /**
+     * Runs one refresh round.
+     *
+     * @return the number of entries refreshed
+     */
+    public Mono<Long> refreshDue() {
+        return Mono.defer(() -> {
+            Cache cache = cacheManager.getCache(GitHubApiConstants.ACTIVITY_CACHE_NAME);
+            if (!(cache instanceof CaffeineCache caffeineCache)) {
+                return Mono.just(0L);
+            }
+            Optional<Policy.FixedExpiration<Object, Object>> expiration =
+                    caffeineCache.getNativeCache().policy().expireAfterWrite();
+            if (expiration.isEmpty()) {
+                return Mono.just(0L);
+            }
+            if (rateLimitService.getRemainingRequests() < settings.getMinRemainingRequests()) {
+                skippedRateLimit.increment();
+                log.debug("Refresh-ahead skipped, only {} requests left", rateLimitService.getRemainingRequests());
+                return Mono.just(0L);
+            }
+
+            Duration ttl = expiration.get().getExpiresAfter();
+            Duration due = ttl.minus(settings.getWindow());
+            List<Candidate> candidates = candidates(expiration.get(), due);
+            if (candidates.isEmpty()) {
+                return Mono.just(0L);
+            }
+
+            Duration spacing = settings.getInterval().dividedBy(candidates.size());
+            return Flux.range(0, candidates.size())
+                    .flatMap(i -> Mono.delay(spacing.multipliedBy(i))
+                            .then(refresh(candidates.get(i), ttl, due)))
+                    .count();
+        });
+    }
+
+    private List<Candidate> candidates(Policy.FixedExpiration<Object, Object> expiration, Duration due) {
+        tracked.keySet().removeIf(key -> expiration.ageOf(key).isEmpty() && sketch.frequency(key) < settings.getMinFrequency());
+        // Once the refreshed entry is gone or its key untracked, no request can be an avoided miss
+        replacedExpiry.keySet().removeIf(key -> !tracked.containsKey(key) || expiration.ageOf(key).isEmpty());
+
+        return tracked.entrySet().stream()
+                .filter(entry -> !inFlight.contains(entry.getKey()))
+                .map(entry -> expiration.ageOf(entry.getKey())
+                        .filter(age -> age.compareTo(due) >= 0)
+                        .map(age -> new Candidate(entry.getKey(), entry.getValue(), sketch.frequency(entry.getKey()), age)))
+                .flatMap(Optional::stream)
+                .filter(candidate -> candidate.frequency() >= settings.getMinFrequency())
+                .sorted(Comparator.comparingInt(Candidate::frequency).reversed())
+                .limit(settings.getMaxRefreshesPerTick())
+                .toList();
+    }
+
+    private Mono<Boolean> refresh(Candidate candidate, Duration ttl, Duration due) {
+        if (!inFlight.add(candidate.key())) {
+            return Mono.empty();
+        }
+        long started = System.nanoTime();
+        return activityService.refreshUserActivity(candidate.username())
+                .map(activity -> {
+                    long elapsed = System.nanoTime() - started;
+                    lag.record(Duration.ofNanos(Math.max(0, candidate.age().toNanos() + elapsed - due.toNanos())));
+                    replacedExpiry.put(candidate.key(), started + ttl.minus(candidate.age()).toNanos());
+                    refreshed.increment();
+                    log.debug("Refreshed activity for {} ahead of expiry (frequency {})", candidate.username(), candidate.frequency());
+                    return true;
+                })
+                .onErrorResume(ex -> {
+                    failed.increment();
+                    log.warn("Refresh-ahead for {} failed: {}", candidate.username(), ex.getMessage());
+                    return Mono.empty();
+                })
+                .doFinally(signal -> inFlight.remove(candidate.key()));
+    }
+
+    private record Candidate(String key, String username, int frequency, Duration age) {
+    }
+}
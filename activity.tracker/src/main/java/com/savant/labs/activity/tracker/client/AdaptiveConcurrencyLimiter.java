@@ -0,0 +1,303 @@
+package com.savant.labs.activity.tracker.client;
+
+import com.savant.labs.activity.tracker.config.GitHubConfig;
+import com.savant.labs.activity.tracker.constants.GitHubApiConstants;
+import com.savant.labs.activity.tracker.exception.GitHubConnectorException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounds the number of upstream calls in flight with an AIMD limit, to stay under GitHub's
+ * undocumented secondary rate limits. Every healthy call grows the limit by {@code 1 / limit},
+ * so a full window of them adds one slot; a secondary-limit 403, a 429 or a call slower than
+ * {@code github.concurrency.latency-threshold} multiplies it by {@code backoff-ratio}.
+ * A {@code Retry-After} pauses every call until it has passed.
+ * <p>
+ * Callers over the limit wait in a bounded FIFO queue; the queue is drained when a call
+ * finishes, the limit grows or a pause ends.
+ */
+@Component
+@Slf4j
+public class AdaptiveConcurrencyLimiter {
+
+    private static final long DECREASE_COOLDOWN_NANOS = Duration.ofSeconds(1).toNanos();
+    private static final String SECONDARY_LIMIT_MESSAGE = "secondary rate limit";
+
+    private final GitHubConfig config;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Deque<Permit> waiters = new ArrayDeque<>();
+    private final Counter secondaryLimitThrottles;
+    private final Counter tooManyRequestsThrottles;
+    private final Counter latencyThrottles;
+
+    private double limit;
+    private int inFlight;
+    private long pausedUntilNanos;
+    private boolean resumeScheduled;
+    private long lastDecreaseNanos;
+
+    @Autowired
+    public AdaptiveConcurrencyLimiter(GitHubConfig config, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.limit = config.getConcurrency().getInitialLimit();
+        // nanoTime has an arbitrary origin, so deadlines start from it and are compared by difference
+        this.pausedUntilNanos = System.nanoTime();
+        this.lastDecreaseNanos = pausedUntilNanos - DECREASE_COOLDOWN_NANOS;
+
+        Gauge.builder("github.api.concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Upstream calls currently allowed in flight")
+                .register(meterRegistry);
+        Gauge.builder("github.api.concurrency.in-flight", this, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Upstream calls currently in flight")
+                .register(meterRegistry);
+        Gauge.builder("github.api.concurrency.queued", this, AdaptiveConcurrencyLimiter::getQueued)
+                .description("Callers waiting for an upstream call slot")
+                .register(meterRegistry);
+        this.secondaryLimitThrottles = throttleCounter(meterRegistry, "secondary_limit");
+        this.tooManyRequestsThrottles = throttleCounter(meterRegistry, "too_many_requests");
+        this.latencyThrottles = throttleCounter(meterRegistry, "latency");
+    }
+
+    private static Counter throttleCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("github.api.concurrency.throttled")
+                .description("Times the concurrency limit was cut")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Subscribes to {@code call} once a slot is free, and feeds its latency back into the limit.
+     */
+    public <T> Mono<T> limit(Mono<T> call) {
+        return Mono.defer(() -> {
+            Permit permit = new Permit();
+            return Mono.<Void>create(sink -> enqueue(permit, sink))
+                    .then(Mono.defer(() -> {
+                        permit.startNanos = System.nanoTime();
+                        return call;
+                    }))
+                    .doOnSuccess(value -> onCompleted(permit))
+                    .doFinally(signal -> release(permit));
+        });
+    }
+
+    /**
+     * Inspects an error response for throttling. A 429, or a 403 that carries {@code Retry-After}
+     * or GitHub's secondary rate limit message while primary budget is left, cuts the limit and
+     * pauses every caller for the {@code Retry-After} (or the configured secondary backoff).
+     *
+     * @return whether the response was a throttle
+     */
+    public boolean onThrottled(HttpStatusCode status, HttpHeaders headers, String body) {
+        GitHubConfig.Headers names = config.getHeaders();
+        String retryAfterHeader = headers.getFirst(names.getRetryAfter());
+        boolean tooManyRequests = status.value() == GitHubApiConstants.HTTP_TOO_MANY_REQUESTS;
+        boolean secondaryLimit = status.value() == GitHubApiConstants.HTTP_FORBIDDEN
+                && !GitHubApiConstants.RATE_LIMIT_ZERO.equals(headers.getFirst(names.getRateLimitRemaining()))
+                && (retryAfterHeader != null || (body != null && body.toLowerCase(Locale.ROOT).contains(SECONDARY_LIMIT_MESSAGE)));
+        if (!tooManyRequests && !secondaryLimit) {
+            return false;
+        }
+
+        Duration pause = retryAfter(retryAfterHeader).orElse(config.getConcurrency().getSecondaryLimitBackoff());
+        (tooManyRequests ? tooManyRequestsThrottles : secondaryLimitThrottles).increment();
+        decrease();
+        pause(pause);
+        log.warn("GitHub throttled concurrent calls (status {}), pausing for {} s at limit {}",
+                status.value(), pause.toSeconds(), (int) getLimit());
+        return true;
+    }
+
+    static Optional<Duration> retryAfter(String value) {
+        if (value == null || value.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim()))));
+        } catch (NumberFormatException e) {
+            try {
+                ZonedDateTime at = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                Duration until = Duration.between(ZonedDateTime.now(at.getZone()), at);
+                return Optional.of(until.isNegative() ? Duration.ZERO : until);
+            } catch (DateTimeParseException ignored) {
+                return Optional.empty();
+            }
+        }
+    }
+
+    public double getLimit() {
+        lock.lock();
+        try {
+            return limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getQueued() {
+        lock.lock();
+        try {
+            return waiters.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void enqueue(Permit permit, MonoSink<Void> sink) {
+        lock.lock();
+        try {
+            if (waiters.size() >= config.getConcurrency().getQueueCapacity() && !hasCapacity()) {
+                sink.error(new GitHubConnectorException("Too many callers waiting for an upstream call slot",
+                        GitHubApiConstants.ERROR_CODE_SERVER_ERROR, 503));
+                return;
+            }
+            permit.sink = sink;
+            waiters.addLast(permit);
+        } finally {
+            lock.unlock();
+        }
+        drain();
+    }
+
+    private void onCompleted(Permit permit) {
+        if (permit.startNanos == 0) {
+            return;
+        }
+        long latencyNanos = System.nanoTime() - permit.startNanos;
+        if (latencyNanos > config.getConcurrency().getLatencyThreshold().toNanos()) {
+            if (decrease()) {
+                latencyThrottles.increment();
+                log.debug("Upstream call took {} ms, concurrency limit cut to {}",
+                        Duration.ofNanos(latencyNanos).toMillis(), (int) getLimit());
+            }
+            return;
+        }
+        lock.lock();
+        try {
+            limit = Math.min(config.getConcurrency().getMaxLimit(), limit + 1.0 / limit);
+        } finally {
+            lock.unlock();
+        }
+        drain();
+    }
+
+    private boolean decrease() {
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            if (now - lastDecreaseNanos < DECREASE_COOLDOWN_NANOS) {
+                return false;
+            }
+            lastDecreaseNanos = now;
+            limit = Math.max(config.getConcurrency().getMinLimit(), limit * config.getConcurrency().getBackoffRatio());
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void pause(Duration duration) {
+        boolean schedule;
+        lock.lock();
+        try {
+            long until = System.nanoTime() + duration.toNanos();
+            if (until - pausedUntilNanos > 0) {
+                pausedUntilNanos = until;
+            }
+            schedule = !resumeScheduled;
+            resumeScheduled = true;
+        } finally {
+            lock.unlock();
+        }
+        if (schedule) {
+            scheduleResume(duration);
+        }
+    }
+
+    private void scheduleResume(Duration delay) {
+        Mono.delay(delay).subscribe(tick -> {
+            long remaining;
+            lock.lock();
+            try {
+                remaining = pausedUntilNanos - System.nanoTime();
+                resumeScheduled = remaining > 0;
+            } finally {
+                lock.unlock();
+            }
+            if (remaining > 0) {
+                scheduleResume(Duration.ofNanos(remaining));
+            } else {
+                drain();
+            }
+        });
+    }
+
+    private void release(Permit permit) {
+        lock.lock();
+        try {
+            if (permit.granted) {
+                inFlight--;
+            } else {
+                waiters.remove(permit);
+            }
+        } finally {
+            lock.unlock();
+        }
+        drain();
+    }
+
+    private boolean hasCapacity() {
+        return System.nanoTime() - pausedUntilNanos >= 0 && inFlight < Math.max(1, (int) limit);
+    }
+
+    private void drain() {
+        while (true) {
+            Permit next;
+            lock.lock();
+            try {
+                if (waiters.isEmpty() || !hasCapacity()) {
+                    return;
+                }
+                next = waiters.pollFirst();
+                next.granted = true;
+                inFlight++;
+            } finally {
+                lock.unlock();
+            }
+            next.sink.success();
+        }
+    }
+
+    private static final class Permit {
+        private MonoSink<Void> sink;
+        private boolean granted;
+        private long startNanos;
+    }
+}
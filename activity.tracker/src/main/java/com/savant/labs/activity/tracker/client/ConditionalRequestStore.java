@@ -0,0 +1,106 @@
+package com.savant.labs.activity.tracker.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.savant.labs.activity.tracker.config.GitHubConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Remembers the validators and decoded body of the last successful response per URL.
+ * Replaying them as {@code If-None-Match}/{@code If-Modified-Since} lets GitHub answer
+ * with a 304, which does not count against the primary rate limit.
+ */
+@Component
+public class ConditionalRequestStore {
+
+    private static final List<String> STORED_HEADERS = List.of(HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED, HttpHeaders.LINK);
+
+    private final boolean enabled;
+    private final Cache<String, Entry> entries;
+    private final Counter notModified;
+    private final Counter modified;
+    private final Counter unconditional;
+
+    @Autowired
+    public ConditionalRequestStore(GitHubConfig config, MeterRegistry meterRegistry) {
+        this.enabled = config.getConditionalRequests().isEnabled();
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(config.getConditionalRequests().getMaxEntries())
+                .build();
+        this.notModified = conditionalCounter(meterRegistry, "not_modified");
+        this.modified = conditionalCounter(meterRegistry, "modified");
+        this.unconditional = conditionalCounter(meterRegistry, "unconditional");
+        Gauge.builder("github.api.conditional.entries", entries, Cache::estimatedSize)
+                .description("Responses held for conditional replay")
+                .register(meterRegistry);
+    }
+
+    private static Counter conditionalCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("github.api.conditional.requests")
+                .description("Upstream requests by conditional outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    public Entry get(String url) {
+        return enabled ? entries.getIfPresent(url) : null;
+    }
+
+    /**
+     * Records a 200 response. Bodies without a validator are not worth keeping. A list body is kept
+     * as an unmodifiable snapshot, since every 304 replays the same instance to its caller.
+     */
+    public void store(String url, ResponseEntity<?> response, boolean wasConditional) {
+        (wasConditional ? modified : unconditional).increment();
+        if (!enabled || response.getBody() == null) {
+            return;
+        }
+        HttpHeaders responseHeaders = response.getHeaders();
+        if (responseHeaders.getETag() == null && responseHeaders.getFirst(HttpHeaders.LAST_MODIFIED) == null) {
+            return;
+        }
+        HttpHeaders kept = new HttpHeaders();
+        for (String name : STORED_HEADERS) {
+            List<String> values = responseHeaders.get(name);
+            if (values != null) {
+                kept.put(name, values);
+            }
+        }
+        Object body = response.getBody();
+        entries.put(url, new Entry(kept, body instanceof List<?> list ? Collections.unmodifiableList(new ArrayList<>(list)) : body));
+    }
+
+    public void recordNotModified() {
+        notModified.increment();
+    }
+
+    public record Entry(HttpHeaders headers, Object body) {
+
+        public void applyValidators(HttpHeaders requestHeaders) {
+            String etag = headers.getETag();
+            if (etag != null) {
+                requestHeaders.set(HttpHeaders.IF_NONE_MATCH, etag);
+            }
+            String lastModified = headers.getFirst(HttpHeaders.LAST_MODIFIED);
+            if (lastModified != null) {
+                requestHeaders.set(HttpHeaders.IF_MODIFIED_SINCE, lastModified);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        public <T> ResponseEntity<T> toResponseEntity() {
+            return new ResponseEntity<>((T) body, headers, HttpStatus.OK);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.savant.labs.activity.tracker.client;
+
+import com.savant.labs.activity.tracker.config.GitHubConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+
+/**
+ * Opens pooled connections to the GitHub base URL before the first request needs them, so
+ * that request does not pay for DNS, TCP and the TLS handshake. The warm-up requests are HEADs
+ * of {@code /rate_limit}, which GitHub does not count against any rate limit.
+ */
+@Component
+@Slf4j
+public class ConnectionWarmer {
+
+    private final HttpClient httpClient;
+    private final GitHubConfig config;
+
+    @Autowired
+    public ConnectionWarmer(HttpClient githubHttpClient, GitHubConfig config) {
+        this.httpClient = githubHttpClient;
+        this.config = config;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpOnStartup() {
+        if (config.getConnection().getWarmupConnections() == 0) {
+            return;
+        }
+        warmUp().subscribe(
+                opened -> log.info("Warmed up {} connection(s) to {}", opened, config.getBaseUrl()),
+                ex -> log.warn("Could not warm up connections to {}: {}", config.getBaseUrl(), ex.getMessage()));
+    }
+
+    /**
+     * Initializes the client's event loops and resolver, then sends {@code warmup-connections}
+     * concurrent requests. Requests that fail are not retried.
+     *
+     * @return the number of requests that got a response
+     */
+    public Mono<Long> warmUp() {
+        int connections = config.getConnection().getWarmupConnections();
+        String url = config.getBaseUrl() + config.getApi().getRateLimitEndpoint();
+
+        return httpClient.warmup()
+                .thenMany(Flux.range(0, connections)
+                        .flatMap(attempt -> httpClient.head()
+                                .uri(url)
+                                .responseSingle((response, body) -> body.then(Mono.just(response.status())))
+                                .onErrorResume(ex -> {
+                                    log.debug("Warm-up request to {} failed: {}", url, ex.getMessage());
+                                    return Mono.empty();
+                                }), Math.max(1, connections)))
+                .count();
+    }
+}
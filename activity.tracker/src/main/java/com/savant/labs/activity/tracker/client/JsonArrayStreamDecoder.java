@@ -0,0 +1,277 @@
+package com.savant.labs.activity.tracker.client;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.TreeNode;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyName;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.savant.labs.activity.tracker.config.GitHubConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decodes a JSON array body element by element while it arrives, so a page of repositories or
+ * commits is never buffered whole. A non-blocking parser is fed each network buffer; the tokens
+ * of one element are collected and bound to the model as soon as the element closes.
+ * <p>
+ * Fields the model does not map (most of a GitHub repository or commit) are skipped at the token
+ * level instead of being buffered and then ignored. The mapped fields are found by introspecting
+ * the model with the same {@link ObjectMapper} that binds it. An element spanning more than
+ * {@code github.decoding.max-element-size} bytes fails the decode.
+ */
+@Component
+public class JsonArrayStreamDecoder {
+
+    private static final int MAX_SCHEMA_DEPTH = 8;
+
+    private final ObjectMapper objectMapper;
+    private final long maxElementSize;
+    private final Map<Class<?>, Node> schemas = new ConcurrentHashMap<>();
+
+    @Autowired
+    public JsonArrayStreamDecoder(ObjectMapper objectMapper, GitHubConfig config) {
+        this.objectMapper = objectMapper;
+        this.maxElementSize = config.getDecoding().getMaxElementSize().toBytes();
+    }
+
+    /**
+     * @return the array's elements in order; empty for an empty body, {@code null} elements are dropped
+     */
+    public <T> Flux<T> decode(Flux<DataBuffer> body, Class<T> elementType) {
+        Node schema = schemas.computeIfAbsent(elementType, type -> Node.of(objectMapper, objectMapper.constructType(type), 0));
+        return Flux.defer(() -> {
+            Tokenizer<T> tokenizer = new Tokenizer<>(elementType, schema);
+            return body.concatMapIterable(tokenizer::feed)
+                    .concatWith(Flux.defer(() -> Flux.fromIterable(tokenizer.endOfInput())))
+                    .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                    .doFinally(signal -> tokenizer.close());
+        });
+    }
+
+    /**
+     * Parse state of one response body. Tokens arrive in order on a single subscriber, so it needs
+     * no synchronization.
+     */
+    private final class Tokenizer<T> {
+
+        private final Class<T> elementType;
+        private final Node schema;
+        private final JsonParser parser;
+        private final ByteArrayFeeder feeder;
+
+        private boolean inArray;
+        private boolean finished;
+        private TokenBuffer element;
+        private long elementStart;
+        // Schema node of each open object or array of the current element
+        private final Deque<Node> open = new ArrayDeque<>();
+        private String field;
+        private boolean skipValue;
+        // Open objects and arrays of the value being skipped
+        private int skipping;
+
+        private Tokenizer(Class<T> elementType, Node schema) {
+            this.elementType = elementType;
+            this.schema = schema;
+            try {
+                this.parser = objectMapper.getFactory().createNonBlockingByteArrayParser();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+        }
+
+        private List<T> feed(DataBuffer buffer) {
+            byte[] bytes;
+            try {
+                bytes = new byte[buffer.readableByteCount()];
+                buffer.read(bytes);
+            } finally {
+                DataBufferUtils.release(buffer);
+            }
+            try {
+                feeder.feedInput(bytes, 0, bytes.length);
+                return parse();
+            } catch (IOException e) {
+                throw new DecodingException("Invalid JSON array: " + e.getMessage(), e);
+            }
+        }
+
+        private List<T> endOfInput() {
+            feeder.endOfInput();
+            try {
+                List<T> elements = parse();
+                if (inArray) {
+                    throw new DecodingException("Incomplete JSON array");
+                }
+                return elements;
+            } catch (IOException e) {
+                throw new DecodingException("Invalid JSON array: " + e.getMessage(), e);
+            }
+        }
+
+        private List<T> parse() throws IOException {
+            List<T> elements = null;
+            JsonToken token;
+            while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                if (!inArray) {
+                    if (finished || token != JsonToken.START_ARRAY) {
+                        throw new DecodingException("Expected a single JSON array but found " + token);
+                    }
+                    inArray = true;
+                    continue;
+                }
+                T value = next(token);
+                if (value != null) {
+                    if (elements == null) {
+                        elements = new ArrayList<>();
+                    }
+                    elements.add(value);
+                }
+            }
+            return elements != null ? elements : List.of();
+        }
+
+        /**
+         * @return the element completed by {@code token}, if any
+         */
+        private T next(JsonToken token) throws IOException {
+            if (element == null) {
+                if (token == JsonToken.END_ARRAY) {
+                    inArray = false;
+                    finished = true;
+                    return null;
+                }
+                if (token == JsonToken.VALUE_NULL) {
+                    return null;
+                }
+                element = new TokenBuffer(parser);
+                elementStart = parser.currentTokenLocation().getByteOffset();
+                element.copyCurrentEvent(parser);
+                if (!token.isStructStart()) {
+                    return bind();
+                }
+                open.push(schema);
+                return null;
+            }
+
+            if (parser.currentLocation().getByteOffset() - elementStart > maxElementSize) {
+                throw new DataBufferLimitException("Exceeded limit on max bytes per JSON array element: " + maxElementSize);
+            }
+            if (skipping > 0) {
+                if (token.isStructStart()) {
+                    skipping++;
+                } else if (token.isStructEnd()) {
+                    skipping--;
+                }
+                return null;
+            }
+            if (skipValue) {
+                skipValue = false;
+                skipping = token.isStructStart() ? 1 : 0;
+                return null;
+            }
+
+            Node node = open.peek();
+            if (token == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                if (!node.includes(name)) {
+                    skipValue = true;
+                    return null;
+                }
+                field = name;
+                element.copyCurrentEvent(parser);
+                return null;
+            }
+
+            element.copyCurrentEvent(parser);
+            if (token.isStructStart()) {
+                // Inside an array (field == null) elements share the array's node
+                open.push(field != null ? node.child(field) : node);
+            } else if (token.isStructEnd()) {
+                open.pop();
+                if (open.isEmpty()) {
+                    return bind();
+                }
+            }
+            field = null;
+            return null;
+        }
+
+        private T bind() throws IOException {
+            try (JsonParser tokens = element.asParser(objectMapper)) {
+                return objectMapper.readValue(tokens, elementType);
+            } finally {
+                element = null;
+            }
+        }
+
+        private void close() {
+            try {
+                parser.close();
+            } catch (IOException ignored) {
+                // Nothing is held beyond the parser's own buffers
+            }
+        }
+    }
+
+    /**
+     * The JSON properties a model maps, nested for properties that are models themselves.
+     */
+    private record Node(Map<String, Node> children) {
+
+        // A value kept as is, e.g. a string, a date or a map
+        private static final Node WHOLE = new Node(null);
+
+        private boolean includes(String name) {
+            return children == null || children.containsKey(name);
+        }
+
+        private Node child(String name) {
+            return children == null ? this : children.get(name);
+        }
+
+        private static Node of(ObjectMapper mapper, JavaType type, int depth) {
+            if (type.isArrayType() || type.isCollectionLikeType()) {
+                return of(mapper, type.getContentType(), depth);
+            }
+            Class<?> raw = type.getRawClass();
+            if (depth >= MAX_SCHEMA_DEPTH || type.isPrimitive() || type.isEnumType() || type.isMapLikeType()
+                    || raw.getName().startsWith("java.") || TreeNode.class.isAssignableFrom(raw)) {
+                return WHOLE;
+            }
+            BeanDescription bean = mapper.getDeserializationConfig().introspect(type);
+            Map<String, Node> children = new HashMap<>();
+            for (BeanPropertyDefinition property : bean.findProperties()) {
+                if (!property.couldDeserialize()) {
+                    continue;
+                }
+                Node child = of(mapper, property.getPrimaryType(), depth + 1);
+                children.put(property.getName(), child);
+                for (PropertyName alias : property.findAliases()) {
+                    children.put(alias.getSimpleName(), child);
+                }
+            }
+            return new Node(children);
+        }
+    }
+}
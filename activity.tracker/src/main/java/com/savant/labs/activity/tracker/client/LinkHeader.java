@@ -0,0 +1,62 @@
+package com.savant.labs.activity.tracker.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.OptionalInt;
+
+/**
+ * Reads page numbers out of GitHub's RFC 8288 {@code Link} header, e.g.
+ * {@code <https://api.github.com/user/1/repos?page=2>; rel="next", <...?page=7>; rel="last"}.
+ */
+public final class LinkHeader {
+
+    public static final String REL_NEXT = "next";
+    public static final String REL_LAST = "last";
+
+    private static final String PAGE_PARAM = "page";
+
+    private LinkHeader() {}
+
+    public static OptionalInt lastPage(HttpHeaders headers) {
+        return page(headers.getFirst(HttpHeaders.LINK), REL_LAST);
+    }
+
+    public static OptionalInt page(String linkHeader, String rel) {
+        if (linkHeader == null || linkHeader.isBlank()) {
+            return OptionalInt.empty();
+        }
+        for (String link : linkHeader.split(",")) {
+            int open = link.indexOf('<');
+            int close = link.indexOf('>', open + 1);
+            if (open < 0 || close < 0 || !hasRel(link.substring(close + 1), rel)) {
+                continue;
+            }
+            String page = UriComponentsBuilder.fromUriString(link.substring(open + 1, close))
+                    .build()
+                    .getQueryParams()
+                    .getFirst(PAGE_PARAM);
+            try {
+                return page != null ? OptionalInt.of(Integer.parseInt(page)) : OptionalInt.empty();
+            } catch (NumberFormatException e) {
+                return OptionalInt.empty();
+            }
+        }
+        return OptionalInt.empty();
+    }
+
+    private static boolean hasRel(String params, String rel) {
+        for (String param : params.split(";")) {
+            String trimmed = param.trim();
+            if (trimmed.startsWith("rel=")) {
+                String value = trimmed.substring(4).replace("\"", "");
+                for (String candidate : value.split("\\s+")) {
+                    if (candidate.equals(rel)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,205 @@
+package com.savant.labs.activity.tracker.client;
+
+import com.savant.labs.activity.tracker.config.GitHubConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hedges slow upstream calls: a call that has not answered within {@code github.hedging.percentile}
+ * of the endpoint's recent latency is subscribed a second time and whichever answers first wins,
+ * the other is cancelled. The call is resubscribed as-is. Callers hedge a single HTTP exchange,
+ * after rate-limit admission and inside the concurrency limiter and retry, so the latency history
+ * is network time only. The duplicate takes its own token from the pool and is charged its own
+ * rate-limit admission before it is sent, but shares the primary's concurrency-limiter slot.
+ * <p>
+ * Hedges are paid for from a bucket that each call refills by {@code max-ratio} of a hedge, and are
+ * skipped while the pool's remaining core budget is below {@code min-remaining-requests}, so
+ * duplicates never take the budget the primary calls need.
+ */
+@Component
+@Slf4j
+public class RequestHedger {
+
+    // Fixed-point balance in thousandths of a hedge, as in RetryBudget
+    private static final long SCALE = 1000;
+
+    private final GitHubConfig config;
+    private final TokenPool tokenPool;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private final AtomicLong balance;
+
+    @Autowired
+    public RequestHedger(GitHubConfig config, TokenPool tokenPool, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.tokenPool = tokenPool;
+        this.meterRegistry = meterRegistry;
+        this.balance = new AtomicLong(config.getHedging().getMaxBurst() * SCALE);
+    }
+
+    /**
+     * Runs {@code call}, sending one duplicate if it is slower than the endpoint's hedge delay.
+     *
+     * @param endpoint name the latency history and metrics are kept under
+     */
+    public <T> Mono<T> hedge(String endpoint, Mono<T> call) {
+        return hedge(endpoint, call, Mono.empty());
+    }
+
+    /**
+     * Like {@link #hedge(String, Mono)}, but the duplicate first passes {@code admission}, so it is
+     * charged against the same budget as the primary. A duplicate that is not admitted is not sent.
+     */
+    public <T> Mono<T> hedge(String endpoint, Mono<T> call, Mono<Void> admission) {
+        GitHubConfig.Hedging settings = config.getHedging();
+        if (!settings.isEnabled()) {
+            return call;
+        }
+        Endpoint stats = endpoints.computeIfAbsent(endpoint, this::newEndpoint);
+        return Mono.defer(() -> {
+            deposit(settings);
+            Mono<Hedged<T>> primary = timed(call, stats, false);
+            Optional<Duration> delay = stats.hedgeDelay(settings);
+            if (delay.isEmpty()) {
+                return primary.map(Hedged::value);
+            }
+            Mono<Hedged<T>> hedge = Mono.delay(delay.get())
+                    .flatMap(tick -> tryHedge(settings, stats, endpoint)
+                            // A failed hedge leaves the primary to answer
+                            ? admission.then(timed(call, stats, true)).onErrorResume(ex -> Mono.never())
+                            : Mono.<Hedged<T>>never());
+            return Mono.firstWithSignal(primary, hedge)
+                    .doOnNext(result -> {
+                        if (result.hedge()) {
+                            stats.won.increment();
+                        }
+                    })
+                    .map(Hedged::value);
+        });
+    }
+
+    /**
+     * The delay after which a call to {@code endpoint} would be hedged, once enough latencies are known.
+     */
+    public Optional<Duration> hedgeDelay(String endpoint) {
+        Endpoint stats = endpoints.get(endpoint);
+        return stats == null ? Optional.empty() : stats.hedgeDelay(config.getHedging());
+    }
+
+    private <T> Mono<Hedged<T>> timed(Mono<T> call, Endpoint stats, boolean hedge) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return call.doOnSuccess(value -> stats.record(System.nanoTime() - start))
+                    .map(value -> new Hedged<>(value, hedge));
+        });
+    }
+
+    private boolean tryHedge(GitHubConfig.Hedging settings, Endpoint stats, String endpoint) {
+        if (tokenPool.totalRemaining() < settings.getMinRemainingRequests()) {
+            stats.skippedRateLimit.increment();
+            return false;
+        }
+        while (true) {
+            long current = balance.get();
+            if (current < SCALE) {
+                stats.skippedCapped.increment();
+                return false;
+            }
+            if (balance.compareAndSet(current, current - SCALE)) {
+                stats.sent.increment();
+                log.debug("Hedging slow call to {}", endpoint);
+                return true;
+            }
+        }
+    }
+
+    private void deposit(GitHubConfig.Hedging settings) {
+        long capacity = settings.getMaxBurst() * SCALE;
+        long amount = Math.round(settings.getMaxRatio() * SCALE);
+        balance.accumulateAndGet(amount, (current, added) -> Math.min(capacity, current + added));
+    }
+
+    private Endpoint newEndpoint(String endpoint) {
+        return new Endpoint(config.getHedging().getWindow(),
+                hedgeCounter("github.api.hedge.sent", "Duplicate calls sent for slow upstream calls", endpoint, null),
+                hedgeCounter("github.api.hedge.won", "Hedged calls answered by the duplicate", endpoint, null),
+                hedgeCounter("github.api.hedge.skipped", "Hedges not sent, by reason", endpoint, "capped"),
+                hedgeCounter("github.api.hedge.skipped", "Hedges not sent, by reason", endpoint, "rate_limit"));
+    }
+
+    private Counter hedgeCounter(String name, String description, String endpoint, String reason) {
+        Counter.Builder builder = Counter.builder(name)
+                .description(description)
+                .tag("endpoint", endpoint);
+        if (reason != null) {
+            builder.tag("reason", reason);
+        }
+        return builder.register(meterRegistry);
+    }
+
+    private record Hedged<T>(T value, boolean hedge) {
+    }
+
+    /**
+     * Ring buffer of the endpoint's most recent successful latencies.
+     */
+    private static final class Endpoint {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final long[] latencies;
+        private final Counter sent;
+        private final Counter won;
+        private final Counter skippedCapped;
+        private final Counter skippedRateLimit;
+        private int next;
+        private int count;
+
+        private Endpoint(int window, Counter sent, Counter won, Counter skippedCapped, Counter skippedRateLimit) {
+            this.latencies = new long[window];
+            this.sent = sent;
+            this.won = won;
+            this.skippedCapped = skippedCapped;
+            this.skippedRateLimit = skippedRateLimit;
+        }
+
+        private void record(long latencyNanos) {
+            lock.lock();
+            try {
+                latencies[next] = latencyNanos;
+                next = (next + 1) % latencies.length;
+                count = Math.min(count + 1, latencies.length);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private Optional<Duration> hedgeDelay(GitHubConfig.Hedging settings) {
+            long[] sorted;
+            lock.lock();
+            try {
+                if (count < settings.getMinSamples()) {
+                    return Optional.empty();
+                }
+                sorted = Arrays.copyOf(latencies, count);
+            } finally {
+                lock.unlock();
+            }
+            Arrays.sort(sorted);
+            int index = Math.min(sorted.length - 1, (int) Math.ceil(settings.getPercentile() * sorted.length) - 1);
+            Duration delay = Duration.ofNanos(sorted[Math.max(0, index)]);
+            return Optional.of(delay.compareTo(settings.getMinDelay()) < 0 ? settings.getMinDelay() : delay);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.savant.labs.activity.tracker.client;
+
+import com.savant.labs.activity.tracker.config.GitHubConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+import reactor.util.retry.RetryBackoffSpec;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Process-wide token bucket shared by every retry layer: the per-call Reactor retries in the
+ * API clients and the resilience4j {@code github-api} retry around a whole activity fetch.
+ * Each successful upstream call deposits {@code github.retry-budget.ratio} of a token and each
+ * retry withdraws a whole one, so retries stay a bounded share of successes. During a
+ * brownout the bucket drains and failures surface after the first attempt instead of being
+ * multiplied by both layers.
+ */
+@Component
+@Slf4j
+public class RetryBudget {
+
+    // Fixed-point balance in thousandths of a token, so deposits and withdrawals stay lock-free
+    private static final long SCALE = 1000;
+
+    private final AtomicLong balance;
+    private final long capacity;
+    private final long deposit;
+    private final Counter granted;
+    private final Counter rejected;
+    private final Counter refunded;
+    private final Counter successes;
+
+    @Autowired
+    public RetryBudget(GitHubConfig config, MeterRegistry meterRegistry) {
+        GitHubConfig.RetryBudget settings = config.getRetryBudget();
+        this.capacity = settings.getMaxTokens() * SCALE;
+        this.deposit = Math.round(settings.getRatio() * SCALE);
+        this.balance = new AtomicLong(capacity);
+
+        Gauge.builder("github.api.retry.budget.tokens", this, RetryBudget::getAvailableTokens)
+                .description("Retries the shared budget can currently pay for")
+                .register(meterRegistry);
+        this.granted = retryCounter(meterRegistry, "granted");
+        this.rejected = retryCounter(meterRegistry, "rejected");
+        this.refunded = retryCounter(meterRegistry, "refunded");
+        this.successes = Counter.builder("github.api.retry.budget.deposits")
+                .description("Successful upstream calls that refilled the retry budget")
+                .register(meterRegistry);
+    }
+
+    private static Counter retryCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("github.api.retry.budget.retries")
+                .description("Retries asked of the shared budget, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    public void recordSuccess() {
+        successes.increment();
+        balance.accumulateAndGet(deposit, (current, amount) -> Math.min(capacity, current + amount));
+    }
+
+    /**
+     * Wraps {@code backoff} so that a retry is paid for only once it is certain to run: a failure
+     * its filter rejects, or one after the last attempt, is handed to {@code backoff} without a
+     * withdrawal. A retry the budget cannot pay for fails with the original error.
+     */
+    public Retry limit(RetryBackoffSpec backoff) {
+        return Retry.from(signals -> backoff.generateCompanion(signals
+                .map(Retry.RetrySignal::copy)
+                .concatMap(signal -> {
+                    long retries = backoff.isTransientErrors ? signal.totalRetriesInARow() : signal.totalRetries();
+                    if (!backoff.errorFilter.test(signal.failure()) || retries >= backoff.maxAttempts || tryAcquire()) {
+                        return Mono.just(signal);
+                    }
+                    return Mono.error(signal.failure());
+                })));
+    }
+
+    /**
+     * Returns a retry that was withdrawn but did not run, e.g. because the caller had no attempts left.
+     */
+    public void refund() {
+        refunded.increment();
+        balance.accumulateAndGet(SCALE, (current, amount) -> Math.min(capacity, current + amount));
+    }
+
+    /**
+     * Withdraws one retry from the budget.
+     *
+     * @return whether the retry may go ahead
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            long current = balance.get();
+            if (current < SCALE) {
+                rejected.increment();
+                log.debug("Retry budget exhausted, not retrying");
+                return false;
+            }
+            if (balance.compareAndSet(current, current - SCALE)) {
+                granted.increment();
+                return true;
+            }
+        }
+    }
+
+    public double getAvailableTokens() {
+        return (double) balance.get() / SCALE;
+    }
+}
@@ -0,0 +1,63 @@
+package com.savant.labs.activity.tracker.client;
+
+import com.savant.labs.activity.tracker.constants.GitHubApiConstants;
+import com.savant.labs.activity.tracker.exception.AuthenticationException;
+import com.savant.labs.activity.tracker.exception.GitHubConnectorException;
+import com.savant.labs.activity.tracker.exception.RateLimitExceededException;
+import com.savant.labs.activity.tracker.exception.UserNotFoundException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+
+import java.io.IOException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Single definition of which failures are worth retrying, used by the API clients' per-call
+ * retries and the resilience4j retry around whole fetches. Wrapping exceptions are unwrapped
+ * to the first cause that says something about the failure.
+ * <p>
+ * Server errors, 429s, secondary-limit 403s, timeouts and connection failures are retried.
+ * An unknown user, an open circuit and other client errors are not. A rejected token or a
+ * spent budget is retried only while another token can take the call.
+ */
+@Component
+public class RetryClassifier {
+
+    private static final String UNKNOWN_ERROR_CODE = "UNKNOWN_ERROR";
+
+    private final TokenPool tokenPool;
+
+    @Autowired
+    public RetryClassifier(TokenPool tokenPool) {
+        this.tokenPool = tokenPool;
+    }
+
+    public boolean isRetryable(Throwable throwable) {
+        return isRetryable(throwable, GitHubApiConstants.RESOURCE_CORE);
+    }
+
+    public boolean isRetryable(Throwable throwable, String resource) {
+        for (Throwable current = throwable; current != null; current = current.getCause()) {
+            if (current instanceof UserNotFoundException || current instanceof CallNotPermittedException) {
+                return false;
+            }
+            if (current instanceof AuthenticationException || current instanceof RateLimitExceededException) {
+                return tokenPool.hasAvailableToken(resource);
+            }
+            if (current instanceof GitHubConnectorException ex && !UNKNOWN_ERROR_CODE.equals(ex.getErrorCode())) {
+                int status = ex.getHttpStatus();
+                return status >= 500
+                        || status == GitHubApiConstants.HTTP_TOO_MANY_REQUESTS
+                        || GitHubApiConstants.ERROR_CODE_SECONDARY_RATE_LIMIT.equals(ex.getErrorCode());
+            }
+            if (current instanceof WebClientRequestException
+                    || current instanceof TimeoutException
+                    || current instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,68 @@
+package com.savant.labs.activity.tracker.client;
+
+import com.savant.labs.activity.tracker.config.GitHubConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Coalesces identical upstream calls that are in flight at the same time: the first caller for a
+ * key starts the call and later callers subscribe to the same result, including its error.
+ * <p>
+ * The shared call is reference-counted, so a caller that cancels only drops its own subscription;
+ * the call is cancelled once no caller is left. The key is released when the call terminates,
+ * so a caller arriving afterwards starts a fresh call rather than reading a stale result.
+ */
+@Component
+public class SingleFlight {
+
+    private final boolean enabled;
+    private final Map<String, Mono<?>> flights = new ConcurrentHashMap<>();
+    private final Counter coalesced;
+
+    @Autowired
+    public SingleFlight(GitHubConfig config, MeterRegistry meterRegistry) {
+        this.enabled = config.getCoalescing().isEnabled();
+        this.coalesced = Counter.builder("github.api.coalesced")
+                .description("Upstream calls answered by joining an identical call already in flight")
+                .register(meterRegistry);
+        Gauge.builder("github.api.coalescing.in-flight", flights, Map::size)
+                .description("Distinct upstream calls currently shared")
+                .register(meterRegistry);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> execute(String key, Mono<T> call) {
+        if (!enabled) {
+            return call;
+        }
+        return Mono.defer(() -> {
+            Flight<T> created = new Flight<>();
+            Mono<?> shared = flights.computeIfAbsent(key, k -> created.start(k, call));
+            if (shared != created.mono) {
+                coalesced.increment();
+            }
+            return (Mono<T>) shared;
+        });
+    }
+
+    private final class Flight<T> {
+        private Mono<T> mono;
+
+        private Mono<T> start(String key, Mono<T> call) {
+            mono = call
+                    .doFinally(signal -> flights.remove(key, mono))
+                    .flux()
+                    .publish()
+                    .refCount(1)
+                    .singleOrEmpty();
+            return mono;
+        }
+    }
+}
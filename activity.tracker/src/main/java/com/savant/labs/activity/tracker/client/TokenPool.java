@@ -0,0 +1,297 @@
+package com.savant.labs.activity.tracker.client;
+
+import com.savant.labs.activity.tracker.config.GitHubConfig;
+import com.savant.labs.activity.tracker.constants.GitHubApiConstants;
+import com.savant.labs.activity.tracker.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Spreads upstream calls over every configured token. Each token tracks its own budget per
+ * rate-limit resource ({@code core}, {@code graphql}, {@code search}) from the
+ * {@code X-RateLimit-*} headers of the responses it received, and each request goes to the token
+ * with the most remaining budget in that resource, ties broken by the soonest reset. Exhausted
+ * and revoked (401) tokens sit out until their reset.
+ */
+@Component
+@Slf4j
+public class TokenPool {
+
+    private static final int DEFAULT_LIMIT = 5000;
+    private static final long DEFAULT_WINDOW_SECONDS = 3600;
+    private static final int DEFAULT_SEARCH_LIMIT = 30;
+    private static final long DEFAULT_SEARCH_WINDOW_SECONDS = 60;
+    private static final Comparator<Budget> BY_PREFERENCE = Comparator
+            .comparingInt((Budget budget) -> budget.remaining.get()).reversed()
+            .thenComparingLong(budget -> budget.resetEpochSecond.get());
+
+    private final GitHubConfig config;
+    private final MeterRegistry meterRegistry;
+    private final List<Token> tokens = new ArrayList<>();
+
+    @Autowired
+    public TokenPool(GitHubConfig config, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.meterRegistry = meterRegistry;
+
+        Set<String> values = new LinkedHashSet<>();
+        values.add(config.getToken());
+        values.addAll(config.getTokens());
+        values.removeIf(value -> value == null || value.isBlank());
+        if (values.isEmpty()) {
+            throw new IllegalStateException("At least one GitHub token must be configured");
+        }
+
+        for (String value : values) {
+            Token token = new Token("token-" + tokens.size(), value);
+            tokens.add(token);
+            Gauge.builder("github.api.token.available", token, t -> t.isRevoked(nowEpochSecond()) ? 0 : 1)
+                    .description("Whether the token is currently in rotation")
+                    .tag("token", token.label)
+                    .register(meterRegistry);
+        }
+        log.info("GitHub token pool initialised with {} token(s)", tokens.size());
+    }
+
+    public Token acquire() {
+        return acquire(GitHubApiConstants.RESOURCE_CORE);
+    }
+
+    /**
+     * Picks the token for the next request against {@code resource} and charges it one call.
+     *
+     * @throws RateLimitExceededException if every token is exhausted or revoked
+     */
+    public Token acquire(String resource) {
+        while (true) {
+            long now = nowEpochSecond();
+            Token selected = null;
+            Budget selectedBudget = null;
+            for (Token token : tokens) {
+                Budget budget = budget(token, resource);
+                budget.restoreIfReset(now);
+                if (!token.isRevoked(now) && budget.remaining.get() > 0
+                        && (selectedBudget == null || BY_PREFERENCE.compare(budget, selectedBudget) < 0)) {
+                    selected = token;
+                    selectedBudget = budget;
+                }
+            }
+            if (selected == null) {
+                throw new RateLimitExceededException(config.getError().getRateLimitExceeded(), earliestReset(resource), 0);
+            }
+            // A concurrent caller may have taken the token's last call since it was selected
+            if (selectedBudget.tryTake()) {
+                return selected;
+            }
+        }
+    }
+
+    /**
+     * Reconciles the token's budget with the rate-limit headers of a response it was used for.
+     *
+     * @return the resource the headers described, if the response carried rate-limit headers
+     */
+    public Optional<String> update(Token token, HttpHeaders headers) {
+        GitHubConfig.Headers names = config.getHeaders();
+        String remaining = headers.getFirst(names.getRateLimitRemaining());
+        String reset = headers.getFirst(names.getRateLimitReset());
+        if (remaining == null || reset == null) {
+            return Optional.empty();
+        }
+        String resource = Optional.ofNullable(headers.getFirst(names.getRateLimitResource()))
+                .orElse(GitHubApiConstants.RESOURCE_CORE);
+        try {
+            String limit = headers.getFirst(names.getRateLimitLimit());
+            update(token, resource, limit != null ? Integer.parseInt(limit) : -1,
+                    Integer.parseInt(remaining), Long.parseLong(reset));
+        } catch (NumberFormatException e) {
+            log.warn(config.getError().getParseRateLimitHeaders(), e);
+            return Optional.empty();
+        }
+        return Optional.of(resource);
+    }
+
+    /**
+     * Sets the token's budget for {@code resource}; a negative {@code limit} keeps the known limit.
+     */
+    public void update(Token token, String resource, int limit, int remaining, long resetEpochSecond) {
+        Budget budget = budget(token, resource);
+        if (limit >= 0) {
+            budget.limit.set(limit);
+        }
+        budget.remaining.set(remaining);
+        budget.resetEpochSecond.set(resetEpochSecond);
+        if (remaining <= 0) {
+            log.warn("GitHub {} exhausted its {} budget until {}", token.label, resource, toDateTime(resetEpochSecond));
+        }
+    }
+
+    /**
+     * Takes a token that GitHub rejected with a 401 out of rotation until its core window resets.
+     */
+    public void revoke(Token token) {
+        long until = Math.max(budget(token, GitHubApiConstants.RESOURCE_CORE).resetEpochSecond.get(),
+                nowEpochSecond() + DEFAULT_WINDOW_SECONDS);
+        token.revokedUntil = until;
+        log.warn("GitHub {} was rejected as unauthorized, removed from rotation until {}", token.label, toDateTime(until));
+    }
+
+    public boolean hasAvailableToken() {
+        return hasAvailableToken(GitHubApiConstants.RESOURCE_CORE);
+    }
+
+    public boolean hasAvailableToken(String resource) {
+        long now = nowEpochSecond();
+        return tokens.stream().anyMatch(token -> {
+            Budget budget = budget(token, resource);
+            return !token.isRevoked(now) && (budget.remaining.get() > 0 || now >= budget.resetEpochSecond.get());
+        });
+    }
+
+    public int totalRemaining() {
+        return totalRemaining(GitHubApiConstants.RESOURCE_CORE);
+    }
+
+    /**
+     * Budget left in {@code resource} across the tokens currently in rotation.
+     */
+    public int totalRemaining(String resource) {
+        long now = nowEpochSecond();
+        return tokens.stream()
+                .filter(token -> !token.isRevoked(now))
+                .mapToInt(token -> Math.max(0, budget(token, resource).remaining.get()))
+                .sum();
+    }
+
+    public long earliestResetEpochSecond() {
+        return earliestResetEpochSecond(GitHubApiConstants.RESOURCE_CORE);
+    }
+
+    public long earliestResetEpochSecond(String resource) {
+        return tokens.stream()
+                .mapToLong(token -> budget(token, resource).resetEpochSecond.get())
+                .min()
+                .orElse(nowEpochSecond());
+    }
+
+    public LocalDateTime earliestReset(String resource) {
+        return toDateTime(earliestResetEpochSecond(resource));
+    }
+
+    public List<Token> tokens() {
+        return Collections.unmodifiableList(tokens);
+    }
+
+    public int size() {
+        return tokens.size();
+    }
+
+    private Budget budget(Token token, String resource) {
+        return token.budgets.computeIfAbsent(resource, name -> {
+            Budget budget = GitHubApiConstants.RESOURCE_SEARCH.equals(name)
+                    ? new Budget(DEFAULT_SEARCH_LIMIT, DEFAULT_SEARCH_WINDOW_SECONDS)
+                    : new Budget(DEFAULT_LIMIT, DEFAULT_WINDOW_SECONDS);
+            Gauge.builder("github.api.token.remaining", budget.remaining, AtomicInteger::get)
+                    .description("Requests left in the token's current rate-limit window")
+                    .tags("token", token.label, "resource", name)
+                    .register(meterRegistry);
+            return budget;
+        });
+    }
+
+    private static long nowEpochSecond() {
+        return System.currentTimeMillis() / 1000;
+    }
+
+    private static LocalDateTime toDateTime(long epochSecond) {
+        return LocalDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), ZoneOffset.UTC);
+    }
+
+    public static final class Token {
+
+        private final String label;
+        private final String value;
+        private final Map<String, Budget> budgets = new ConcurrentHashMap<>();
+        private volatile long revokedUntil;
+
+        private Token(String label, String value) {
+            this.label = label;
+            this.value = value;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        public int getRemaining() {
+            Budget core = budgets.get(GitHubApiConstants.RESOURCE_CORE);
+            return core != null ? core.remaining.get() : DEFAULT_LIMIT;
+        }
+
+        private boolean isRevoked(long now) {
+            return now < revokedUntil;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    private static final class Budget {
+
+        private final AtomicInteger limit;
+        private final AtomicInteger remaining;
+        private final AtomicLong resetEpochSecond;
+        private final long windowSeconds;
+
+        private Budget(int limit, long windowSeconds) {
+            this.limit = new AtomicInteger(limit);
+            this.remaining = new AtomicInteger(limit);
+            this.resetEpochSecond = new AtomicLong(nowEpochSecond() + windowSeconds);
+            this.windowSeconds = windowSeconds;
+        }
+
+        private boolean tryTake() {
+            while (true) {
+                int current = remaining.get();
+                if (current <= 0) {
+                    return false;
+                }
+                if (remaining.compareAndSet(current, current - 1)) {
+                    return true;
+                }
+            }
+        }
+
+        private void restoreIfReset(long now) {
+            long reset = resetEpochSecond.get();
+            if (now >= reset && resetEpochSecond.compareAndSet(reset, now + windowSeconds)) {
+                remaining.set(limit.get());
+            }
+        }
+    }
+}
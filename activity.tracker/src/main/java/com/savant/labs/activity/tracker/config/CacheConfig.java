@@ -0,0 +1,79 @@
+package com.savant.labs.activity.tracker.config;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.savant.labs.activity.tracker.cache.ActivityCache;
+import com.savant.labs.activity.tracker.cache.ActivityCacheKeys;
+import com.savant.labs.activity.tracker.cache.ActivityWeigher;
+import com.savant.labs.activity.tracker.cache.CompactActivity;
+import com.savant.labs.activity.tracker.cache.CompactActivityCache;
+import com.savant.labs.activity.tracker.constants.GitHubApiConstants;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.Collections;
+import java.util.concurrent.Executor;
+
+/**
+ * The caching advisor is ordered ahead of the resilience4j retry and circuit breaker
+ * aspects, so a cache hit returns before either of them records a call. That also puts the
+ * circuit-breaker fallback inside the cached call, so the cache is an {@link ActivityCache},
+ * which passes fallback activities through without storing them.
+ * Hit, miss, eviction and load metrics are published by actuator from the Caffeine stats.
+ * <p>
+ * With virtual threads the cache is built as an async cache whose loads run on the blocking
+ * executor. A synchronous Caffeine load runs inside {@code ConcurrentHashMap.compute}, and the
+ * monitor it holds would pin the calling virtual thread for the whole upstream fetch.
+ * <p>
+ * With {@code github.cache.compact} activities are held as {@link CompactActivity} and rebuilt on
+ * each read.
+ */
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+public class CacheConfig {
+
+    @Bean
+    public CacheManager cacheManager(GitHubConfig config,
+                                     @Qualifier(ExecutionConfig.BLOCKING_EXECUTOR) Executor blockingExecutor) {
+        boolean compact = config.getCache().isCompact();
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                return compact ? new CompactActivityCache(name, cache, isAllowNullValues())
+                        : new ActivityCache(name, cache, isAllowNullValues());
+            }
+
+            @Override
+            protected Cache adaptCaffeineCache(String name, AsyncCache<Object, Object> cache) {
+                return compact ? new CompactActivityCache(name, cache, isAllowNullValues())
+                        : new ActivityCache(name, cache, isAllowNullValues());
+            }
+        };
+        cacheManager.setCacheNames(Collections.emptyList());
+
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .expireAfterWrite(config.getCache().getTtl())
+                .maximumWeight(config.getCache().getMaxWeight().toBytes())
+                .weigher(new ActivityWeigher())
+                .recordStats();
+        if (config.getExecution().isVirtualThreads()) {
+            cacheManager.registerCustomCache(GitHubApiConstants.ACTIVITY_CACHE_NAME,
+                    builder.executor(blockingExecutor).buildAsync());
+        } else {
+            cacheManager.registerCustomCache(GitHubApiConstants.ACTIVITY_CACHE_NAME, builder.build());
+        }
+        return cacheManager;
+    }
+
+    @Bean(GitHubApiConstants.USERNAME_KEY_GENERATOR)
+    public KeyGenerator usernameKeyGenerator() {
+        return (target, method, params) -> ActivityCacheKeys.forUsername((String) params[0]);
+    }
+}
@@ -0,0 +1,44 @@
+package com.savant.labs.activity.tracker.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Executors behind {@code github.execution.virtual-threads}. Tomcat follows the same switch
+ * through {@code spring.threads.virtual.enabled}.
+ */
+@Configuration
+public class ExecutionConfig {
+
+    public static final String BLOCKING_EXECUTOR = "githubBlockingExecutor";
+    public static final String FAN_OUT_SCHEDULER = "fanOutScheduler";
+
+    /**
+     * Runs work that may block, such as cache loads. Virtual mode uses one virtual thread per task;
+     * platform mode uses a cached pool so blocking loads never land on the common ForkJoinPool.
+     */
+    @Bean(name = BLOCKING_EXECUTOR, destroyMethod = "shutdown")
+    public ExecutorService githubBlockingExecutor(GitHubConfig config) {
+        return config.getExecution().isVirtualThreads()
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("github-virtual-", 0).factory())
+                : Executors.newCachedThreadPool(Thread.ofPlatform().name("github-blocking-", 0).daemon().factory());
+    }
+
+    /**
+     * Scheduler the commit fan-out subscribes each repository on. Platform mode keeps the fan-out
+     * on the Netty event loop that completes the upstream call, as it is fully non-blocking.
+     */
+    @Bean(name = FAN_OUT_SCHEDULER, destroyMethod = "dispose")
+    public Scheduler fanOutScheduler(GitHubConfig config,
+                                     @Qualifier(BLOCKING_EXECUTOR) ExecutorService blockingExecutor) {
+        return config.getExecution().isVirtualThreads()
+                ? Schedulers.fromExecutorService(blockingExecutor, "github-fan-out")
+                : Schedulers.immediate();
+    }
+}
@@ -1,13 +1,25 @@
 package com.savant.labs.activity.tracker.config;
 
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
 import org.springframework.validation.annotation.Validated;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
 @Configuration
 @ConfigurationProperties(prefix = "github")
 @Validated
@@ -15,13 +27,16 @@ import org.springframework.validation.annotation.Validated;
 @Getter
 public class GitHubConfig {
 
-    @NotBlank(message = "GitHub token must not be blank")
     private String token;
 
+    // Additional tokens; requests are spread over these and the primary token
+    private List<String> tokens = new ArrayList<>();
+
     @NotBlank(message = "GitHub base URL must not be blank")
     private String baseUrl;
 
     @Positive(message = "Per page must be positive")
+    @Max(value = 100, message = "Per page must not exceed GitHub's maximum of 100")
     private int perPage = 30;
 
     @Positive(message = "Max commits must be positive")
@@ -33,6 +48,73 @@ public class GitHubConfig {
     @Positive(message = "Retry delay must be positive")
     private int retryDelayMs = 1000;
 
+    @NotNull(message = "API mode must not be null")
+    private ApiMode apiMode = ApiMode.REST;
+
+    // Repository pagination
+    @Valid
+    private Pagination pagination = new Pagination();
+
+    // Commit fan-out
+    @Valid
+    private FanOut fanOut = new FanOut();
+
+    // Rate-limit admission queue
+    @Valid
+    private RateLimit rateLimit = new RateLimit();
+
+    // Adaptive limit on in-flight upstream calls
+    @Valid
+    private Concurrency concurrency = new Concurrency();
+
+    // Retry budget shared by every retry layer
+    @Valid
+    private RetryBudget retryBudget = new RetryBudget();
+
+    // Sharing of identical in-flight upstream calls
+    @Valid
+    private Coalescing coalescing = new Coalescing();
+
+    // Hedged commit fetches
+    @Valid
+    private Hedging hedging = new Hedging();
+
+    // Thread execution mode
+    @Valid
+    private Execution execution = new Execution();
+
+    // Activity cache
+    @Valid
+    private Cache cache = new Cache();
+
+    // Serialized (and gzip-ed) activity responses
+    @Valid
+    private ResponseCache responseCache = new ResponseCache();
+
+    // Background refresh of hot cache entries before they expire
+    @Valid
+    private RefreshAhead refreshAhead = new RefreshAhead();
+
+    // Batch activity endpoint
+    @Valid
+    private Batch batch = new Batch();
+
+    // Persistent activity snapshots for warm restarts
+    @Valid
+    private Snapshot snapshot = new Snapshot();
+
+    // Conditional (ETag / Last-Modified) requests
+    @Valid
+    private ConditionalRequests conditionalRequests = new ConditionalRequests();
+
+    // Outbound connection pool and HTTP client
+    @Valid
+    private Connection connection = new Connection();
+
+    // Decoding of upstream response bodies
+    @Valid
+    private Decoding decoding = new Decoding();
+
     // API Endpoints
     private Api api = new Api();
 
@@ -45,18 +127,303 @@ public class GitHubConfig {
     // Log Messages
     private Log log = new Log();
 
+    @AssertTrue(message = "At least one GitHub token must be configured (github.token or github.tokens)")
+    public boolean isTokenConfigured() {
+        return (token != null && !token.isBlank()) || tokens.stream().anyMatch(t -> t != null && !t.isBlank());
+    }
+
+    public enum ApiMode {
+        REST,
+        GRAPHQL
+    }
+
+    @Getter
+    @Setter
+    public static class Pagination {
+        @Positive(message = "Max pages must be positive")
+        private int maxPages = 10;
+
+        @Positive(message = "Max repositories must be positive")
+        private int maxRepositories = 1000;
+
+        @Positive(message = "Page prefetch concurrency must be positive")
+        private int concurrency = 4;
+    }
+
+    @Getter
+    @Setter
+    public static class FanOut {
+        @Positive(message = "Fan-out concurrency must be positive")
+        private int concurrency = 8;
+        private FanOutOrdering ordering = FanOutOrdering.INPUT;
+
+        // Reuse a previous activity's commits for repositories not pushed to since
+        private boolean incremental = true;
+    }
+
+    public enum FanOutOrdering {
+        INPUT,
+        COMPLETION
+    }
+
+    @Getter
+    @Setter
+    public static class RateLimit {
+        @PositiveOrZero(message = "Rate limit queue capacity must not be negative")
+        private int queueCapacity = 100;
+
+        @NotNull(message = "Rate limit max wait must not be null")
+        private Duration maxWait = Duration.ofSeconds(30);
+
+        private boolean seedOnStartup = true;
+    }
+
+    @Getter
+    @Setter
+    public static class Concurrency {
+        @Positive(message = "Initial concurrency limit must be positive")
+        private int initialLimit = 8;
+
+        @Positive(message = "Minimum concurrency limit must be positive")
+        private int minLimit = 1;
+
+        @Positive(message = "Maximum concurrency limit must be positive")
+        private int maxLimit = 64;
+
+        @DecimalMin(value = "0.1", message = "Concurrency backoff ratio must be at least 0.1")
+        @DecimalMax(value = "0.9", message = "Concurrency backoff ratio must be at most 0.9")
+        private double backoffRatio = 0.5;
+
+        @NotNull(message = "Concurrency latency threshold must not be null")
+        private Duration latencyThreshold = Duration.ofSeconds(2);
+
+        @NotNull(message = "Secondary limit backoff must not be null")
+        private Duration secondaryLimitBackoff = Duration.ofSeconds(60);
+
+        @PositiveOrZero(message = "Concurrency queue capacity must not be negative")
+        private int queueCapacity = 1000;
+    }
+
+    @Getter
+    @Setter
+    public static class RetryBudget {
+        @DecimalMin(value = "0.0", message = "Retry budget ratio must not be negative")
+        @DecimalMax(value = "1.0", message = "Retry budget ratio must not exceed 1")
+        private double ratio = 0.1;
+
+        @Positive(message = "Retry budget max tokens must be positive")
+        private int maxTokens = 20;
+    }
+
+    @Getter
+    @Setter
+    public static class Coalescing {
+        private boolean enabled = true;
+    }
+
+    @Getter
+    @Setter
+    public static class Hedging {
+        private boolean enabled = false;
+
+        @DecimalMin(value = "0.5", message = "Hedging percentile must be at least 0.5")
+        @DecimalMax(value = "0.999", message = "Hedging percentile must be at most 0.999")
+        private double percentile = 0.95;
+
+        @Positive(message = "Hedging latency window must be positive")
+        private int window = 512;
+
+        @Positive(message = "Hedging minimum samples must be positive")
+        private int minSamples = 20;
+
+        @NotNull(message = "Hedging minimum delay must not be null")
+        private Duration minDelay = Duration.ofMillis(50);
+
+        @DecimalMin(value = "0.0", message = "Hedge ratio must not be negative")
+        @DecimalMax(value = "1.0", message = "Hedge ratio must not exceed 1")
+        private double maxRatio = 0.05;
+
+        @Positive(message = "Hedge burst must be positive")
+        private int maxBurst = 10;
+
+        @PositiveOrZero(message = "Hedging minimum remaining requests must not be negative")
+        private int minRemainingRequests = 500;
+    }
+
+    @Getter
+    @Setter
+    public static class Execution {
+        private boolean virtualThreads = false;
+        private boolean pinningDetection = true;
+
+        @NotNull(message = "Pinning threshold must not be null")
+        private Duration pinningThreshold = Duration.ofMillis(20);
+    }
+
+    @Getter
+    @Setter
+    public static class Cache {
+        @NotNull(message = "Cache TTL must not be null")
+        private Duration ttl = Duration.ofMinutes(10);
+
+        @NotNull(message = "Cache max weight must not be null")
+        private DataSize maxWeight = DataSize.ofMegabytes(64);
+
+        // Hold cached activity in its compact form (deduplicated strings, derived URLs, packed SHAs)
+        private boolean compact = true;
+    }
+
+    @Getter
+    @Setter
+    public static class ResponseCache {
+        private boolean enabled = true;
+
+        // Upper bound of the Cache-Control max-age; never more than the entry's remaining TTL
+        @NotNull(message = "Response cache max age must not be null")
+        private Duration maxAge = Duration.ofMinutes(1);
+
+        @NotNull(message = "Response cache gzip minimum size must not be null")
+        private DataSize gzipMinSize = DataSize.ofKilobytes(1);
+
+        @NotNull(message = "Response cache max weight must not be null")
+        private DataSize maxWeight = DataSize.ofMegabytes(32);
+    }
+
+    @Getter
+    @Setter
+    public static class RefreshAhead {
+        private boolean enabled = false;
+
+        @NotNull(message = "Refresh-ahead interval must not be null")
+        private Duration interval = Duration.ofSeconds(5);
+
+        @NotNull(message = "Refresh-ahead window must not be null")
+        private Duration window = Duration.ofMinutes(1);
+
+        @Positive(message = "Refresh-ahead max refreshes per tick must be positive")
+        private int maxRefreshesPerTick = 5;
+
+        @Positive(message = "Refresh-ahead minimum frequency must be positive")
+        private int minFrequency = 3;
+
+        @Positive(message = "Refresh-ahead max tracked usernames must be positive")
+        private int maxTracked = 10000;
+
+        @PositiveOrZero(message = "Refresh-ahead minimum remaining requests must not be negative")
+        private int minRemainingRequests = 1000;
+    }
+
+    @Getter
+    @Setter
+    public static class Batch {
+        @Positive(message = "Batch max usernames must be positive")
+        private int maxUsernames = 100;
+
+        // Cache misses fetched at once across all batches
+        @Positive(message = "Batch concurrency must be positive")
+        private int concurrency = 8;
+
+        // Cache misses fetched at once for a single batch
+        @Positive(message = "Batch per-request concurrency must be positive")
+        private int perRequestConcurrency = 4;
+
+        @NotNull(message = "Batch per-user timeout must not be null")
+        private Duration timeout = Duration.ofSeconds(30);
+    }
+
+    @Getter
+    @Setter
+    public static class Snapshot {
+        private boolean enabled = false;
+
+        @NotBlank(message = "Snapshot path must not be blank")
+        private String path = "data/activity-snapshots.seg";
+
+        @NotNull(message = "Snapshot max size must not be null")
+        private DataSize maxSize = DataSize.ofMegabytes(64);
+
+        @NotNull(message = "Snapshot max age must not be null")
+        private Duration maxAge = Duration.ofHours(1);
+    }
+
+    @Getter
+    @Setter
+    public static class ConditionalRequests {
+        private boolean enabled = true;
+
+        @Positive(message = "Conditional request store size must be positive")
+        private int maxEntries = 5000;
+    }
+
+    @Getter
+    @Setter
+    public static class Connection {
+        @NotNull(message = "Connect timeout must not be null")
+        private Duration connectTimeout = Duration.ofSeconds(5);
+
+        // From sending a request until its response is complete
+        @NotNull(message = "Response timeout must not be null")
+        private Duration responseTimeout = Duration.ofSeconds(10);
+
+        @Positive(message = "Max connections must be positive")
+        private int maxConnections = 100;
+
+        @Positive(message = "Pending acquire max count must be positive")
+        private int pendingAcquireMaxCount = 1000;
+
+        @NotNull(message = "Pending acquire timeout must not be null")
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(10);
+
+        @NotNull(message = "Max idle time must not be null")
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+
+        @NotNull(message = "Max life time must not be null")
+        private Duration maxLifeTime = Duration.ofMinutes(5);
+
+        @NotNull(message = "Eviction interval must not be null")
+        private Duration evictInBackground = Duration.ofSeconds(30);
+
+        // Negotiated via ALPN, so only for an https base URL; falls back to HTTP/1.1
+        private boolean http2 = true;
+
+        private boolean compression = true;
+
+        private boolean metrics = true;
+
+        // Connections opened to the base URL once the application is ready; 0 disables warm-up
+        @PositiveOrZero(message = "Warm-up connections must not be negative")
+        private int warmupConnections = 4;
+    }
+
+    @Getter
+    @Setter
+    public static class Decoding {
+        // Largest single element (one repository or commit) of a streamed list response
+        @NotNull(message = "Decoding max element size must not be null")
+        private DataSize maxElementSize = DataSize.ofKilobytes(256);
+
+        // Buffer limit for bodies decoded whole, such as GraphQL responses and error bodies
+        @NotNull(message = "Decoding max in-memory size must not be null")
+        private DataSize maxInMemorySize = DataSize.ofMegabytes(2);
+    }
+
     @Getter
     @Setter
     public static class Api {
         private String usersReposEndpoint;
         private String repoCommitsEndpoint;
+        private String graphqlEndpoint = "/graphql";
+        private String rateLimitEndpoint = "/rate_limit";
     }
 
     @Getter
     @Setter
     public static class Headers {
-        private String rateLimitRemaining;
-        private String rateLimitReset;
+        private String rateLimitRemaining = "X-RateLimit-Remaining";
+        private String rateLimitReset = "X-RateLimit-Reset";
+        private String rateLimitLimit = "X-RateLimit-Limit";
+        private String rateLimitResource = "X-RateLimit-Resource";
+        private String retryAfter = "Retry-After";
     }
 
     @Getter
@@ -0,0 +1,58 @@
+package com.savant.labs.activity.tracker.config;
+
+import com.savant.labs.activity.tracker.client.RetryBudget;
+import com.savant.labs.activity.tracker.client.RetryClassifier;
+import com.savant.labs.activity.tracker.constants.GitHubApiConstants;
+import io.github.resilience4j.common.retry.configuration.RetryConfigCustomizer;
+import io.github.resilience4j.core.registry.EntryAddedEvent;
+import io.github.resilience4j.core.registry.EntryRemovedEvent;
+import io.github.resilience4j.core.registry.EntryReplacedEvent;
+import io.github.resilience4j.core.registry.RegistryEventConsumer;
+import io.github.resilience4j.retry.Retry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * The {@code github-api} retry wraps a whole activity fetch, whose upstream calls already
+ * retry on their own. Both layers decide with the same {@link RetryClassifier} and pay from
+ * the same {@link RetryBudget}, so an outage cannot turn one request into
+ * {@code max-attempts} times the per-call retries.
+ */
+@Configuration
+public class ResilienceConfig {
+
+    @Bean
+    public RetryConfigCustomizer githubApiRetryCustomizer(RetryClassifier retryClassifier, RetryBudget retryBudget) {
+        return RetryConfigCustomizer.of(GitHubApiConstants.RESILIENCE_INSTANCE, builder -> builder
+                .retryOnException(throwable -> retryClassifier.isRetryable(throwable) && retryBudget.tryAcquire()));
+    }
+
+    /**
+     * resilience4j asks the exception predicate before it checks for a last attempt, so the retry
+     * withdrawn for the final failure never runs; it is refunded when the retry gives up.
+     */
+    @Bean
+    public RegistryEventConsumer<Retry> githubApiRetryBudgetRefund(RetryBudget retryBudget) {
+        return new RegistryEventConsumer<>() {
+            @Override
+            public void onEntryAddedEvent(EntryAddedEvent<Retry> event) {
+                refundOnExhaustion(event.getAddedEntry(), retryBudget);
+            }
+
+            @Override
+            public void onEntryRemovedEvent(EntryRemovedEvent<Retry> event) {
+            }
+
+            @Override
+            public void onEntryReplacedEvent(EntryReplacedEvent<Retry> event) {
+                refundOnExhaustion(event.getNewEntry(), retryBudget);
+            }
+        };
+    }
+
+    private static void refundOnExhaustion(Retry retry, RetryBudget retryBudget) {
+        if (GitHubApiConstants.RESILIENCE_INSTANCE.equals(retry.getName())) {
+            retry.getEventPublisher().onError(event -> retryBudget.refund());
+        }
+    }
+}
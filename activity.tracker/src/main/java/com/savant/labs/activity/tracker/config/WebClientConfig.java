@@ -1,34 +1,63 @@
 package com.savant.labs.activity.tracker.config;
 
 import io.netty.channel.ChannelOption;
-import io.netty.handler.timeout.ReadTimeoutHandler;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
 import reactor.netty.http.client.HttpClient;
-
-import java.time.Duration;
-import java.util.concurrent.TimeUnit;
-
-import static com.savant.labs.activity.tracker.constants.GitHubApiConstants.DEFAULT_CONNECT_TIMEOUT_MS;
-import static com.savant.labs.activity.tracker.constants.GitHubApiConstants.DEFAULT_READ_TIMEOUT_MS;
+import reactor.netty.resources.ConnectionProvider;
 
 @Configuration
 public class WebClientConfig {
 
+    public static final String CONNECTION_PROVIDER_NAME = "github";
+
+    /**
+     * Pool used only for GitHub calls, so its limits and metrics are not shared with other clients.
+     * Callers beyond {@code max-connections} wait in a bounded queue for at most
+     * {@code pending-acquire-timeout}.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider githubConnectionProvider(GitHubConfig config) {
+        GitHubConfig.Connection connection = config.getConnection();
+        return ConnectionProvider.builder(CONNECTION_PROVIDER_NAME)
+                .maxConnections(connection.getMaxConnections())
+                .pendingAcquireMaxCount(connection.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(connection.getPendingAcquireTimeout())
+                .maxIdleTime(connection.getMaxIdleTime())
+                .maxLifeTime(connection.getMaxLifeTime())
+                .evictInBackground(connection.getEvictInBackground())
+                .metrics(connection.isMetrics())
+                .build();
+    }
+
+    /**
+     * The response timeout is armed per request, so it also holds for HTTP/2 streams sharing a
+     * connection, and an idle pooled connection is not closed by it.
+     */
     @Bean
-    public WebClient webClient(GitHubConfig config) {
-        HttpClient httpClient = HttpClient.create()
-                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, DEFAULT_CONNECT_TIMEOUT_MS)
-                .responseTimeout(Duration.ofMillis(DEFAULT_READ_TIMEOUT_MS))
-                .doOnConnected(conn -> conn.addHandlerLast(
-                        new ReadTimeoutHandler(DEFAULT_READ_TIMEOUT_MS, TimeUnit.MILLISECONDS)));
+    public HttpClient githubHttpClient(GitHubConfig config, ConnectionProvider githubConnectionProvider) {
+        GitHubConfig.Connection connection = config.getConnection();
+        HttpClient httpClient = HttpClient.create(githubConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, Math.toIntExact(connection.getConnectTimeout().toMillis()))
+                .responseTimeout(connection.getResponseTimeout())
+                .compress(connection.isCompression());
+        if (connection.isHttp2() && config.getBaseUrl().startsWith("https:")) {
+            httpClient = httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11).secure();
+        }
+        return httpClient;
+    }
 
+    @Bean
+    public WebClient webClient(GitHubConfig config, HttpClient githubHttpClient) {
         return WebClient.builder()
-                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .clientConnector(new ReactorClientHttpConnector(githubHttpClient))
+                .codecs(codecs -> codecs.defaultCodecs()
+                        .maxInMemorySize(Math.toIntExact(config.getDecoding().getMaxInMemorySize().toBytes())))
                 .defaultHeader("Accept", "application/vnd.github.v3+json")
                 .defaultHeader("User-Agent", "GitHub-Activity-Connector/1.0")
                 .build();
     }
-}
\ No newline at end of file
+}
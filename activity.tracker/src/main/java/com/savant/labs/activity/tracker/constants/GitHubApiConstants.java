@@ -4,20 +4,22 @@ public final class GitHubApiConstants {
 
     private GitHubApiConstants() {}
 
-    public static final int DEFAULT_CONNECT_TIMEOUT_MS = 5000; // 5 seconds
-    public static final int DEFAULT_READ_TIMEOUT_MS = 10000;
     public static final String RATE_LIMIT_EXCEEDED = "RATE_LIMIT_EXCEEDED";
 
     // HTTP Status Codes
     public static final int HTTP_UNAUTHORIZED = 401;
     public static final int HTTP_FORBIDDEN = 403;
     public static final int HTTP_NOT_FOUND = 404;
+    public static final int HTTP_TOO_MANY_REQUESTS = 429;
 
     // Error Codes
     public static final String ERROR_CODE_ACCESS_FORBIDDEN = "ACCESS_FORBIDDEN";
     public static final String ERROR_CODE_CLIENT_ERROR = "CLIENT_ERROR";
     public static final String ERROR_CODE_SERVER_ERROR = "SERVER_ERROR";
     public static final String ERROR_CODE_API_ERROR = "API_ERROR";
+    public static final String ERROR_CODE_SECONDARY_RATE_LIMIT = "SECONDARY_RATE_LIMIT";
+    public static final String ERROR_CODE_VALIDATION = "VALIDATION_ERROR";
+    public static final String ERROR_CODE_TIMEOUT = "TIMEOUT";
 
     // Rate Limit
     public static final String RATE_LIMIT_ZERO = "0";
@@ -25,6 +27,24 @@ public final class GitHubApiConstants {
     public static final int DEFAULT_RATE_LIMIT_REMAINING = 0;
     public static final long RATE_LIMIT_RESET_BUFFER_HOURS = 1L;
 
+    // Rate Limit Resources
+    public static final String RESOURCE_CORE = "core";
+    public static final String RESOURCE_GRAPHQL = "graphql";
+    public static final String RESOURCE_SEARCH = "search";
+
+    // Caching
+    public static final String ACTIVITY_CACHE_NAME = "github-activity";
+    public static final String USERNAME_KEY_GENERATOR = "usernameKeyGenerator";
+
+    // Resilience4j instance shared by the annotated and reactive paths
+    public static final String RESILIENCE_INSTANCE = "github-api";
+
+    // Hedged endpoints (latency history and metric tag)
+    public static final String HEDGE_ENDPOINT_COMMITS = "commits";
+
+    // GitHub login: alphanumerics and single inner hyphens, at most 39 characters
+    public static final String USERNAME_PATTERN = "^[a-zA-Z0-9](?:[a-zA-Z0-9]|-(?=[a-zA-Z0-9])){0,38}$";
+
     // Default Values
     public static final String DEFAULT_BRANCH_FALLBACK = "main";
     public static final String UNKNOWN_USERNAME = "unknown";
@@ -36,6 +56,7 @@ public final class GitHubApiConstants {
     public static final String PARAM_REPO_FULL_NAME = "repoFullName";
     public static final String PARAM_BRANCH = "branch";
     public static final String PARAM_MAX_COMMITS = "maxCommits";
+    public static final String QUERY_SINCE = "since";
 
     // Authorization
     public static final String AUTHORIZATION_HEADER = "Authorization";
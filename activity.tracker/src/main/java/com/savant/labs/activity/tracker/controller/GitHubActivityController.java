@@ -1,8 +1,16 @@
 package com.savant.labs.activity.tracker.controller;
 
+import com.savant.labs.activity.tracker.cache.ActivityResponseCache;
+import com.savant.labs.activity.tracker.cache.FieldProjection;
+import com.savant.labs.activity.tracker.cache.RefreshAheadScheduler;
+import com.savant.labs.activity.tracker.constants.GitHubApiConstants;
 import com.savant.labs.activity.tracker.exception.GitHubApiException;
 import com.savant.labs.activity.tracker.exception.GitHubConnectorException;
+import com.savant.labs.activity.tracker.models.ActivitySummary;
+import com.savant.labs.activity.tracker.models.BatchActivityRequest;
+import com.savant.labs.activity.tracker.models.BatchActivityResult;
 import com.savant.labs.activity.tracker.models.RepositoryActivity;
+import com.savant.labs.activity.tracker.service.IBatchActivityService;
 import com.savant.labs.activity.tracker.service.IGitHubActivityService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -11,16 +19,27 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicInteger;
 
 @RestController
 @RequestMapping("/api/v1/github")
@@ -29,39 +48,60 @@ import org.springframework.web.bind.annotation.RestController;
 @Slf4j
 public class GitHubActivityController {
 
+    private static final String USERNAME_PATTERN = GitHubApiConstants.USERNAME_PATTERN;
+
     private final IGitHubActivityService activityService;
+    private final IBatchActivityService batchActivityService;
+    private final RefreshAheadScheduler refreshAheadScheduler;
+    private final ActivityResponseCache responseCache;
 
     @Autowired
-    public GitHubActivityController(IGitHubActivityService activityService) {
+    public GitHubActivityController(IGitHubActivityService activityService,
+                                    IBatchActivityService batchActivityService,
+                                    RefreshAheadScheduler refreshAheadScheduler,
+                                    ActivityResponseCache responseCache) {
         this.activityService = activityService;
+        this.batchActivityService = batchActivityService;
+        this.refreshAheadScheduler = refreshAheadScheduler;
+        this.responseCache = responseCache;
     }
 
     @GetMapping("/activity/{username}")
     @Operation(summary = "Fetch GitHub user activity",
-            description = "Retrieves public repositories and recent commits for a GitHub user")
+            description = "Retrieves public repositories and recent commits for a GitHub user. Responses carry an "
+                    + "ETag; a request whose If-None-Match still matches gets a 304. fields= limits the response "
+                    + "to the given comma-separated paths, e.g. repositories.name,repositories.recentCommits.sha")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved user activity",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = RepositoryActivity.class))),
-            @ApiResponse(responseCode = "400", description = "Invalid username format"),
+            @ApiResponse(responseCode = "304", description = "Activity unchanged since the given ETag"),
+            @ApiResponse(responseCode = "400", description = "Invalid username format or field path"),
             @ApiResponse(responseCode = "404", description = "GitHub user not found"),
             @ApiResponse(responseCode = "429", description = "Rate limit exceeded"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<RepositoryActivity> fetchUserActivity(
+    public ResponseEntity<byte[]> fetchUserActivity(
             @Parameter(description = "GitHub username", example = "username")
             @PathVariable
             @NotBlank(message = "Username cannot be blank")
-            @Pattern(regexp = "^[a-zA-Z0-9](?:[a-zA-Z0-9]|-(?=[a-zA-Z0-9])){0,38}$",
-                    message = "Invalid GitHub username format")
-            String username) {
+            @Pattern(regexp = USERNAME_PATTERN, message = "Invalid GitHub username format")
+            String username,
+            @Parameter(description = "Comma-separated JSON paths to include", example = "repositories.name,repositories.pushed_at")
+            @RequestParam(required = false)
+            String fields,
+            @RequestHeader HttpHeaders headers) {
 
         try {
             log.info("REST API: Fetching activity for user: {}", username);
+            FieldProjection projection = FieldProjection.parse(fields);
+            refreshAheadScheduler.recordAccess(username);
 
-            RepositoryActivity activity = activityService.fetchUserActivity(username);
-
-            return ResponseEntity.ok(activity);
+            if (!projection.isAll()) {
+                return responseCache.respond(username, activityService.fetchUserActivity(username), projection, headers);
+            }
+            return responseCache.respond(username, headers)
+                    .orElseGet(() -> responseCache.respond(username, activityService.fetchUserActivity(username), headers));
 
         } catch (GitHubConnectorException e) {
             log.error("Failed to fetch activity for user: {}. Error: {}", username, e.getMessage());
@@ -69,6 +109,118 @@ public class GitHubActivityController {
         }
     }
 
+    @GetMapping("/activity/{username}/reactive")
+    @Operation(summary = "Fetch GitHub user activity without blocking",
+            description = "Same result as /activity/{username}, served asynchronously so no request thread "
+                    + "is held while GitHub responds")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved user activity",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = RepositoryActivity.class))),
+            @ApiResponse(responseCode = "304", description = "Activity unchanged since the given ETag"),
+            @ApiResponse(responseCode = "400", description = "Invalid username format or field path"),
+            @ApiResponse(responseCode = "404", description = "GitHub user not found"),
+            @ApiResponse(responseCode = "429", description = "Rate limit exceeded"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public Mono<ResponseEntity<byte[]>> fetchUserActivityReactive(
+            @Parameter(description = "GitHub username", example = "username")
+            @PathVariable
+            @NotBlank(message = "Username cannot be blank")
+            @Pattern(regexp = USERNAME_PATTERN, message = "Invalid GitHub username format")
+            String username,
+            @Parameter(description = "Comma-separated JSON paths to include", example = "repositories.name,repositories.pushed_at")
+            @RequestParam(required = false)
+            String fields,
+            @RequestHeader HttpHeaders headers) {
+
+        log.info("REST API: Fetching activity reactively for user: {}", username);
+        FieldProjection projection = FieldProjection.parse(fields);
+        refreshAheadScheduler.recordAccess(username);
+
+        Mono<ResponseEntity<byte[]>> cached = projection.isAll()
+                ? Mono.justOrEmpty(responseCache.respond(username, headers))
+                : Mono.empty();
+        return cached
+                .switchIfEmpty(Mono.defer(() -> activityService.fetchUserActivityReactive(username)
+                        .map(activity -> responseCache.respond(username, activity, projection, headers))))
+                .onErrorMap(GitHubConnectorException.class, e -> {
+                    log.error("Failed to fetch activity for user: {}. Error: {}", username, e.getMessage());
+                    return new GitHubApiException(e.getMessage(), e.getErrorCode(), e.getHttpStatus(), e);
+                });
+    }
+
+    @GetMapping(value = "/activity/{username}/stream",
+            produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    @Operation(summary = "Stream GitHub user activity",
+            description = "Streams each repository with its recent commits as soon as they arrive, "
+                    + "followed by a summary record with totalRepositories and totalCommitsFetched")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Repositories followed by an activity summary",
+                    content = {
+                            @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE),
+                            @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE)
+                    }),
+            @ApiResponse(responseCode = "400", description = "Invalid username format"),
+            @ApiResponse(responseCode = "404", description = "GitHub user not found"),
+            @ApiResponse(responseCode = "429", description = "Rate limit exceeded")
+    })
+    public Flux<Object> streamUserActivity(
+            @Parameter(description = "GitHub username", example = "username")
+            @PathVariable
+            @NotBlank(message = "Username cannot be blank")
+            @Pattern(regexp = USERNAME_PATTERN, message = "Invalid GitHub username format")
+            String username) {
+
+        log.info("REST API: Streaming activity for user: {}", username);
+
+        AtomicInteger totalRepositories = new AtomicInteger();
+        AtomicInteger totalCommits = new AtomicInteger();
+
+        return activityService.streamUserActivity(username)
+                .doOnNext(repo -> {
+                    totalRepositories.incrementAndGet();
+                    totalCommits.addAndGet(repo.getRecentCommits() != null ? repo.getRecentCommits().size() : 0);
+                })
+                .cast(Object.class)
+                .concatWith(Mono.fromSupplier(() ->
+                        new ActivitySummary(username, totalRepositories.get(), totalCommits.get())))
+                .onErrorMap(GitHubConnectorException.class, e -> {
+                    log.error("Failed to stream activity for user: {}. Error: {}", username, e.getMessage());
+                    return new GitHubApiException(e.getMessage(), e.getErrorCode(), e.getHttpStatus(), e);
+                });
+    }
+
+    @PostMapping(value = "/activity/batch",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "Fetch GitHub activity for many users",
+            description = "Returns one result per distinct username. Cached activity is returned first, the rest "
+                    + "as it is fetched; a user that cannot be fetched gets an error result instead of failing the batch")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Per-user results, in completion order",
+                    content = {
+                            @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                                    schema = @Schema(implementation = BatchActivityResult.class)),
+                            @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+                    }),
+            @ApiResponse(responseCode = "400", description = "Empty or oversized batch")
+    })
+    public Flux<BatchActivityResult> fetchBatchActivity(@Valid @RequestBody BatchActivityRequest request) {
+        log.info("REST API: Fetching batch activity for {} usernames", request.getUsernames().size());
+
+        return batchActivityService.fetchBatchActivity(request.getUsernames())
+                .doOnNext(result -> {
+                    if (result.getStatus() == BatchActivityResult.Status.OK) {
+                        refreshAheadScheduler.recordAccess(result.getUsername());
+                    }
+                })
+                .onErrorMap(GitHubConnectorException.class, e -> {
+                    log.error("Failed to fetch batch activity. Error: {}", e.getMessage());
+                    return new GitHubApiException(e.getMessage(), e.getErrorCode(), e.getHttpStatus(), e);
+                });
+    }
+
     @GetMapping("/health")
     @Operation(summary = "Health check", description = "Check if the GitHub connector is healthy")
     public ResponseEntity<String> health() {
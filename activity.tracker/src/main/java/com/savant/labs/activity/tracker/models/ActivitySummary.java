@@ -0,0 +1,30 @@
+package com.savant.labs.activity.tracker.models;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Closing record of a streamed activity response.
+ */
+@Getter
+@Setter
+public class ActivitySummary {
+
+    private String username;
+    private LocalDateTime fetchedAt;
+    private Integer totalRepositories;
+    private Integer totalCommitsFetched;
+
+    public ActivitySummary() {
+        this.fetchedAt = LocalDateTime.now();
+    }
+
+    public ActivitySummary(String username, int totalRepositories, int totalCommitsFetched) {
+        this();
+        this.username = username;
+        this.totalRepositories = totalRepositories;
+        this.totalCommitsFetched = totalCommitsFetched;
+    }
+}
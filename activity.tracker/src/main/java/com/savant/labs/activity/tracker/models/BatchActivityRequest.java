@@ -0,0 +1,22 @@
+package com.savant.labs.activity.tracker.models;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class BatchActivityRequest {
+
+    @NotEmpty(message = "Usernames must not be empty")
+    private List<String> usernames;
+
+    public BatchActivityRequest() {
+    }
+
+    public BatchActivityRequest(List<String> usernames) {
+        this.usernames = usernames;
+    }
+}
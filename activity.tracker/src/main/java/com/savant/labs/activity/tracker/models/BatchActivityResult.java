@@ -0,0 +1,50 @@
+package com.savant.labs.activity.tracker.models;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Outcome for one username of a batch activity request. Either {@code activity} is set, or
+ * {@code errorCode}, {@code httpStatus} and {@code message} describe why it could not be fetched.
+ */
+@Getter
+@Setter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchActivityResult {
+
+    public enum Status {
+        OK,
+        ERROR
+    }
+
+    private String username;
+    private Status status;
+    private Boolean cached;
+    private RepositoryActivity activity;
+    private String errorCode;
+    private Integer httpStatus;
+    private String message;
+
+    public BatchActivityResult() {
+    }
+
+    public static BatchActivityResult success(String username, RepositoryActivity activity, boolean cached) {
+        BatchActivityResult result = new BatchActivityResult();
+        result.username = username;
+        result.status = Status.OK;
+        result.cached = cached;
+        result.activity = activity;
+        return result;
+    }
+
+    public static BatchActivityResult failure(String username, String errorCode, int httpStatus, String message) {
+        BatchActivityResult result = new BatchActivityResult();
+        result.username = username;
+        result.status = Status.ERROR;
+        result.errorCode = errorCode;
+        result.httpStatus = httpStatus;
+        result.message = message;
+        return result;
+    }
+}
@@ -66,6 +66,27 @@ public class GitHubRepository {
         this.fullName = fullName;
     }
 
+    /**
+     * Returns a copy carrying {@code recentCommits}. Fetched repositories can be shared through
+     * single-flight and conditional replay, so they are copied rather than modified.
+     */
+    public GitHubRepository withRecentCommits(List<GitHubCommit> recentCommits) {
+        GitHubRepository copy = new GitHubRepository(id, name, fullName);
+        copy.htmlUrl = htmlUrl;
+        copy.description = description;
+        copy.createdAt = createdAt;
+        copy.updatedAt = updatedAt;
+        copy.pushedAt = pushedAt;
+        copy.language = language;
+        copy.stargazersCount = stargazersCount;
+        copy.watchersCount = watchersCount;
+        copy.forksCount = forksCount;
+        copy.defaultBranch = defaultBranch;
+        copy.owner = owner;
+        copy.recentCommits = recentCommits;
+        return copy;
+    }
+
     @Override
     public String toString() {
         return "GitHubRepository{" +
@@ -1,5 +1,6 @@
 package com.savant.labs.activity.tracker.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.Getter;
@@ -24,6 +25,10 @@ public class RepositoryActivity {
     private Integer totalRepositories;
     private Integer totalCommitsFetched;
 
+    // Placeholder returned while the circuit is open; never cached or stored as a snapshot
+    @JsonIgnore
+    private boolean fallback;
+
     public RepositoryActivity() {
         this.fetchedAt = LocalDateTime.now();
     }
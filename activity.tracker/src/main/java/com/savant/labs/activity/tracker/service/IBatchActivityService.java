@@ -0,0 +1,9 @@
+package com.savant.labs.activity.tracker.service;
+
+import com.savant.labs.activity.tracker.models.BatchActivityResult;
+import reactor.core.publisher.Flux;
+import java.util.List;
+
+public interface IBatchActivityService {
+    Flux<BatchActivityResult> fetchBatchActivity(List<String> usernames);
+}
@@ -1,9 +1,14 @@
 package com.savant.labs.activity.tracker.service;
 
 import com.savant.labs.activity.tracker.exception.GitHubConnectorException;
+import com.savant.labs.activity.tracker.models.GitHubRepository;
 import com.savant.labs.activity.tracker.models.RepositoryActivity;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 public interface IGitHubActivityService {
     RepositoryActivity fetchUserActivity(String username) throws GitHubConnectorException;
+    Mono<RepositoryActivity> fetchUserActivityReactive(String username);
+    Mono<RepositoryActivity> refreshUserActivity(String username);
+    Flux<GitHubRepository> streamUserActivity(String username);
 }
-
@@ -2,12 +2,41 @@ package com.savant.labs.activity.tracker.service;
 
 import com.savant.labs.activity.tracker.models.GitHubCommit;
 import com.savant.labs.activity.tracker.models.GitHubRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 public interface IGitHubApiClientService {
     CompletableFuture<List<GitHubRepository>> fetchRepositoriesAsync(String username);
     CompletableFuture<List<GitHubCommit>> fetchCommitsAsync(String repoFullName, String branch);
-}
+    Mono<List<GitHubRepository>> fetchRepositories(String username);
+
+    /**
+     * The repositories of {@link #fetchRepositories(String)}, emitted as they are decoded so callers
+     * can start on the first ones while later pages are still loading.
+     */
+    default Flux<GitHubRepository> streamRepositories(String username) {
+        return fetchRepositories(username).flatMapIterable(repositories -> repositories);
+    }
+
+    Mono<List<GitHubCommit>> fetchCommits(String repoFullName, String branch);
 
+    /**
+     * Fetches the branch's commits made after {@code since} (UTC). Clients that cannot filter by
+     * date fetch the recent commits instead, which callers must merge the same way.
+     */
+    default Mono<List<GitHubCommit>> fetchCommitsSince(String repoFullName, String branch, LocalDateTime since) {
+        return fetchCommits(repoFullName, branch);
+    }
+
+    /**
+     * Whether {@link #fetchRepositories(String)} already populates each repository's recent commits,
+     * so the commit fan-out can be skipped.
+     */
+    default boolean includesRecentCommits() {
+        return false;
+    }
+}
@@ -5,7 +5,10 @@ import java.time.LocalDateTime;
 
 public interface IRateLimitService {
     Mono<Void> checkRateLimit();
+    Mono<Void> checkRateLimit(String resource);
     void updateRateLimit(int remaining, long reset);
+    void updateRateLimit(String resource, int remaining, long reset);
     int getRemainingRequests();
+    int getRemainingRequests(String resource);
     LocalDateTime getResetTime();
 }
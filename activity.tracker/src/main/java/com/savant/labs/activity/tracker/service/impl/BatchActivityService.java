@@ -0,0 +1,241 @@
+package com.savant.labs.activity.tracker.service.impl;
+
+import com.savant.labs.activity.tracker.cache.ActivityCacheKeys;
+import com.savant.labs.activity.tracker.config.GitHubConfig;
+import com.savant.labs.activity.tracker.constants.GitHubApiConstants;
+import com.savant.labs.activity.tracker.exception.GitHubConnectorException;
+import com.savant.labs.activity.tracker.models.BatchActivityResult;
+import com.savant.labs.activity.tracker.models.RepositoryActivity;
+import com.savant.labs.activity.tracker.service.IBatchActivityService;
+import com.savant.labs.activity.tracker.service.IGitHubActivityService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+/**
+ * Serves many usernames in one request. Usernames are deduplicated case-insensitively; invalid
+ * ones and cache hits are answered immediately, then cache misses are fetched and emitted as they
+ * complete. Misses of every batch share {@code github.batch.concurrency} fetch slots, handed out
+ * in FIFO order, and a single batch holds at most {@code per-request-concurrency} of them, so a
+ * large batch cannot starve smaller ones or the single-user endpoints.
+ * <p>
+ * A failure for one user, including not answering within {@code github.batch.timeout}, is
+ * reported in that user's result and does not end the batch.
+ */
+@Service
+@Slf4j
+public class BatchActivityService implements IBatchActivityService {
+
+    private static final Pattern USERNAME = Pattern.compile(GitHubApiConstants.USERNAME_PATTERN);
+
+    private final IGitHubActivityService activityService;
+    private final CacheManager cacheManager;
+    private final GitHubConfig.Batch settings;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Deque<Waiter> waiters = new ArrayDeque<>();
+    private final Counter cacheHits;
+    private final Counter fetched;
+    private final Counter failed;
+
+    private int inFlight;
+
+    @Autowired
+    public BatchActivityService(IGitHubActivityService activityService, CacheManager cacheManager,
+                                GitHubConfig config, MeterRegistry meterRegistry) {
+        this.activityService = activityService;
+        this.cacheManager = cacheManager;
+        this.settings = config.getBatch();
+
+        this.cacheHits = resultCounter(meterRegistry, "cache_hit");
+        this.fetched = resultCounter(meterRegistry, "fetched");
+        this.failed = resultCounter(meterRegistry, "failed");
+        Gauge.builder("github.activity.batch.in-flight", this, BatchActivityService::getInFlight)
+                .description("Batch cache misses currently being fetched")
+                .register(meterRegistry);
+        Gauge.builder("github.activity.batch.queued", this, BatchActivityService::getQueued)
+                .description("Batch cache misses waiting for a fetch slot")
+                .register(meterRegistry);
+    }
+
+    private static Counter resultCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("github.activity.batch.results")
+                .description("Per-user results of batch activity requests, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Flux<BatchActivityResult> fetchBatchActivity(List<String> usernames) {
+        return Flux.defer(() -> {
+            if (usernames.size() > settings.getMaxUsernames()) {
+                return Flux.error(new GitHubConnectorException(
+                        "A batch may contain at most " + settings.getMaxUsernames() + " usernames",
+                        GitHubApiConstants.ERROR_CODE_VALIDATION, 400));
+            }
+
+            Map<String, String> distinct = new LinkedHashMap<>();
+            List<BatchActivityResult> immediate = new ArrayList<>();
+            for (String username : usernames) {
+                if (username == null || !USERNAME.matcher(username).matches()) {
+                    immediate.add(BatchActivityResult.failure(username,
+                            GitHubApiConstants.ERROR_CODE_VALIDATION, 400, "Invalid GitHub username format"));
+                } else {
+                    distinct.putIfAbsent(ActivityCacheKeys.forUsername(username), username);
+                }
+            }
+
+            Cache cache = cacheManager.getCache(GitHubApiConstants.ACTIVITY_CACHE_NAME);
+            List<String> misses = new ArrayList<>();
+            distinct.forEach((key, username) -> {
+                RepositoryActivity cached = cache != null ? cache.get(key, RepositoryActivity.class) : null;
+                if (cached != null) {
+                    cacheHits.increment();
+                    immediate.add(BatchActivityResult.success(username, cached, true));
+                } else {
+                    misses.add(username);
+                }
+            });
+
+            log.info("Batch activity for {} usernames: {} answered immediately, {} to fetch",
+                    usernames.size(), immediate.size(), misses.size());
+
+            return Flux.fromIterable(immediate)
+                    .concatWith(Flux.fromIterable(misses)
+                            .flatMap(this::fetch, settings.getPerRequestConcurrency()));
+        });
+    }
+
+    private Mono<BatchActivityResult> fetch(String username) {
+        return withSlot(activityService.fetchUserActivityReactive(username))
+                .timeout(settings.getTimeout())
+                .map(activity -> {
+                    fetched.increment();
+                    return BatchActivityResult.success(username, activity, false);
+                })
+                .onErrorResume(ex -> {
+                    failed.increment();
+                    log.warn("Batch activity for user {} failed: {}", username, ex.getMessage());
+                    return Mono.just(failure(username, ex));
+                });
+    }
+
+    private BatchActivityResult failure(String username, Throwable ex) {
+        if (ex instanceof GitHubConnectorException connectorException) {
+            return BatchActivityResult.failure(username, connectorException.getErrorCode(),
+                    connectorException.getHttpStatus(), connectorException.getMessage());
+        }
+        if (ex instanceof TimeoutException) {
+            return BatchActivityResult.failure(username, GitHubApiConstants.ERROR_CODE_TIMEOUT, 504,
+                    "No activity within " + settings.getTimeout().toMillis() + " ms");
+        }
+        return BatchActivityResult.failure(username, "UNKNOWN_ERROR", 500, ex.getMessage());
+    }
+
+    /**
+     * Subscribes to {@code call} once one of the shared fetch slots is free. A caller cancelled
+     * while waiting leaves the queue; one cancelled after being granted a slot gives it back.
+     */
+    private <T> Mono<T> withSlot(Mono<T> call) {
+        return Mono.defer(() -> {
+            Waiter waiter = new Waiter();
+            return Mono.<Void>create(sink -> acquire(waiter, sink))
+                    .then(call)
+                    .doFinally(signal -> {
+                        if (waiter.granted.getAndSet(false)) {
+                            release();
+                        }
+                    });
+        });
+    }
+
+    private void acquire(Waiter waiter, MonoSink<Void> sink) {
+        waiter.sink = sink;
+        lock.lock();
+        try {
+            if (inFlight < settings.getConcurrency()) {
+                inFlight++;
+                waiter.granted.set(true);
+            } else {
+                waiters.addLast(waiter);
+                sink.onCancel(() -> cancel(waiter));
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+        sink.success();
+    }
+
+    private void cancel(Waiter waiter) {
+        boolean queued;
+        lock.lock();
+        try {
+            queued = waiters.remove(waiter);
+        } finally {
+            lock.unlock();
+        }
+        if (!queued && waiter.granted.getAndSet(false)) {
+            release();
+        }
+    }
+
+    private void release() {
+        Waiter next;
+        lock.lock();
+        try {
+            next = waiters.pollFirst();
+            if (next == null) {
+                inFlight--;
+            } else {
+                next.granted.set(true);
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (next != null) {
+            next.sink.success();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getQueued() {
+        lock.lock();
+        try {
+            return waiters.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static final class Waiter {
+        private final AtomicBoolean granted = new AtomicBoolean();
+        private MonoSink<Void> sink;
+    }
+}
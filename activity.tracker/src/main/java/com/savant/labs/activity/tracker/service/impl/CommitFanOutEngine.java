@@ -0,0 +1,175 @@
+package com.savant.labs.activity.tracker.service.impl;
+
+import com.savant.labs.activity.tracker.config.ExecutionConfig;
+import com.savant.labs.activity.tracker.config.GitHubConfig;
+import com.savant.labs.activity.tracker.constants.GitHubApiConstants;
+import com.savant.labs.activity.tracker.models.AuthorInfo;
+import com.savant.labs.activity.tracker.models.GitHubCommit;
+import com.savant.labs.activity.tracker.models.GitHubRepository;
+import com.savant.labs.activity.tracker.models.RepositoryActivity;
+import com.savant.labs.activity.tracker.service.IGitHubApiClientService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Enriches repositories with their recent commits without blocking any thread.
+ * The number of commit requests in flight is bounded by {@code github.fan-out.concurrency},
+ * and each repository is subscribed on the {@link ExecutionConfig#FAN_OUT_SCHEDULER}.
+ */
+@Component
+@Slf4j
+public class CommitFanOutEngine {
+
+    private final IGitHubApiClientService apiClient;
+    private final GitHubConfig config;
+    private final Scheduler scheduler;
+
+    @Autowired
+    public CommitFanOutEngine(IGitHubApiClientService apiClient, GitHubConfig config,
+                              @Qualifier(ExecutionConfig.FAN_OUT_SCHEDULER) Scheduler scheduler) {
+        this.apiClient = apiClient;
+        this.config = config;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Emits each repository once its commits are fetched, in input or completion order
+     * depending on {@code github.fan-out.ordering}.
+     */
+    public Flux<GitHubRepository> enrich(List<GitHubRepository> repositories) {
+        return enrich(repositories, config.getFanOut().getOrdering());
+    }
+
+    public Flux<GitHubRepository> enrich(List<GitHubRepository> repositories, GitHubConfig.FanOutOrdering ordering) {
+        return enrich(Flux.fromIterable(repositories), ordering);
+    }
+
+    /**
+     * Starts on each repository as soon as {@code repositories} emits it, e.g. while later pages
+     * are still being fetched and decoded.
+     */
+    public Flux<GitHubRepository> enrich(Flux<GitHubRepository> repositories, GitHubConfig.FanOutOrdering ordering) {
+        return fanOut(repositories, ordering, this::fetchCommitsForRepository);
+    }
+
+    public Mono<List<GitHubRepository>> enrichAll(List<GitHubRepository> repositories) {
+        return enrich(repositories).collectList();
+    }
+
+    /**
+     * Enriches {@code repositories} against the user's previous activity. A repository whose
+     * {@code pushed_at} and default branch are unchanged keeps its previous commits without a call;
+     * a changed one fetches only the commits since its newest known one and puts them in front of
+     * the previous list. Repositories without usable previous commits are fetched in full.
+     */
+    public Mono<List<GitHubRepository>> enrichAll(List<GitHubRepository> repositories, RepositoryActivity previous) {
+        if (previous == null || previous.getRepositories() == null
+                || !config.getFanOut().isIncremental() || apiClient.includesRecentCommits()) {
+            return enrichAll(repositories);
+        }
+
+        Map<String, GitHubRepository> known = new HashMap<>();
+        previous.getRepositories().forEach(repo -> known.put(repo.getFullName(), repo));
+        AtomicInteger reused = new AtomicInteger();
+        AtomicInteger updated = new AtomicInteger();
+
+        return fanOut(Flux.fromIterable(repositories), config.getFanOut().getOrdering(), repo -> {
+                    GitHubRepository before = known.get(repo.getFullName());
+                    List<GitHubCommit> commits = before != null ? before.getRecentCommits() : null;
+                    Optional<LocalDateTime> newest = newestCommitDate(commits);
+                    if (newest.isEmpty() || !Objects.equals(branch(repo), branch(before))) {
+                        return fetchCommitsForRepository(repo);
+                    }
+                    if (repo.getPushedAt() != null && repo.getPushedAt().equals(before.getPushedAt())) {
+                        reused.incrementAndGet();
+                        return Mono.just(repo.withRecentCommits(commits));
+                    }
+                    updated.incrementAndGet();
+                    return fetchCommitsSince(repo, newest.get(), commits);
+                })
+                .collectList()
+                .doOnNext(enriched -> log.info("Incremental sync for {}: {} repositories unchanged, {} updated, {} fetched in full",
+                        previous.getUsername(), reused.get(), updated.get(), enriched.size() - reused.get() - updated.get()));
+    }
+
+    private Flux<GitHubRepository> fanOut(Flux<GitHubRepository> source, GitHubConfig.FanOutOrdering ordering,
+                                          Function<GitHubRepository, Mono<GitHubRepository>> enricher) {
+        int concurrency = config.getFanOut().getConcurrency();
+
+        return ordering == GitHubConfig.FanOutOrdering.COMPLETION
+                ? source.flatMap(enricher, concurrency)
+                : source.flatMapSequential(enricher, concurrency);
+    }
+
+    /**
+     * {@code since} is inclusive, so the newest known commit comes back again and is deduplicated by SHA.
+     * If the call fails the previous commits are kept.
+     */
+    private Mono<GitHubRepository> fetchCommitsSince(GitHubRepository repo, LocalDateTime since,
+                                                     List<GitHubCommit> previous) {
+        return Mono.defer(() -> apiClient.fetchCommitsSince(repo.getFullName(), branch(repo), since))
+                .subscribeOn(scheduler)
+                .map(fresh -> merge(fresh, previous))
+                .onErrorResume(ex -> {
+                    log.warn("Failed to fetch new commits for {}, keeping the previous ones: {}", repo.getName(), ex.getMessage());
+                    return Mono.just(previous);
+                })
+                .defaultIfEmpty(previous)
+                .map(repo::withRecentCommits);
+    }
+
+    private List<GitHubCommit> merge(List<GitHubCommit> fresh, List<GitHubCommit> previous) {
+        Map<String, GitHubCommit> bySha = new LinkedHashMap<>();
+        fresh.forEach(commit -> bySha.putIfAbsent(commit.getSha(), commit));
+        previous.forEach(commit -> bySha.putIfAbsent(commit.getSha(), commit));
+        return bySha.values().stream().limit(config.getMaxCommits()).toList();
+    }
+
+    private static Optional<LocalDateTime> newestCommitDate(List<GitHubCommit> commits) {
+        if (commits == null) {
+            return Optional.empty();
+        }
+        return commits.stream()
+                .map(GitHubCommit::getCommit)
+                .filter(Objects::nonNull)
+                .map(details -> Optional.ofNullable(details.getCommitter()).map(AuthorInfo::getDate)
+                        .or(() -> Optional.ofNullable(details.getAuthor()).map(AuthorInfo::getDate)))
+                .flatMap(Optional::stream)
+                .max(LocalDateTime::compareTo);
+    }
+
+    private static String branch(GitHubRepository repo) {
+        return Optional.ofNullable(repo.getDefaultBranch()).orElse(GitHubApiConstants.DEFAULT_BRANCH_FALLBACK);
+    }
+
+    private Mono<GitHubRepository> fetchCommitsForRepository(GitHubRepository repo) {
+        if (apiClient.includesRecentCommits() && repo.getRecentCommits() != null) {
+            return Mono.just(repo);
+        }
+
+        return Mono.defer(() -> apiClient.fetchCommits(repo.getFullName(), branch(repo)))
+                .subscribeOn(scheduler)
+                .doOnNext(commits -> log.debug("Fetched {} commits for repository: {}", commits.size(), repo.getName()))
+                .onErrorResume(ex -> {
+                    log.warn("Failed to fetch commits for {}: {}", repo.getName(), ex.getMessage());
+                    return Mono.just(Collections.<GitHubCommit>emptyList());
+                })
+                .defaultIfEmpty(Collections.emptyList())
+                .map(repo::withRecentCommits);
+    }
+}
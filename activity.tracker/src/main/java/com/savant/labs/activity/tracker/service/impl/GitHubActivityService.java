@@ -1,71 +1,91 @@
 package com.savant.labs.activity.tracker.service.impl;
 
+import com.savant.labs.activity.tracker.cache.ActivityCacheKeys;
+import com.savant.labs.activity.tracker.cache.ActivitySnapshotStore;
+import com.savant.labs.activity.tracker.config.ExecutionConfig;
+import com.savant.labs.activity.tracker.config.GitHubConfig;
+import com.savant.labs.activity.tracker.constants.GitHubApiConstants;
 import com.savant.labs.activity.tracker.exception.GitHubConnectorException;
-import com.savant.labs.activity.tracker.models.GitHubCommit;
 import com.savant.labs.activity.tracker.models.GitHubRepository;
 import com.savant.labs.activity.tracker.models.RepositoryActivity;
 import com.savant.labs.activity.tracker.service.IGitHubActivityService;
 import com.savant.labs.activity.tracker.service.IGitHubApiClientService;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.github.resilience4j.reactor.retry.RetryOperator;
+import io.github.resilience4j.retry.RetryRegistry;
 import io.github.resilience4j.retry.annotation.Retry;
 import io.micrometer.core.annotation.Counted;
 import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 @Service
 @Slf4j
 public class GitHubActivityService implements IGitHubActivityService {
 
     private final IGitHubApiClientService apiClient;
+    private final CommitFanOutEngine fanOutEngine;
+    private final CacheManager cacheManager;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final RetryRegistry retryRegistry;
+    private final ActivitySnapshotStore snapshotStore;
+    private final Executor snapshotWriter;
 
     @Autowired
-    public GitHubActivityService(IGitHubApiClientService apiClient) {
+    public GitHubActivityService(IGitHubApiClientService apiClient, CommitFanOutEngine fanOutEngine,
+                                 CacheManager cacheManager, CircuitBreakerRegistry circuitBreakerRegistry,
+                                 RetryRegistry retryRegistry, ActivitySnapshotStore snapshotStore,
+                                 @Qualifier(ExecutionConfig.BLOCKING_EXECUTOR) Executor snapshotWriter) {
         this.apiClient = apiClient;
+        this.fanOutEngine = fanOutEngine;
+        this.cacheManager = cacheManager;
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.retryRegistry = retryRegistry;
+        this.snapshotStore = snapshotStore;
+        this.snapshotWriter = snapshotWriter;
     }
 
     @Override
     @Timed(value = "github.activity.fetch", description = "Time taken to fetch GitHub activity")
     @Counted(value = "github.activity.requests", description = "Number of GitHub activity requests")
-    @CircuitBreaker(name = "github-api", fallbackMethod = "fetchActivityFallback")
-    @Retry(name = "github-api")
-    @Cacheable(value = "github-activity", key = "#username")
+    @CircuitBreaker(name = GitHubApiConstants.RESILIENCE_INSTANCE, fallbackMethod = "fetchActivityFallback")
+    @Retry(name = GitHubApiConstants.RESILIENCE_INSTANCE)
+    @Cacheable(value = GitHubApiConstants.ACTIVITY_CACHE_NAME,
+            keyGenerator = GitHubApiConstants.USERNAME_KEY_GENERATOR, sync = true)
     public RepositoryActivity fetchUserActivity(String username) throws GitHubConnectorException {
+        String key = ActivityCacheKeys.forUsername(username);
+        Optional<RepositoryActivity> snapshot = snapshotStore.get(key);
+        if (snapshot.isPresent()) {
+            log.info("Serving GitHub activity for user {} from snapshot", username);
+            return snapshot.get();
+        }
+
         log.info("Fetching GitHub activity for user: {}", username);
 
         try {
             List<GitHubRepository> repositories = apiClient.fetchRepositoriesAsync(username).join();
 
-            if (repositories.isEmpty()) {
-                log.warn("No repositories found for user: {}", username);
-                return new RepositoryActivity(username, Collections.emptyList());
+            RepositoryActivity previous = snapshotStore.getLatest(key).orElse(null);
+            RepositoryActivity activity = assembleActivity(username, repositories, previous).block();
+            if (activity != null) {
+                snapshotStore.put(key, activity);
             }
-
-            List<CompletableFuture<GitHubRepository>> commitFutures = repositories.stream()
-                    .map(this::fetchCommitsForRepository)
-                    .toList();
-
-            CompletableFuture<Void> allDone = CompletableFuture.allOf(
-                    commitFutures.toArray(new CompletableFuture[0]));
-
-            List<GitHubRepository> enrichedRepos = allDone
-                    .thenApply(v -> commitFutures.stream()
-                            .map(CompletableFuture::join)
-                            .toList())
-                    .join();
-
-            RepositoryActivity activity = new RepositoryActivity(username, enrichedRepos);
-
-            log.info("Fetched GitHub activity for user: {}. Repositories: {}, Total commits: {}",
-                    username, activity.getTotalRepositories(), activity.getTotalCommitsFetched());
-
             return activity;
 
         } catch (CompletionException e) {
@@ -80,23 +100,115 @@ public class GitHubActivityService implements IGitHubActivityService {
         }
     }
 
-    private CompletableFuture<GitHubRepository> fetchCommitsForRepository(GitHubRepository repo) {
-        return CompletableFuture.supplyAsync(() -> {
-            String branch = Optional.ofNullable(repo.getDefaultBranch()).orElse("main");
-            try {
-                List<GitHubCommit> commits = apiClient.fetchCommitsAsync(repo.getFullName(), branch).join();
-                repo.setRecentCommits(commits);
-                log.debug("Fetched {} commits for repository: {}", commits.size(), repo.getName());
-            } catch (Exception ex) {
-                log.warn("Failed to fetch commits for {}: {}", repo.getName(), ex.getMessage());
-                repo.setRecentCommits(Collections.emptyList());
+    /**
+     * Non-blocking counterpart of {@link #fetchUserActivity(String)}. It shares the same cache
+     * entries and resilience4j instances, applied as Reactor operators instead of annotations.
+     * A snapshot from before the restart is served once on a cache miss, as on the blocking path.
+     * Only an open circuit falls back to an empty activity; upstream errors such as an unknown
+     * user are propagated so the caller can map them to a status code.
+     */
+    @Override
+    public Mono<RepositoryActivity> fetchUserActivityReactive(String username) {
+        return Mono.defer(() -> {
+            Cache cache = cacheManager.getCache(GitHubApiConstants.ACTIVITY_CACHE_NAME);
+            String key = ActivityCacheKeys.forUsername(username);
+            RepositoryActivity cached = cache != null ? cache.get(key, RepositoryActivity.class) : null;
+            if (cached != null) {
+                return Mono.just(cached);
             }
-            return repo;
+            Optional<RepositoryActivity> snapshot = snapshotStore.get(key);
+            if (snapshot.isPresent()) {
+                if (cache != null) {
+                    cache.put(key, snapshot.get());
+                }
+                return Mono.just(snapshot.get());
+            }
+
+            log.info("Fetching GitHub activity reactively for user: {}", username);
+
+            return fetchAndStore(username, cache, key, snapshotStore.getLatest(key).orElse(null));
         });
     }
 
+    /**
+     * Re-fetches the user's activity even if it is cached, incrementally against the cached entry
+     * or the latest stored snapshot: only repositories pushed to since then cost a commit call.
+     * The result replaces the cache entry and the snapshot.
+     */
+    @Override
+    public Mono<RepositoryActivity> refreshUserActivity(String username) {
+        return Mono.defer(() -> {
+            Cache cache = cacheManager.getCache(GitHubApiConstants.ACTIVITY_CACHE_NAME);
+            String key = ActivityCacheKeys.forUsername(username);
+            RepositoryActivity previous = cache != null ? cache.get(key, RepositoryActivity.class) : null;
+            if (previous == null) {
+                previous = snapshotStore.getLatest(key).orElse(null);
+            }
+
+            log.info("Refreshing GitHub activity for user: {}", username);
+
+            return fetchAndStore(username, cache, key, previous);
+        });
+    }
+
+    private Mono<RepositoryActivity> fetchAndStore(String username, Cache cache, String key, RepositoryActivity previous) {
+        return apiClient.fetchRepositories(username)
+                .flatMap(repositories -> assembleActivity(username, repositories, previous))
+                .transformDeferred(CircuitBreakerOperator.of(
+                        circuitBreakerRegistry.circuitBreaker(GitHubApiConstants.RESILIENCE_INSTANCE)))
+                .transformDeferred(RetryOperator.of(
+                        retryRegistry.retry(GitHubApiConstants.RESILIENCE_INSTANCE)))
+                .doOnNext(activity -> {
+                    if (cache != null) {
+                        cache.put(key, activity);
+                    }
+                    storeSnapshot(key, activity);
+                })
+                .onErrorResume(CallNotPermittedException.class,
+                        ex -> Mono.just(fetchActivityFallback(username, ex)));
+    }
+
+    /**
+     * Writes the snapshot on the blocking executor without waiting for it: the encode, the mapped
+     * writes and a full segment's compaction must not hold the event loop that completed the fetch.
+     */
+    private void storeSnapshot(String key, RepositoryActivity activity) {
+        try {
+            snapshotWriter.execute(() -> snapshotStore.put(key, activity));
+        } catch (RejectedExecutionException e) {
+            log.debug("Skipped activity snapshot for {} while shutting down", key);
+        }
+    }
+
+    /**
+     * Emits each repository as soon as its commits arrive, in completion order,
+     * so the first repository is not held back by the slowest one. Commit calls start
+     * as repositories are decoded, without waiting for every page.
+     */
+    @Override
+    public Flux<GitHubRepository> streamUserActivity(String username) {
+        log.info("Streaming GitHub activity for user: {}", username);
+
+        return fanOutEngine.enrich(apiClient.streamRepositories(username), GitHubConfig.FanOutOrdering.COMPLETION);
+    }
+
+    private Mono<RepositoryActivity> assembleActivity(String username, List<GitHubRepository> repositories,
+                                                      RepositoryActivity previous) {
+        if (repositories.isEmpty()) {
+            log.warn("No repositories found for user: {}", username);
+            return Mono.just(new RepositoryActivity(username, Collections.emptyList()));
+        }
+
+        return fanOutEngine.enrichAll(repositories, previous)
+                .map(enrichedRepos -> new RepositoryActivity(username, enrichedRepos))
+                .doOnNext(activity -> log.info("Fetched GitHub activity for user: {}. Repositories: {}, Total commits: {}",
+                        username, activity.getTotalRepositories(), activity.getTotalCommitsFetched()));
+    }
+
     public RepositoryActivity fetchActivityFallback(String username, Exception ex) {
         log.error("Fallback triggered for user: {} due to {}", username, ex.getMessage(), ex);
-        return new RepositoryActivity(username, Collections.emptyList());
+        RepositoryActivity fallback = new RepositoryActivity(username, Collections.emptyList());
+        fallback.setFallback(true);
+        return fallback;
     }
 }
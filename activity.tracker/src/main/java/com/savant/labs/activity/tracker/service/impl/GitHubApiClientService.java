@@ -1,5 +1,14 @@
 package com.savant.labs.activity.tracker.service.impl;
 
+import com.savant.labs.activity.tracker.client.AdaptiveConcurrencyLimiter;
+import com.savant.labs.activity.tracker.client.ConditionalRequestStore;
+import com.savant.labs.activity.tracker.client.JsonArrayStreamDecoder;
+import com.savant.labs.activity.tracker.client.LinkHeader;
+import com.savant.labs.activity.tracker.client.RequestHedger;
+import com.savant.labs.activity.tracker.client.RetryBudget;
+import com.savant.labs.activity.tracker.client.RetryClassifier;
+import com.savant.labs.activity.tracker.client.SingleFlight;
+import com.savant.labs.activity.tracker.client.TokenPool;
 import com.savant.labs.activity.tracker.config.GitHubConfig;
 import com.savant.labs.activity.tracker.constants.GitHubApiConstants;
 import com.savant.labs.activity.tracker.exception.AuthenticationException;
@@ -12,68 +21,149 @@ import com.savant.labs.activity.tracker.service.IGitHubApiClientService;
 import com.savant.labs.activity.tracker.service.IRateLimitService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.BodyExtractors;
 import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.util.retry.Retry;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
 
 @Service
+@ConditionalOnProperty(prefix = "github", name = "api-mode", havingValue = "REST", matchIfMissing = true)
 @Slf4j
 public class GitHubApiClientService implements IGitHubApiClientService {
 
     private final WebClient webClient;
     private final GitHubConfig config;
     private final IRateLimitService rateLimitService;
+    private final ConditionalRequestStore conditionalRequestStore;
+    private final TokenPool tokenPool;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final RetryClassifier retryClassifier;
+    private final RetryBudget retryBudget;
+    private final RequestHedger requestHedger;
+    private final SingleFlight singleFlight;
+    private final JsonArrayStreamDecoder decoder;
 
     @Autowired
-    public GitHubApiClientService(WebClient webClient, GitHubConfig config, IRateLimitService rateLimitService) {
+    public GitHubApiClientService(WebClient webClient, GitHubConfig config, IRateLimitService rateLimitService,
+                                  ConditionalRequestStore conditionalRequestStore, TokenPool tokenPool,
+                                  AdaptiveConcurrencyLimiter concurrencyLimiter, RetryClassifier retryClassifier,
+                                  RetryBudget retryBudget, RequestHedger requestHedger, SingleFlight singleFlight,
+                                  JsonArrayStreamDecoder decoder) {
         this.webClient = webClient;
         this.config = config;
         this.rateLimitService = rateLimitService;
+        this.conditionalRequestStore = conditionalRequestStore;
+        this.tokenPool = tokenPool;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.retryClassifier = retryClassifier;
+        this.retryBudget = retryBudget;
+        this.requestHedger = requestHedger;
+        this.singleFlight = singleFlight;
+        this.decoder = decoder;
     }
 
     @Override
     public CompletableFuture<List<GitHubRepository>> fetchRepositoriesAsync(String username) {
-        return fetchRepositories(username, 1)
+        return fetchRepositories(username)
                 .toFuture();
     }
 
     @Override
     public CompletableFuture<List<GitHubCommit>> fetchCommitsAsync(String repoFullName, String branch) {
-        return fetchCommits(repoFullName, branch, 1)
+        return fetchCommits(repoFullName, branch)
                 .toFuture();
     }
 
-    private Mono<List<GitHubRepository>> fetchRepositories(String username, int page) {
+    @Override
+    public Mono<List<GitHubRepository>> fetchRepositories(String username) {
+        return streamRepositories(username)
+                .collectList()
+                .doOnNext(repos -> log.info(config.getLog().getFetchedRepositories(), repos.size(), username));
+    }
+
+    /**
+     * Emits every page of the user's repositories, page by page in order. Page 1 is fetched first;
+     * once its {@code Link} header reveals the last page, the remaining pages are fetched concurrently,
+     * capped by {@code github.pagination.max-pages} and {@code github.pagination.max-repositories}.
+     */
+    @Override
+    public Flux<GitHubRepository> streamRepositories(String username) {
+        GitHubConfig.Pagination pagination = config.getPagination();
+        int pageBudget = Math.min(pagination.getMaxPages(),
+                (pagination.getMaxRepositories() + config.getPerPage() - 1) / config.getPerPage());
+
+        return fetchRepositories(username, 1)
+                .flatMapMany(firstPage -> {
+                    int lastPage = LinkHeader.lastPage(firstPage.getHeaders()).orElse(1);
+                    if (lastPage > pageBudget) {
+                        log.warn("User {} has {} repository pages, fetching only the first {}", username, lastPage, pageBudget);
+                    }
+                    Flux<List<GitHubRepository>> remainingPages = Flux.range(2, Math.max(0, Math.min(lastPage, pageBudget) - 1))
+                            .flatMapSequential(page -> fetchRepositories(username, page)
+                                    .mapNotNull(HttpEntity::getBody), pagination.getConcurrency());
+
+                    return Flux.concat(Mono.justOrEmpty(firstPage.getBody()), remainingPages)
+                            .flatMapIterable(Function.identity())
+                            .take(pagination.getMaxRepositories());
+                });
+    }
+
+    @Override
+    public Mono<List<GitHubCommit>> fetchCommits(String repoFullName, String branch) {
+        return fetchCommits(repoFullName, branch, 1);
+    }
+
+    @Override
+    public Mono<List<GitHubCommit>> fetchCommitsSince(String repoFullName, String branch, LocalDateTime since) {
+        log.debug("Fetching commits for repository: {} (branch: {}, since: {})", repoFullName, branch, since);
+
+        return fetchCommitsPage(repoFullName, buildCommitsUrl(repoFullName, branch, 1, since));
+    }
+
+    private Mono<ResponseEntity<List<GitHubRepository>>> fetchRepositories(String username, int page) {
         String url = buildRepositoriesUrl(username, page);
 
         log.debug(config.getLog().getFetchingRepositories(), username, page);
 
-        return rateLimitService.checkRateLimit()
-                .then(makeRequest(url, new ParameterizedTypeReference<List<GitHubRepository>>() {}))
-                .doOnNext(repos -> log.info(config.getLog().getFetchedRepositories(), repos.size(), username))
+        return singleFlight.execute(url, rateLimitService.checkRateLimit()
+                        .then(exchange(url, GitHubRepository.class)))
                 .onErrorMap(this::mapException);
     }
 
     private Mono<List<GitHubCommit>> fetchCommits(String repoFullName, String branch, int page) {
-        String url = buildCommitsUrl(repoFullName, branch, page);
-
         log.debug(config.getLog().getFetchingCommits(), repoFullName, branch, page);
 
-        return rateLimitService.checkRateLimit()
-                .then(makeRequest(url, new ParameterizedTypeReference<List<GitHubCommit>>() {}))
+        return fetchCommitsPage(repoFullName, buildCommitsUrl(repoFullName, branch, page));
+    }
+
+    private Mono<List<GitHubCommit>> fetchCommitsPage(String repoFullName, String url) {
+        // The slowest of a user's N commit calls sets the activity's latency, so these are hedged.
+        // Coalescing wraps the hedge, otherwise the duplicate would just join the primary call.
+        // The duplicate is admitted like the primary, so it counts against the rate-limit budget.
+        return singleFlight.execute(url, rateLimitService.checkRateLimit()
+                        .then(makeRequest(url, GitHubCommit.class,
+                                call -> requestHedger.hedge(GitHubApiConstants.HEDGE_ENDPOINT_COMMITS, call,
+                                        rateLimitService.checkRateLimit()))))
                 .doOnNext(commits -> log.debug(config.getLog().getFetchedCommits(), commits.size(), repoFullName))
                 .onErrorMap(this::mapException);
     }
@@ -99,6 +189,12 @@ public class GitHubApiClientService implements IGitHubApiClientService {
         return config.getBaseUrl() + replaceUrlParameters(endpoint, params);
     }
 
+    public String buildCommitsUrl(String repoFullName, String branch, int page, LocalDateTime since) {
+        String url = buildCommitsUrl(repoFullName, branch, page);
+        return url + (url.contains("?") ? "&" : "?") + GitHubApiConstants.QUERY_SINCE + "="
+                + since.toInstant(ZoneOffset.UTC);
+    }
+
     private String replaceUrlParameters(String endpoint, Map<String, Object> params) {
         String result = endpoint;
         for (Map.Entry<String, Object> entry : params.entrySet()) {
@@ -107,28 +203,74 @@ public class GitHubApiClientService implements IGitHubApiClientService {
         return result;
     }
 
-    private <T> Mono<T> makeRequest(String url, ParameterizedTypeReference<T> responseType) {
-        return webClient.get()
-                .uri(url)
-                .header(GitHubApiConstants.AUTHORIZATION_HEADER,
-                        GitHubApiConstants.BEARER_TOKEN_PREFIX + config.getToken())
-                .retrieve()
-                .onStatus(HttpStatusCode::is4xxClientError, this::handle4xxError)
-                .onStatus(HttpStatusCode::is5xxServerError, this::handle5xxError)
-                .bodyToMono(responseType)
-                .retryWhen(Retry.backoff(config.getMaxRetries(), Duration.ofMillis(config.getRetryDelayMs()))
-                        .filter(throwable -> !(throwable instanceof AuthenticationException) &&
-                                !(throwable instanceof UserNotFoundException)))
-                .doOnNext(response -> updateRateLimit());
+    private <T> Mono<List<T>> makeRequest(String url, Class<T> elementType,
+                                          UnaryOperator<Mono<ResponseEntity<List<T>>>> hedge) {
+        return exchange(url, elementType, hedge)
+                .flatMap(entity -> Mono.justOrEmpty(entity.getBody()));
+    }
+
+    private <T> Mono<ResponseEntity<List<T>>> exchange(String url, Class<T> elementType) {
+        return exchange(url, elementType, UnaryOperator.identity());
+    }
+
+    /**
+     * GETs a GitHub list endpoint. The body is decoded element by element as it arrives rather
+     * than buffered whole, keeping only the fields the model maps.
+     * <p>
+     * {@code hedge} is applied to each attempt's HTTP exchange alone, inside the concurrency limiter
+     * and the retry, so hedge delays are learned from network time rather than from queueing or
+     * backoff, and a duplicate is never a second retry loop.
+     */
+    private <T> Mono<ResponseEntity<List<T>>> exchange(String url, Class<T> elementType,
+                                                       UnaryOperator<Mono<ResponseEntity<List<T>>>> hedge) {
+        return concurrencyLimiter.limit(hedge.apply(Mono.defer(() -> {
+                    TokenPool.Token token = tokenPool.acquire();
+                    ConditionalRequestStore.Entry stored = conditionalRequestStore.get(url);
+                    return webClient.get()
+                            .uri(url)
+                            .headers(headers -> {
+                                headers.set(GitHubApiConstants.AUTHORIZATION_HEADER,
+                                        GitHubApiConstants.BEARER_TOKEN_PREFIX + token.getValue());
+                                if (stored != null) {
+                                    stored.applyValidators(headers);
+                                }
+                            })
+                            .exchangeToMono(response -> {
+                                updateRateLimitFromHeaders(token, response);
+                                return handleResponse(url, response, stored, elementType);
+                            });
+                })))
+                .doOnNext(entity -> retryBudget.recordSuccess())
+                .retryWhen(retryBudget.limit(Retry.backoff(config.getMaxRetries(), Duration.ofMillis(config.getRetryDelayMs()))
+                        .filter(retryClassifier::isRetryable)));
+    }
+
+    private <T> Mono<ResponseEntity<List<T>>> handleResponse(String url, ClientResponse response,
+                                                             ConditionalRequestStore.Entry stored,
+                                                             Class<T> elementType) {
+        HttpStatusCode status = response.statusCode();
+        if (status.isSameCodeAs(HttpStatus.NOT_MODIFIED) && stored != null) {
+            conditionalRequestStore.recordNotModified();
+            return response.releaseBody().then(Mono.fromSupplier(() -> stored.<List<T>>toResponseEntity()));
+        }
+        if (status.is4xxClientError()) {
+            return handle4xxError(response).flatMap(error -> Mono.<ResponseEntity<List<T>>>error(error));
+        }
+        if (status.is5xxServerError()) {
+            return handle5xxError(response).flatMap(error -> Mono.<ResponseEntity<List<T>>>error(error));
+        }
+        return decoder.decode(response.body(BodyExtractors.toDataBuffers()), elementType)
+                .collectList()
+                .map(body -> new ResponseEntity<>(body, response.headers().asHttpHeaders(), status))
+                .doOnNext(entity -> conditionalRequestStore.store(url, entity, stored != null));
     }
 
     private Mono<? extends Throwable> handle4xxError(ClientResponse response) {
         return response.toEntity(String.class)
                 .flatMap(entity -> {
                     HttpHeaders headers = response.headers().asHttpHeaders();
-                    updateRateLimitFromHeaders(headers);
-
                     String body = entity.getBody();
+                    boolean throttled = concurrencyLimiter.onThrottled(response.statusCode(), headers, body);
 
                     return switch (response.statusCode().value()) {
                         case GitHubApiConstants.HTTP_UNAUTHORIZED ->
@@ -142,7 +284,8 @@ public class GitHubApiClientService implements IGitHubApiClientService {
                             }
                             yield Mono.error(new GitHubConnectorException(
                                     config.getError().getAccessForbidden() + ": " + body,
-                                    GitHubApiConstants.ERROR_CODE_ACCESS_FORBIDDEN,
+                                    throttled ? GitHubApiConstants.ERROR_CODE_SECONDARY_RATE_LIMIT
+                                            : GitHubApiConstants.ERROR_CODE_ACCESS_FORBIDDEN,
                                     GitHubApiConstants.HTTP_FORBIDDEN));
                         }
                         case GitHubApiConstants.HTTP_NOT_FOUND ->
@@ -165,6 +308,10 @@ public class GitHubApiClientService implements IGitHubApiClientService {
     }
 
     private Throwable mapException(Throwable throwable) {
+        if (throwable instanceof GitHubConnectorException) {
+            // Already mapped by the response handlers; rewrapping would hide the status from the retry classifier
+            return throwable;
+        }
         if (throwable instanceof WebClientResponseException ex) {
             return switch (ex.getStatusCode().value()) {
                 case GitHubApiConstants.HTTP_UNAUTHORIZED ->
@@ -192,21 +339,18 @@ public class GitHubApiClientService implements IGitHubApiClientService {
         return new GitHubConnectorException(config.getError().getUnexpectedError() + ": " + throwable.getMessage(), throwable);
     }
 
-    private void updateRateLimit() {
-        log.debug(config.getLog().getRequestSuccessful());
-    }
-
-    private void updateRateLimitFromHeaders(HttpHeaders headers) {
-        try {
-            String remaining = headers.getFirst(config.getHeaders().getRateLimitRemaining());
-            String reset = headers.getFirst(config.getHeaders().getRateLimitReset());
-
-            if (remaining != null && reset != null) {
-                rateLimitService.updateRateLimit(Integer.parseInt(remaining), Long.parseLong(reset));
-            }
-        } catch (NumberFormatException e) {
-            log.warn(config.getError().getParseRateLimitHeaders(), e);
+    /**
+     * Reconciles the rate-limit budget from every response, successful or not: the headers update
+     * the token that made the call, and the resource's admission budget becomes the sum over the
+     * tokens still in rotation. A 401 revokes the token.
+     */
+    private void updateRateLimitFromHeaders(TokenPool.Token token, ClientResponse response) {
+        if (response.statusCode().value() == GitHubApiConstants.HTTP_UNAUTHORIZED) {
+            tokenPool.revoke(token);
         }
+        tokenPool.update(token, response.headers().asHttpHeaders())
+                .ifPresent(resource -> rateLimitService.updateRateLimit(resource,
+                        tokenPool.totalRemaining(resource), tokenPool.earliestResetEpochSecond(resource)));
     }
 
     private boolean isRateLimitExceeded(HttpHeaders headers) {
@@ -0,0 +1,347 @@
+package com.savant.labs.activity.tracker.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.savant.labs.activity.tracker.client.AdaptiveConcurrencyLimiter;
+import com.savant.labs.activity.tracker.client.RetryBudget;
+import com.savant.labs.activity.tracker.client.RetryClassifier;
+import com.savant.labs.activity.tracker.client.TokenPool;
+import com.savant.labs.activity.tracker.config.GitHubConfig;
+import com.savant.labs.activity.tracker.constants.GitHubApiConstants;
+import com.savant.labs.activity.tracker.exception.AuthenticationException;
+import com.savant.labs.activity.tracker.exception.GitHubConnectorException;
+import com.savant.labs.activity.tracker.exception.RateLimitExceededException;
+import com.savant.labs.activity.tracker.exception.UserNotFoundException;
+import com.savant.labs.activity.tracker.models.AuthorInfo;
+import com.savant.labs.activity.tracker.models.CommitAuthor;
+import com.savant.labs.activity.tracker.models.CommitDetails;
+import com.savant.labs.activity.tracker.models.GitHubCommit;
+import com.savant.labs.activity.tracker.models.GitHubRepository;
+import com.savant.labs.activity.tracker.models.Owner;
+import com.savant.labs.activity.tracker.service.IGitHubApiClientService;
+import com.savant.labs.activity.tracker.service.IRateLimitService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * GraphQL implementation of {@link IGitHubApiClientService}. A single paginated query returns the
+ * user's repositories together with {@code defaultBranchRef.target.history(first: maxCommits)},
+ * so one activity lookup costs one call per 100 repositories instead of 1 + N REST calls.
+ * Results are mapped onto the same models the REST client produces.
+ */
+@Service
+@ConditionalOnProperty(prefix = "github", name = "api-mode", havingValue = "GRAPHQL")
+@Slf4j
+public class GitHubGraphQlApiClientService implements IGitHubApiClientService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private static final String COMMIT_FIELDS = """
+            nodes {
+              oid
+              message
+              url
+              author { name email date user { databaseId login avatarUrl url } }
+              committer { name email date }
+            }
+            """;
+
+    static final String REPOSITORIES_QUERY = """
+            query($login: String!, $pageSize: Int!, $after: String, $maxCommits: Int!) {
+              user(login: $login) {
+                repositories(first: $pageSize, after: $after, privacy: PUBLIC, ownerAffiliations: OWNER,
+                             orderBy: {field: UPDATED_AT, direction: DESC}) {
+                  pageInfo { hasNextPage endCursor }
+                  nodes {
+                    databaseId
+                    name
+                    nameWithOwner
+                    url
+                    description
+                    createdAt
+                    updatedAt
+                    pushedAt
+                    primaryLanguage { name }
+                    stargazerCount
+                    forkCount
+                    watchers { totalCount }
+                    owner { __typename login avatarUrl url ... on User { databaseId } ... on Organization { databaseId } }
+                    defaultBranchRef {
+                      name
+                      target { ... on Commit { history(first: $maxCommits) { %s } } }
+                    }
+                  }
+                }
+              }
+            }
+            """.formatted(COMMIT_FIELDS);
+
+    static final String COMMITS_QUERY = """
+            query($owner: String!, $name: String!, $branch: String!, $maxCommits: Int!) {
+              repository(owner: $owner, name: $name) {
+                object(expression: $branch) { ... on Commit { history(first: $maxCommits) { %s } } }
+              }
+            }
+            """.formatted(COMMIT_FIELDS);
+
+    private final WebClient webClient;
+    private final GitHubConfig config;
+    private final IRateLimitService rateLimitService;
+    private final TokenPool tokenPool;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final RetryClassifier retryClassifier;
+    private final RetryBudget retryBudget;
+
+    @Autowired
+    public GitHubGraphQlApiClientService(WebClient webClient, GitHubConfig config, IRateLimitService rateLimitService,
+                                         TokenPool tokenPool, AdaptiveConcurrencyLimiter concurrencyLimiter,
+                                         RetryClassifier retryClassifier, RetryBudget retryBudget) {
+        this.webClient = webClient;
+        this.config = config;
+        this.rateLimitService = rateLimitService;
+        this.tokenPool = tokenPool;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.retryClassifier = retryClassifier;
+        this.retryBudget = retryBudget;
+    }
+
+    @Override
+    public CompletableFuture<List<GitHubRepository>> fetchRepositoriesAsync(String username) {
+        return fetchRepositories(username).toFuture();
+    }
+
+    @Override
+    public CompletableFuture<List<GitHubCommit>> fetchCommitsAsync(String repoFullName, String branch) {
+        return fetchCommits(repoFullName, branch).toFuture();
+    }
+
+    @Override
+    public boolean includesRecentCommits() {
+        return true;
+    }
+
+    @Override
+    public Mono<List<GitHubRepository>> fetchRepositories(String username) {
+        GitHubConfig.Pagination pagination = config.getPagination();
+        int pageSize = Math.min(MAX_PAGE_SIZE, config.getPerPage());
+
+        log.debug(config.getLog().getFetchingRepositories(), username, 1);
+
+        return Flux.defer(() -> {
+                    AtomicInteger pagesFetched = new AtomicInteger(1);
+                    return fetchRepositoryPage(username, pageSize, null)
+                            .expand(page -> {
+                                JsonNode pageInfo = page.path("pageInfo");
+                                return pageInfo.path("hasNextPage").asBoolean(false)
+                                        && pagesFetched.getAndIncrement() < pagination.getMaxPages()
+                                        ? fetchRepositoryPage(username, pageSize, pageInfo.path("endCursor").asText())
+                                        : Mono.empty();
+                            });
+                })
+                .flatMapIterable(page -> page.path("nodes"))
+                .map(this::toRepository)
+                .take(pagination.getMaxRepositories())
+                .collectList()
+                .doOnNext(repos -> log.info(config.getLog().getFetchedRepositories(), repos.size(), username));
+    }
+
+    @Override
+    public Mono<List<GitHubCommit>> fetchCommits(String repoFullName, String branch) {
+        String[] ownerAndName = repoFullName.split("/", 2);
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("owner", ownerAndName[0]);
+        variables.put("name", ownerAndName.length > 1 ? ownerAndName[1] : "");
+        variables.put("branch", branch);
+        variables.put("maxCommits", config.getMaxCommits());
+
+        log.debug(config.getLog().getFetchingCommits(), repoFullName, branch, 1);
+
+        return query(COMMITS_QUERY, variables)
+                .map(data -> toCommits(data.path("repository").path("object").path("history")))
+                .doOnNext(commits -> log.debug(config.getLog().getFetchedCommits(), commits.size(), repoFullName));
+    }
+
+    private Mono<JsonNode> fetchRepositoryPage(String username, int pageSize, String after) {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("login", username);
+        variables.put("pageSize", pageSize);
+        variables.put("after", after);
+        variables.put("maxCommits", config.getMaxCommits());
+
+        return query(REPOSITORIES_QUERY, variables)
+                .flatMap(data -> {
+                    JsonNode user = data.path("user");
+                    return user.isMissingNode() || user.isNull()
+                            ? Mono.error(new UserNotFoundException(username))
+                            : Mono.just(user.path("repositories"));
+                });
+    }
+
+    private Mono<JsonNode> query(String query, Map<String, Object> variables) {
+        String url = config.getBaseUrl() + config.getApi().getGraphqlEndpoint();
+
+        return rateLimitService.checkRateLimit(GitHubApiConstants.RESOURCE_GRAPHQL)
+                .then(concurrencyLimiter.limit(Mono.defer(() -> {
+                    TokenPool.Token token = tokenPool.acquire(GitHubApiConstants.RESOURCE_GRAPHQL);
+                    return webClient.post()
+                            .uri(url)
+                            .header(GitHubApiConstants.AUTHORIZATION_HEADER,
+                                    GitHubApiConstants.BEARER_TOKEN_PREFIX + token.getValue())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .bodyValue(Map.of("query", query, "variables", variables))
+                            .exchangeToMono(response -> {
+                                updateRateLimitFromHeaders(token, response);
+                                return response.statusCode().isError()
+                                        ? handleError(response).flatMap(error -> Mono.<JsonNode>error(error))
+                                        : response.bodyToMono(JsonNode.class);
+                            });
+                })))
+                .flatMap(this::unwrapData)
+                .doOnNext(data -> retryBudget.recordSuccess())
+                .retryWhen(retryBudget.limit(Retry.backoff(config.getMaxRetries(), Duration.ofMillis(config.getRetryDelayMs()))
+                        .filter(throwable -> retryClassifier.isRetryable(throwable, GitHubApiConstants.RESOURCE_GRAPHQL))));
+    }
+
+    /**
+     * Reconciles the rate-limit budget from every response, as the REST client does. A 401 revokes the token.
+     */
+    private void updateRateLimitFromHeaders(TokenPool.Token token, ClientResponse response) {
+        if (response.statusCode().value() == GitHubApiConstants.HTTP_UNAUTHORIZED) {
+            tokenPool.revoke(token);
+        }
+        tokenPool.update(token, response.headers().asHttpHeaders())
+                .ifPresent(resource -> rateLimitService.updateRateLimit(resource,
+                        tokenPool.totalRemaining(resource), tokenPool.earliestResetEpochSecond(resource)));
+    }
+
+    private Mono<JsonNode> unwrapData(JsonNode response) {
+        JsonNode data = response.path("data");
+        JsonNode errors = response.path("errors");
+        if (errors.isArray() && !errors.isEmpty()) {
+            JsonNode first = errors.get(0);
+            String type = first.path("type").asText();
+            String message = first.path("message").asText();
+            if ("RATE_LIMITED".equals(type)) {
+                return Mono.error(new RateLimitExceededException(config.getError().getRateLimitExceeded(),
+                        LocalDateTime.now().plusHours(GitHubApiConstants.RATE_LIMIT_RESET_BUFFER_HOURS), 0));
+            }
+            // NOT_FOUND arrives alongside a null field in data and is resolved by the caller
+            if (!"NOT_FOUND".equals(type)) {
+                if (data.isMissingNode() || data.isNull()) {
+                    return Mono.error(new GitHubConnectorException(config.getError().getApiError() + ": " + message,
+                            GitHubApiConstants.ERROR_CODE_API_ERROR, 502));
+                }
+                log.warn("GraphQL query returned partial data: {}", message);
+            }
+        }
+        return Mono.just(data);
+    }
+
+    private Mono<? extends Throwable> handleError(ClientResponse response) {
+        int status = response.statusCode().value();
+        return response.bodyToMono(String.class)
+                .defaultIfEmpty("")
+                .map(body -> {
+                    boolean throttled = concurrencyLimiter.onThrottled(response.statusCode(), response.headers().asHttpHeaders(), body);
+                    return switch (status) {
+                        case GitHubApiConstants.HTTP_UNAUTHORIZED ->
+                                new AuthenticationException(config.getError().getAuthenticationFailed() + ": " + body);
+                        case GitHubApiConstants.HTTP_FORBIDDEN -> GitHubApiConstants.RATE_LIMIT_ZERO.equals(
+                                response.headers().asHttpHeaders().getFirst(config.getHeaders().getRateLimitRemaining()))
+                                ? new RateLimitExceededException(config.getError().getRateLimitExceeded(), tokenPool.earliestReset(GitHubApiConstants.RESOURCE_GRAPHQL), 0)
+                                : new GitHubConnectorException(config.getError().getAccessForbidden() + ": " + body,
+                                        throttled ? GitHubApiConstants.ERROR_CODE_SECONDARY_RATE_LIMIT
+                                                : GitHubApiConstants.ERROR_CODE_ACCESS_FORBIDDEN, status);
+                        default -> status >= 500
+                                ? new GitHubConnectorException(config.getError().getServerError() + ": " + body,
+                                        GitHubApiConstants.ERROR_CODE_SERVER_ERROR, status)
+                                : new GitHubConnectorException(config.getError().getClientError() + ": " + body,
+                                        GitHubApiConstants.ERROR_CODE_CLIENT_ERROR, status);
+                    };
+                });
+    }
+
+    private GitHubRepository toRepository(JsonNode node) {
+        GitHubRepository repo = new GitHubRepository(longOrNull(node.path("databaseId")),
+                node.path("name").asText(null), node.path("nameWithOwner").asText(null));
+        repo.setHtmlUrl(node.path("url").asText(null));
+        repo.setDescription(node.path("description").asText(null));
+        repo.setCreatedAt(dateTime(node.path("createdAt")));
+        repo.setUpdatedAt(dateTime(node.path("updatedAt")));
+        repo.setPushedAt(dateTime(node.path("pushedAt")));
+        repo.setLanguage(node.path("primaryLanguage").path("name").asText(null));
+        repo.setStargazersCount(node.path("stargazerCount").asInt());
+        repo.setForksCount(node.path("forkCount").asInt());
+        repo.setWatchersCount(node.path("watchers").path("totalCount").asInt());
+
+        JsonNode ownerNode = node.path("owner");
+        if (!ownerNode.isMissingNode()) {
+            Owner owner = new Owner(longOrNull(ownerNode.path("databaseId")),
+                    ownerNode.path("login").asText(null), ownerNode.path("__typename").asText(null));
+            owner.setAvatarUrl(ownerNode.path("avatarUrl").asText(null));
+            owner.setHtmlUrl(ownerNode.path("url").asText(null));
+            repo.setOwner(owner);
+        }
+
+        JsonNode branchRef = node.path("defaultBranchRef");
+        repo.setDefaultBranch(branchRef.path("name").asText(GitHubApiConstants.DEFAULT_BRANCH_FALLBACK));
+        repo.setRecentCommits(toCommits(branchRef.path("target").path("history")));
+        return repo;
+    }
+
+    private List<GitHubCommit> toCommits(JsonNode history) {
+        List<GitHubCommit> commits = new ArrayList<>();
+        for (JsonNode node : history.path("nodes")) {
+            CommitDetails details = new CommitDetails(node.path("message").asText(null), toAuthorInfo(node.path("author")));
+            details.setCommitter(toAuthorInfo(node.path("committer")));
+
+            GitHubCommit commit = new GitHubCommit(node.path("oid").asText(null), details);
+            commit.setHtmlUrl(node.path("url").asText(null));
+
+            JsonNode user = node.path("author").path("user");
+            if (user.isObject()) {
+                CommitAuthor author = new CommitAuthor(longOrNull(user.path("databaseId")), user.path("login").asText(null));
+                author.setAvatarUrl(user.path("avatarUrl").asText(null));
+                author.setHtmlUrl(user.path("url").asText(null));
+                commit.setAuthor(author);
+            }
+            commits.add(commit);
+        }
+        return commits;
+    }
+
+    private static AuthorInfo toAuthorInfo(JsonNode actor) {
+        if (!actor.isObject()) {
+            return null;
+        }
+        return new AuthorInfo(actor.path("name").asText(null), actor.path("email").asText(null), dateTime(actor.path("date")));
+    }
+
+    private static LocalDateTime dateTime(JsonNode node) {
+        if (!node.isTextual()) {
+            return null;
+        }
+        return OffsetDateTime.parse(node.asText()).atZoneSameInstant(ZoneOffset.UTC).toLocalDateTime();
+    }
+
+    private static Long longOrNull(JsonNode node) {
+        return node.isNumber() ? node.asLong() : null;
+    }
+}
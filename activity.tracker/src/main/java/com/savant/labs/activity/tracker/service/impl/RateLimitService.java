@@ -1,66 +1,258 @@
 package com.savant.labs.activity.tracker.service.impl;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.savant.labs.activity.tracker.client.TokenPool;
+import com.savant.labs.activity.tracker.config.GitHubConfig;
+import com.savant.labs.activity.tracker.constants.GitHubApiConstants;
 import com.savant.labs.activity.tracker.exception.RateLimitExceededException;
 import com.savant.labs.activity.tracker.service.IRateLimitService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Admission control for GitHub's rate-limit resources ({@code core}, {@code graphql},
+ * {@code search}). Every call reserves one unit from its resource's budget, which is reconciled
+ * from the {@code X-RateLimit-*} headers of each response and seeded from {@code /rate_limit} at
+ * startup. When a budget is spent, callers wait in a bounded queue until it resets or is
+ * replenished, as long as that happens before their deadline; otherwise they fail fast with
+ * {@link RateLimitExceededException}.
+ * <p>
+ * A caller can shorten its deadline by putting an {@link Instant} under
+ * {@link #DEADLINE_CONTEXT_KEY} in the Reactor context; the default is {@code github.rate-limit.max-wait}.
+ */
 @Service
 @Slf4j
 public class RateLimitService implements IRateLimitService {
 
-    private final AtomicInteger remainingRequests = new AtomicInteger(5000);
-    private final AtomicLong resetTime = new AtomicLong(System.currentTimeMillis() / 1000 + 3600);
+    public static final String DEADLINE_CONTEXT_KEY = RateLimitService.class.getName() + ".deadline";
+
+    private static final int DEFAULT_LIMIT = 5000;
+    private static final long DEFAULT_WINDOW_SECONDS = 3600;
+    private static final int DEFAULT_SEARCH_LIMIT = 30;
+    private static final long DEFAULT_SEARCH_WINDOW_SECONDS = 60;
+    private static final Duration RESET_SKEW = Duration.ofSeconds(1);
+
+    private final WebClient webClient;
+    private final GitHubConfig config;
+    private final TokenPool tokenPool;
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    public RateLimitService() {
+        this(null, new GitHubConfig(), null);
+    }
+
+    @Autowired
+    public RateLimitService(WebClient webClient, GitHubConfig config, TokenPool tokenPool) {
+        this.webClient = webClient;
+        this.config = config;
+        this.tokenPool = tokenPool;
+    }
 
     @Override
     public Mono<Void> checkRateLimit() {
-        return Mono.fromRunnable(() -> {
-            long currentTime = System.currentTimeMillis() / 1000;
-
-            // Reset if the reset time has passed
-            if (currentTime >= resetTime.get()) {
-                remainingRequests.set(5000);
-                resetTime.set(currentTime + 3600);
-                log.info("Rate limit reset. Remaining requests: {}", remainingRequests.get());
-            }
+        return checkRateLimit(GitHubApiConstants.RESOURCE_CORE);
+    }
 
-            int remaining = remainingRequests.decrementAndGet();
+    @Override
+    public Mono<Void> checkRateLimit(String resource) {
+        return Mono.deferContextual(context -> {
+            Instant deadline = context.<Instant>getOrEmpty(DEADLINE_CONTEXT_KEY)
+                    .orElseGet(() -> Instant.now().plus(config.getRateLimit().getMaxWait()));
+            return admit(bucket(resource), deadline);
+        });
+    }
 
-            if (remaining <= 0) {
-                Duration wait = Duration.between(LocalDateTime.now(), getResetTime());
-                throw new RateLimitExceededException(
-                        "Rate limit exceeded. Wait " + wait.getSeconds() + " seconds",
-                        getResetTime(),
-                        getRemainingRequests()
-                );
+    private Mono<Void> admit(Bucket bucket, Instant deadline) {
+        return Mono.defer(() -> {
+            if (bucket.tryReserve()) {
+                return Mono.empty();
             }
 
-            if (remaining <= 100) {
-                log.warn("Rate limit getting low. Remaining requests: {}", remaining);
+            Instant reset = Instant.ofEpochSecond(bucket.resetEpochSecond.get());
+            if (reset.isAfter(deadline)) {
+                return Mono.error(exceeded(bucket, "resets after the caller's deadline"));
+            }
+            if (!bucket.enqueue(config.getRateLimit().getQueueCapacity())) {
+                return Mono.error(exceeded(bucket, "wait queue is full"));
             }
+
+            Duration untilReset = Duration.between(Instant.now(), reset).plus(RESET_SKEW);
+            log.debug("Rate limit for {} spent, queueing caller for up to {} ms ({} waiting)",
+                    bucket.resource, untilReset.toMillis(), bucket.waiting.get());
+
+            return Mono.firstWithSignal(Mono.delay(untilReset).then(), bucket.replenished.asFlux().next().then())
+                    .doFinally(signal -> bucket.waiting.decrementAndGet())
+                    .then(admit(bucket, deadline));
         });
     }
 
+    private RateLimitExceededException exceeded(Bucket bucket, String reason) {
+        LocalDateTime resetTime = toDateTime(bucket.resetEpochSecond.get());
+        Duration wait = Duration.between(LocalDateTime.now(ZoneOffset.UTC), resetTime);
+        return new RateLimitExceededException(
+                "Rate limit exceeded for " + bucket.resource + " and " + reason + ". Wait " + wait.getSeconds() + " seconds",
+                resetTime,
+                Math.max(0, bucket.remaining.get()));
+    }
+
     @Override
     public void updateRateLimit(int remaining, long reset) {
-        remainingRequests.set(remaining);
-        resetTime.set(reset);
-        log.debug("Rate limit updated. Remaining: {}, Reset time: {}", remaining,
-                LocalDateTime.ofEpochSecond(reset, 0, java.time.ZoneOffset.UTC));
+        updateRateLimit(GitHubApiConstants.RESOURCE_CORE, remaining, reset);
+    }
+
+    @Override
+    public void updateRateLimit(String resource, int remaining, long reset) {
+        Bucket bucket = bucket(resource);
+        bucket.remaining.set(remaining);
+        bucket.resetEpochSecond.set(reset);
+        log.debug("Rate limit for {} updated. Remaining: {}, Reset time: {}", resource, remaining, toDateTime(reset));
+
+        if (remaining > 0 && bucket.waiting.get() > 0) {
+            bucket.replenished.tryEmitNext(remaining);
+        }
+    }
+
+    private void syncFromPool(String resource) {
+        updateRateLimit(resource, tokenPool.totalRemaining(resource), tokenPool.earliestResetEpochSecond(resource));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedOnStartup() {
+        if (!config.getRateLimit().isSeedOnStartup() || webClient == null) {
+            return;
+        }
+        seed().subscribe(null, ex -> log.warn("Could not seed rate limits: {}", ex.getMessage()));
+    }
+
+    /**
+     * Reads every token's budgets from {@code /rate_limit}, which does not count against them.
+     * A token rejected with a 401 is revoked straight away.
+     */
+    public Mono<Void> seed() {
+        String url = config.getBaseUrl() + config.getApi().getRateLimitEndpoint();
+
+        return Flux.fromIterable(tokenPool.tokens())
+                .flatMap(token -> webClient.get()
+                        .uri(url)
+                        .header(GitHubApiConstants.AUTHORIZATION_HEADER, GitHubApiConstants.BEARER_TOKEN_PREFIX + token.getValue())
+                        .retrieve()
+                        .bodyToMono(JsonNode.class)
+                        .doOnNext(body -> body.path("resources").properties().forEach(resource ->
+                                tokenPool.update(token, resource.getKey(),
+                                        resource.getValue().path("limit").asInt(-1),
+                                        resource.getValue().path("remaining").asInt(),
+                                        resource.getValue().path("reset").asLong())))
+                        .onErrorResume(ex -> {
+                            if (ex instanceof WebClientResponseException.Unauthorized) {
+                                tokenPool.revoke(token);
+                            }
+                            log.warn("Could not read rate limits for GitHub {}: {}", token, ex.getMessage());
+                            return Mono.empty();
+                        }))
+                .then(Mono.fromRunnable(() -> {
+                    for (String resource : new String[]{GitHubApiConstants.RESOURCE_CORE,
+                            GitHubApiConstants.RESOURCE_GRAPHQL, GitHubApiConstants.RESOURCE_SEARCH}) {
+                        syncFromPool(resource);
+                    }
+                    log.info("Rate limits seeded. Remaining core: {}, graphql: {}, search: {}",
+                            getRemainingRequests(GitHubApiConstants.RESOURCE_CORE),
+                            getRemainingRequests(GitHubApiConstants.RESOURCE_GRAPHQL),
+                            getRemainingRequests(GitHubApiConstants.RESOURCE_SEARCH));
+                }));
     }
 
     @Override
     public int getRemainingRequests() {
-        return remainingRequests.get();
+        return getRemainingRequests(GitHubApiConstants.RESOURCE_CORE);
+    }
+
+    @Override
+    public int getRemainingRequests(String resource) {
+        return bucket(resource).remaining.get();
     }
 
     @Override
     public LocalDateTime getResetTime() {
-        return LocalDateTime.ofEpochSecond(resetTime.get(), 0, java.time.ZoneOffset.UTC);
+        return toDateTime(bucket(GitHubApiConstants.RESOURCE_CORE).resetEpochSecond.get());
+    }
+
+    private Bucket bucket(String resource) {
+        return buckets.computeIfAbsent(resource, name -> GitHubApiConstants.RESOURCE_SEARCH.equals(name)
+                ? new Bucket(name, DEFAULT_SEARCH_LIMIT, DEFAULT_SEARCH_WINDOW_SECONDS)
+                : new Bucket(name, DEFAULT_LIMIT, DEFAULT_WINDOW_SECONDS));
+    }
+
+    private static LocalDateTime toDateTime(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+
+    private static final class Bucket {
+
+        private final String resource;
+        private final int limit;
+        private final long windowSeconds;
+        private final AtomicInteger remaining;
+        private final AtomicLong resetEpochSecond;
+        private final AtomicInteger waiting = new AtomicInteger();
+        private final Sinks.Many<Integer> replenished = Sinks.many().multicast().directBestEffort();
+
+        private Bucket(String resource, int limit, long windowSeconds) {
+            this.resource = resource;
+            this.limit = limit;
+            this.windowSeconds = windowSeconds;
+            this.remaining = new AtomicInteger(limit);
+            this.resetEpochSecond = new AtomicLong(System.currentTimeMillis() / 1000 + windowSeconds);
+        }
+
+        private boolean tryReserve() {
+            long now = System.currentTimeMillis() / 1000;
+            long reset = resetEpochSecond.get();
+            // Reset if the reset time has passed
+            if (now >= reset && resetEpochSecond.compareAndSet(reset, now + windowSeconds)) {
+                remaining.set(limit);
+                log.info("Rate limit for {} reset. Remaining requests: {}", resource, limit);
+            }
+
+            while (true) {
+                int current = remaining.get();
+                if (current <= 0) {
+                    return false;
+                }
+                if (remaining.compareAndSet(current, current - 1)) {
+                    if (current - 1 <= GitHubApiConstants.RATE_LIMIT_WARNING_THRESHOLD) {
+                        log.warn("Rate limit for {} getting low. Remaining requests: {}", resource, current - 1);
+                    }
+                    return true;
+                }
+            }
+        }
+
+        private boolean enqueue(int capacity) {
+            while (true) {
+                int current = waiting.get();
+                if (current >= capacity) {
+                    return false;
+                }
+                if (waiting.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
     }
 }
@@ -0,0 +1,76 @@
+package com.savant.labs.activity.tracker;
+
+import com.savant.labs.activity.tracker.models.AuthorInfo;
+import com.savant.labs.activity.tracker.models.CommitAuthor;
+import com.savant.labs.activity.tracker.models.CommitDetails;
+import com.savant.labs.activity.tracker.models.GitHubCommit;
+import com.savant.labs.activity.tracker.models.GitHubRepository;
+import com.savant.labs.activity.tracker.models.Owner;
+import com.savant.labs.activity.tracker.models.RepositoryActivity;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Activities shaped like a real GitHub response: one owner, a handful of authors committing
+ * across repositories, and every URL following github.com's scheme. Repository {@code r} is
+ * {@code <username>/repo<r>}, and its commit {@code c} has the message {@code "Change <c>"}, the sha
+ * {@code %040x} of {@code r * 1000 + c} and an author date {@code c} hours before {@link #PUSHED_AT}.
+ */
+public final class ActivityFixtures {
+
+    public static final LocalDateTime PUSHED_AT = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+    private ActivityFixtures() {
+    }
+
+    public static RepositoryActivity activity(String username, int repositories) {
+        return activity(username, repositories, 1);
+    }
+
+    public static RepositoryActivity activity(String username, int repositories, int commitsPerRepository) {
+        List<GitHubRepository> repos = new ArrayList<>();
+        for (int r = 0; r < repositories; r++) {
+            String fullName = username + "/repo" + r;
+            GitHubRepository repo = new GitHubRepository((long) r, "repo" + r, fullName);
+            repo.setHtmlUrl("https://github.com/" + fullName);
+            repo.setDescription("Repository number " + r);
+            repo.setLanguage("Java");
+            repo.setDefaultBranch("main");
+            repo.setStargazersCount(r);
+            repo.setWatchersCount(r);
+            repo.setForksCount(0);
+            repo.setCreatedAt(PUSHED_AT.minusYears(1));
+            repo.setUpdatedAt(PUSHED_AT);
+            repo.setPushedAt(PUSHED_AT);
+            Owner owner = new Owner(7L, username, "User");
+            owner.setAvatarUrl("https://avatars.githubusercontent.com/u/7?v=4");
+            owner.setHtmlUrl("https://github.com/" + username);
+            repo.setOwner(owner);
+
+            List<GitHubCommit> commits = new ArrayList<>();
+            for (int c = 0; c < commitsPerRepository; c++) {
+                String sha = String.format("%040x", r * 1000 + c);
+                int author = c % 3;
+                // Each response carries its own String copies, as Jackson would produce
+                String name = new String("Author " + author);
+                String email = new String("author" + author + "@example.com");
+                CommitDetails details = new CommitDetails("Change " + c,
+                        new AuthorInfo(name, email, PUSHED_AT.minusHours(c)));
+                details.setCommitter(new AuthorInfo(new String(name), new String(email), PUSHED_AT.minusHours(c)));
+                GitHubCommit commit = new GitHubCommit(sha, details);
+                CommitAuthor commitAuthor = new CommitAuthor(100L + author, new String("author" + author));
+                commitAuthor.setAvatarUrl("https://avatars.githubusercontent.com/u/" + (100 + author) + "?v=4");
+                commitAuthor.setHtmlUrl("https://github.com/author" + author);
+                commit.setAuthor(commitAuthor);
+                commit.setHtmlUrl("https://github.com/" + fullName + "/commit/" + sha);
+                commits.add(commit);
+            }
+            repo.setRecentCommits(commits);
+            repos.add(repo);
+        }
+        RepositoryActivity activity = new RepositoryActivity(username, repos);
+        activity.setFetchedAt(PUSHED_AT);
+        return activity;
+    }
+}
@@ -0,0 +1,105 @@
+package com.savant.labs.activity.tracker.cache;
+
+import com.savant.labs.activity.tracker.config.CacheConfig;
+import com.savant.labs.activity.tracker.config.GitHubConfig;
+import com.savant.labs.activity.tracker.constants.GitHubApiConstants;
+import com.savant.labs.activity.tracker.models.RepositoryActivity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.util.unit.DataSize;
+import java.util.List;
+import static com.savant.labs.activity.tracker.ActivityFixtures.activity;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ActivityCacheTest {
+
+    private final CacheConfig cacheConfig = new CacheConfig();
+    private final ActivityWeigher weigher = new ActivityWeigher();
+    private GitHubConfig config;
+
+    @BeforeEach
+    void setUp() {
+        config = new GitHubConfig();
+    }
+
+    @Test
+    void weigh_shouldGrowWithActivitySize() {
+        int small = weigher.weigh("small", activity("small", 1, 1));
+        int large = weigher.weigh("large", activity("large", 50, 10));
+
+        assertTrue(small > 0);
+        assertTrue(large > small * 50, "large=" + large + ", small=" + small);
+    }
+
+    @Test
+    void usernameKeyGenerator_shouldIgnoreCase() {
+        Object lower = cacheConfig.usernameKeyGenerator().generate(this, null, "octocat");
+        Object mixed = cacheConfig.usernameKeyGenerator().generate(this, null, "OctoCat");
+
+        assertEquals(lower, mixed);
+    }
+
+    @Test
+    void activityCache_shouldEvictByWeightInsteadOfEntryCount() {
+        RepositoryActivity large = activity("large", 200, 10);
+        config.getCache().setMaxWeight(DataSize.ofBytes(weigher.weigh("large", CompactActivity.of(large)) + 10_000L));
+
+        CaffeineCache cache = (CaffeineCache) cacheConfig.cacheManager(config, Runnable::run).getCache(GitHubApiConstants.ACTIVITY_CACHE_NAME);
+        assertNotNull(cache);
+
+        cache.put("large", large);
+        for (int i = 0; i < 20; i++) {
+            cache.put("small" + i, activity("small" + i, 1, 1));
+        }
+        cache.getNativeCache().cleanUp();
+
+        long totalWeight = cache.getNativeCache().policy().eviction().orElseThrow().weightedSize().orElseThrow();
+        assertTrue(totalWeight <= config.getCache().getMaxWeight().toBytes());
+        assertTrue(cache.getNativeCache().stats().evictionCount() > 0);
+    }
+
+    @Test
+    void activityCache_shouldStoreCompactFormAndReturnModels() {
+        CaffeineCache cache = (CaffeineCache) cacheConfig.cacheManager(config, Runnable::run).getCache(GitHubApiConstants.ACTIVITY_CACHE_NAME);
+        RepositoryActivity activity = activity("octocat", 2, 3);
+
+        cache.put("octocat", activity);
+
+        assertInstanceOf(CompactActivity.class, cache.getNativeCache().getIfPresent("octocat"));
+        RepositoryActivity cached = cache.get("octocat", RepositoryActivity.class);
+        assertNotNull(cached);
+        assertNotSame(activity, cached);
+        assertEquals(6, cached.getTotalCommitsFetched());
+        assertEquals("octocat/repo1", cached.getRepositories().get(1).getFullName());
+    }
+
+    @Test
+    void activityCache_shouldStoreModelsWhenCompactIsDisabled() {
+        config.getCache().setCompact(false);
+        CaffeineCache cache = (CaffeineCache) cacheConfig.cacheManager(config, Runnable::run).getCache(GitHubApiConstants.ACTIVITY_CACHE_NAME);
+        RepositoryActivity activity = activity("octocat", 1, 1);
+
+        cache.put("octocat", activity);
+
+        assertSame(activity, cache.get("octocat", RepositoryActivity.class));
+    }
+
+    @Test
+    void activityCache_shouldReturnFallbacksWithoutStoringThem() {
+        for (boolean compact : new boolean[]{true, false}) {
+            config.getCache().setCompact(compact);
+            CaffeineCache cache = (CaffeineCache) cacheConfig.cacheManager(config, Runnable::run).getCache(GitHubApiConstants.ACTIVITY_CACHE_NAME);
+            RepositoryActivity fallback = new RepositoryActivity("octocat", List.of());
+            fallback.setFallback(true);
+
+            assertSame(fallback, cache.get("octocat", () -> fallback));
+            cache.put("octocat", fallback);
+            assertNull(cache.getNativeCache().getIfPresent("octocat"));
+
+            RepositoryActivity activity = cache.get("octocat", () -> activity("octocat", 1, 1));
+            assertFalse(activity.isFallback());
+            assertNotNull(cache.getNativeCache().getIfPresent("octocat"));
+        }
+    }
+}
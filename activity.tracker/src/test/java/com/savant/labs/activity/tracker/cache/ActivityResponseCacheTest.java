@@ -0,0 +1,192 @@
+package com.savant.labs.activity.tracker.cache;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.savant.labs.activity.tracker.config.CacheConfig;
+import com.savant.labs.activity.tracker.config.GitHubConfig;
+import com.savant.labs.activity.tracker.constants.GitHubApiConstants;
+import com.savant.labs.activity.tracker.models.RepositoryActivity;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.zip.GZIPInputStream;
+import static com.savant.labs.activity.tracker.ActivityFixtures.activity;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ActivityResponseCacheTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private GitHubConfig config;
+    private Cache activityCache;
+    private SimpleMeterRegistry meterRegistry;
+    private ActivityResponseCache responseCache;
+
+    @BeforeEach
+    void setUp() {
+        config = new GitHubConfig();
+        CacheManager cacheManager = new CacheConfig().cacheManager(config, Runnable::run);
+        activityCache = cacheManager.getCache(GitHubApiConstants.ACTIVITY_CACHE_NAME);
+        meterRegistry = new SimpleMeterRegistry();
+        responseCache = new ActivityResponseCache(config, cacheManager, objectMapper, meterRegistry);
+    }
+
+    private static HttpHeaders headers(String name, String value) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(name, value);
+        return headers;
+    }
+
+    @Test
+    void respond_shouldServeTheSameBytesForEveryHit() throws IOException {
+        assertTrue(responseCache.respond("octocat", new HttpHeaders()).isEmpty());
+        activityCache.put("octocat", activity("octocat", 2));
+
+        ResponseEntity<byte[]> first = responseCache.respond("OctoCat", new HttpHeaders()).orElseThrow();
+        ResponseEntity<byte[]> second = responseCache.respond("octocat", new HttpHeaders()).orElseThrow();
+
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        assertSame(first.getBody(), second.getBody());
+        assertEquals(first.getHeaders().getETag(), second.getHeaders().getETag());
+        assertTrue(first.getHeaders().getETag().startsWith("\""));
+        JsonNode json = objectMapper.readTree(first.getBody());
+        assertEquals("octocat", json.get("username").asText());
+        assertEquals("2024-05-01T12:00:00", json.at("/repositories/0/recentCommits/0/commit/author/date").asText());
+        assertEquals(2.0, meterRegistry.get("github.activity.response-cache.requests").tag("outcome", "hit").counter().count());
+    }
+
+    @Test
+    void respond_shouldAnswerAMatchingIfNoneMatchWithNotModified() {
+        activityCache.put("octocat", activity("octocat", 1));
+        String etag = responseCache.respond("octocat", new HttpHeaders()).orElseThrow().getHeaders().getETag();
+
+        ResponseEntity<byte[]> response = responseCache
+                .respond("octocat", headers(HttpHeaders.IF_NONE_MATCH, "\"other\", W/" + etag))
+                .orElseThrow();
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        assertEquals(etag, response.getHeaders().getETag());
+        assertTrue(response.getHeaders().getVary().contains(HttpHeaders.ACCEPT_ENCODING));
+    }
+
+    @Test
+    void respond_shouldChangeTheETagWhenTheCachedActivityChanges() {
+        activityCache.put("octocat", activity("octocat", 1));
+        String before = responseCache.respond("octocat", new HttpHeaders()).orElseThrow().getHeaders().getETag();
+
+        activityCache.put("octocat", activity("octocat", 3));
+        ResponseEntity<byte[]> after = responseCache.respond("octocat", headers(HttpHeaders.IF_NONE_MATCH, before)).orElseThrow();
+
+        assertEquals(HttpStatus.OK, after.getStatusCode());
+        assertNotEquals(before, after.getHeaders().getETag());
+    }
+
+    @Test
+    void respond_shouldServeGzipToClientsThatAcceptIt() throws IOException {
+        activityCache.put("octocat", activity("octocat", 50));
+        byte[] json = responseCache.respond("octocat", new HttpHeaders()).orElseThrow().getBody();
+
+        ResponseEntity<byte[]> gzipped = responseCache.respond("octocat", headers(HttpHeaders.ACCEPT_ENCODING, "br, gzip;q=0.8"))
+                .orElseThrow();
+        ResponseEntity<byte[]> refused = responseCache.respond("octocat", headers(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0"))
+                .orElseThrow();
+
+        assertEquals("gzip", gzipped.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertTrue(gzipped.getBody().length < json.length);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped.getBody()))) {
+            assertArrayEquals(json, in.readAllBytes());
+        }
+        assertTrue(gzipped.getHeaders().getVary().contains(HttpHeaders.ACCEPT_ENCODING));
+        assertNull(refused.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertSame(json, refused.getBody());
+    }
+
+    @Test
+    void respond_shouldGiveEachContentCodingItsOwnETag() {
+        activityCache.put("octocat", activity("octocat", 50));
+        String identity = responseCache.respond("octocat", new HttpHeaders()).orElseThrow().getHeaders().getETag();
+        String gzip = responseCache.respond("octocat", headers(HttpHeaders.ACCEPT_ENCODING, "gzip")).orElseThrow()
+                .getHeaders().getETag();
+
+        HttpHeaders revalidateGzip = headers(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        revalidateGzip.add(HttpHeaders.IF_NONE_MATCH, gzip);
+        ResponseEntity<byte[]> gzipNotModified = responseCache.respond("octocat", revalidateGzip).orElseThrow();
+        ResponseEntity<byte[]> identityNotModified = responseCache
+                .respond("octocat", headers(HttpHeaders.IF_NONE_MATCH, identity)).orElseThrow();
+
+        assertNotEquals(identity, gzip);
+        assertTrue(gzip.endsWith("-gz\""));
+        assertEquals(HttpStatus.NOT_MODIFIED, gzipNotModified.getStatusCode());
+        assertEquals(gzip, gzipNotModified.getHeaders().getETag());
+        assertEquals(HttpStatus.NOT_MODIFIED, identityNotModified.getStatusCode());
+        assertEquals(identity, identityNotModified.getHeaders().getETag());
+    }
+
+    @Test
+    void respond_shouldCapMaxAgeByTheRemainingTtl() {
+        config.getResponseCache().setMaxAge(Duration.ofHours(1));
+        activityCache.put("octocat", activity("octocat", 1));
+
+        String cacheControl = responseCache.respond("octocat", new HttpHeaders()).orElseThrow()
+                .getHeaders().getCacheControl();
+        long maxAge = Long.parseLong(cacheControl.replace("max-age=", ""));
+
+        assertTrue(maxAge > 0 && maxAge <= config.getCache().getTtl().toSeconds(), "max-age=" + maxAge);
+    }
+
+    @Test
+    void respond_shouldServeOnlyTheSelectedFields() throws IOException {
+        RepositoryActivity activity = activity("octocat", 2);
+        activityCache.put("octocat", activity);
+        FieldProjection fields = FieldProjection.parse("repositories.name");
+
+        ResponseEntity<byte[]> response = responseCache.respond("octocat", activity, fields, new HttpHeaders());
+        ResponseEntity<byte[]> revalidated = responseCache.respond("octocat", activity, fields,
+                headers(HttpHeaders.IF_NONE_MATCH, response.getHeaders().getETag()));
+
+        JsonNode json = objectMapper.readTree(response.getBody());
+        assertEquals("{\"repositories\":[{\"name\":\"repo0\"},{\"name\":\"repo1\"}]}", json.toString());
+        assertTrue(response.getHeaders().getCacheControl().startsWith("max-age="));
+        assertEquals(HttpStatus.NOT_MODIFIED, revalidated.getStatusCode());
+        assertEquals(2.0, meterRegistry.get("github.activity.response-cache.requests").tag("outcome", "projected").counter().count());
+    }
+
+    @Test
+    void respond_shouldGzipLargeProjections() throws IOException {
+        RepositoryActivity activity = activity("octocat", 50);
+        activityCache.put("octocat", activity);
+        FieldProjection fields = FieldProjection.parse("repositories.full_name,repositories.description");
+
+        ResponseEntity<byte[]> identity = responseCache.respond("octocat", activity, fields, new HttpHeaders());
+        ResponseEntity<byte[]> gzipped = responseCache.respond("octocat", activity, fields,
+                headers(HttpHeaders.ACCEPT_ENCODING, "gzip"));
+
+        assertNull(identity.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("gzip", gzipped.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertTrue(gzipped.getBody().length < identity.getBody().length);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped.getBody()))) {
+            assertArrayEquals(identity.getBody(), in.readAllBytes());
+        }
+        assertNotEquals(identity.getHeaders().getETag(), gzipped.getHeaders().getETag());
+    }
+
+    @Test
+    void respond_shouldNotLetUncachedActivitiesBeStored() {
+        RepositoryActivity fallback = activity("octocat", 0);
+
+        ResponseEntity<byte[]> response = responseCache.respond("octocat", fallback, new HttpHeaders());
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("no-cache", response.getHeaders().getCacheControl());
+        assertNotNull(response.getHeaders().getETag());
+    }
+}
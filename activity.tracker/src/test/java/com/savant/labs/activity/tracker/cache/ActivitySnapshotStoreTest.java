@@ -0,0 +1,200 @@
+package com.savant.labs.activity.tracker.cache;
+
+import com.savant.labs.activity.tracker.config.GitHubConfig;
+import com.savant.labs.activity.tracker.models.RepositoryActivity;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import static com.savant.labs.activity.tracker.ActivityFixtures.activity;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ActivitySnapshotStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private GitHubConfig config;
+    private SimpleMeterRegistry meterRegistry;
+    private ActivitySnapshotStore store;
+
+    @BeforeEach
+    void setUp() {
+        config = new GitHubConfig();
+        config.getSnapshot().setEnabled(true);
+        config.getSnapshot().setPath(directory.resolve("snapshots.seg").toString());
+        config.getSnapshot().setMaxSize(DataSize.ofKilobytes(64));
+        meterRegistry = new SimpleMeterRegistry();
+        store = new ActivitySnapshotStore(config, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    private void reopen() {
+        store.close();
+        meterRegistry = new SimpleMeterRegistry();
+        store = new ActivitySnapshotStore(config, meterRegistry);
+    }
+
+    @Test
+    void get_shouldReturnWhatWasPut() {
+        store.put("octocat", activity("octocat", 2));
+        reopen();
+
+        RepositoryActivity stored = store.get("octocat").orElseThrow();
+
+        assertEquals("octocat", stored.getUsername());
+        assertEquals(2, stored.getTotalRepositories());
+        assertEquals("octocat/repo1", stored.getRepositories().get(1).getFullName());
+        assertEquals("Change 0", stored.getRepositories().get(1).getRecentCommits().get(0).getCommit().getMessage());
+        assertEquals(LocalDateTime.of(2024, 5, 1, 12, 0), stored.getRepositories().get(0).getPushedAt());
+        assertTrue(store.get("hubot").isEmpty());
+        assertEquals(1.0, meterRegistry.get("github.activity.snapshot.reads").tag("outcome", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("github.activity.snapshot.reads").tag("outcome", "miss").counter().count());
+    }
+
+    @Test
+    void get_shouldServeTheLatestSnapshotAfterReopening() {
+        store.put("octocat", activity("octocat", 1));
+        store.put("octocat", activity("octocat", 3));
+        store.put("hubot", activity("hubot", 1));
+        reopen();
+
+        assertEquals(2, store.size());
+        assertEquals(3, store.get("octocat").orElseThrow().getTotalRepositories());
+        assertEquals("hubot", store.get("hubot").orElseThrow().getUsername());
+    }
+
+    @Test
+    void get_shouldServeOnlySnapshotsFromBeforeTheRestartAndEachOnce() {
+        store.put("octocat", activity("octocat", 1));
+
+        assertTrue(store.get("octocat").isEmpty());
+        assertTrue(store.getLatest("octocat").isPresent());
+
+        reopen();
+        store.put("hubot", activity("hubot", 1));
+
+        assertTrue(store.get("octocat").isPresent());
+        assertTrue(store.get("octocat").isEmpty());
+        assertTrue(store.get("hubot").isEmpty());
+        assertEquals(1, store.getLatest("octocat").orElseThrow().getTotalRepositories());
+    }
+
+    @Test
+    void get_shouldNotServeARestoredSnapshotThatWasSuperseded() {
+        store.put("octocat", activity("octocat", 1));
+        reopen();
+
+        store.put("octocat", activity("octocat", 2));
+
+        assertTrue(store.get("octocat").isEmpty());
+        assertEquals(2, store.getLatest("octocat").orElseThrow().getTotalRepositories());
+    }
+
+    // Overwrites the length of the first empty record slot, as a torn or corrupted append would
+    private static void corruptNextRecordLength(Path segment, int length) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES);
+            long position = 2 * Integer.BYTES;
+            while (true) {
+                buffer.clear();
+                channel.read(buffer, position);
+                int recordLength = buffer.getInt(0);
+                if (recordLength == 0) {
+                    break;
+                }
+                position += Integer.BYTES + recordLength;
+            }
+            buffer.clear();
+            buffer.putInt(0, length);
+            channel.write(buffer, position);
+        }
+    }
+
+    @Test
+    void open_shouldKeepTheRecordsBeforeACorruptLength() throws IOException {
+        Path segment = directory.resolve("snapshots.seg");
+        for (int length : new int[]{Integer.MAX_VALUE - 2, (int) DataSize.ofKilobytes(64).toBytes(), -1, 1}) {
+            store.close();
+            Files.deleteIfExists(segment);
+            reopen();
+            store.put("octocat", activity("octocat", 1));
+            store.put("hubot", activity("hubot", 2));
+            store.close();
+            corruptNextRecordLength(segment, length);
+
+            reopen();
+            assertEquals(2, store.size(), "length " + length);
+            assertEquals(2, store.get("hubot").orElseThrow().getTotalRepositories());
+
+            store.put("monalisa", activity("monalisa", 3));
+            reopen();
+            assertEquals(3, store.size(), "length " + length);
+            assertEquals(3, store.get("monalisa").orElseThrow().getTotalRepositories());
+        }
+    }
+
+    @Test
+    void get_shouldIgnoreExpiredSnapshots() throws InterruptedException {
+        config.getSnapshot().setMaxAge(Duration.ofMillis(1));
+        store.put("octocat", activity("octocat", 1));
+        reopen();
+        Thread.sleep(10);
+
+        assertTrue(store.get("octocat").isEmpty());
+        assertEquals(1.0, meterRegistry.get("github.activity.snapshot.reads").tag("outcome", "expired").counter().count());
+    }
+
+    @Test
+    void put_shouldCompactWhenTheSegmentIsFull() {
+        for (int i = 0; i < 200; i++) {
+            store.put("user" + (i % 5), activity("user" + (i % 5), 2));
+        }
+
+        assertTrue(meterRegistry.get("github.activity.snapshot.compactions").counter().count() > 0);
+        assertEquals(5, store.size());
+        for (int i = 0; i < 5; i++) {
+            assertEquals("user" + i, store.getLatest("user" + i).orElseThrow().getUsername());
+        }
+        assertTrue(store.usedBytes() <= DataSize.ofKilobytes(64).toBytes());
+    }
+
+    @Test
+    void put_shouldKeepTheNewestEntriesWithinTheSizeCap() {
+        for (int i = 0; i < 500; i++) {
+            store.put("user" + i, activity("user" + i, 2));
+        }
+
+        assertTrue(store.size() < 500);
+        assertTrue(store.getLatest("user499").isPresent());
+        assertTrue(store.getLatest("user0").isEmpty());
+    }
+
+    @Test
+    void store_shouldBeInertWhenDisabled() {
+        store.close();
+        config.getSnapshot().setEnabled(false);
+        config.getSnapshot().setPath(directory.resolve("disabled.seg").toString());
+        store = new ActivitySnapshotStore(config, new SimpleMeterRegistry());
+
+        store.put("octocat", activity("octocat", 1));
+
+        assertFalse(store.isOpen());
+        assertTrue(store.get("octocat").isEmpty());
+        assertFalse(Files.exists(directory.resolve("disabled.seg")));
+    }
+}
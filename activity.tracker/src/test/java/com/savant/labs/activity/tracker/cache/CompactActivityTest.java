@@ -0,0 +1,108 @@
+package com.savant.labs.activity.tracker.cache;
+
+import com.savant.labs.activity.tracker.models.CommitDetails;
+import com.savant.labs.activity.tracker.models.GitHubCommit;
+import com.savant.labs.activity.tracker.models.GitHubRepository;
+import com.savant.labs.activity.tracker.models.RepositoryActivity;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+import java.util.List;
+import static com.savant.labs.activity.tracker.ActivityFixtures.activity;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactActivityTest {
+
+    @Test
+    void toActivity_shouldRestoreEveryField() {
+        RepositoryActivity original = activity("octocat", 3, 4);
+
+        RepositoryActivity restored = CompactActivity.of(original).toActivity();
+
+        assertEquals(original.getUsername(), restored.getUsername());
+        assertEquals(original.getFetchedAt(), restored.getFetchedAt());
+        assertEquals(original.getTotalRepositories(), restored.getTotalRepositories());
+        assertEquals(original.getTotalCommitsFetched(), restored.getTotalCommitsFetched());
+        for (int r = 0; r < original.getRepositories().size(); r++) {
+            GitHubRepository expected = original.getRepositories().get(r);
+            GitHubRepository actual = restored.getRepositories().get(r);
+            assertEquals(expected.getHtmlUrl(), actual.getHtmlUrl());
+            assertEquals(expected.getOwner().getAvatarUrl(), actual.getOwner().getAvatarUrl());
+            assertEquals(expected.getOwner().getHtmlUrl(), actual.getOwner().getHtmlUrl());
+            assertEquals(expected.getOwner().getType(), actual.getOwner().getType());
+            assertEquals(expected.getId(), actual.getId());
+            assertEquals(expected.getFullName(), actual.getFullName());
+            assertEquals(expected.getDescription(), actual.getDescription());
+            assertEquals(expected.getCreatedAt(), actual.getCreatedAt());
+            assertEquals(expected.getPushedAt(), actual.getPushedAt());
+            assertEquals(expected.getStargazersCount(), actual.getStargazersCount());
+            assertEquals(expected.getDefaultBranch(), actual.getDefaultBranch());
+            for (int c = 0; c < expected.getRecentCommits().size(); c++) {
+                GitHubCommit expectedCommit = expected.getRecentCommits().get(c);
+                GitHubCommit actualCommit = actual.getRecentCommits().get(c);
+                assertEquals(expectedCommit.getSha(), actualCommit.getSha());
+                assertEquals(expectedCommit.getHtmlUrl(), actualCommit.getHtmlUrl());
+                assertEquals(expectedCommit.getAuthor().getAvatarUrl(), actualCommit.getAuthor().getAvatarUrl());
+                assertEquals(expectedCommit.getCommit().getMessage(), actualCommit.getCommit().getMessage());
+                assertEquals(expectedCommit.getCommit().getCommitter().getEmail(), actualCommit.getCommit().getCommitter().getEmail());
+                assertEquals(expectedCommit.getCommit().getAuthor().getDate(), actualCommit.getCommit().getAuthor().getDate());
+            }
+        }
+    }
+
+    @Test
+    void toActivity_shouldKeepValuesThatCannotBeDerivedOrPacked() {
+        GitHubRepository repo = new GitHubRepository(1L, "repo", "octocat/repo");
+        repo.setHtmlUrl("https://github.example.com/octocat/repo");
+        GitHubCommit commit = new GitHubCommit("not-a-sha", new CommitDetails("message", null));
+        repo.setRecentCommits(List.of(commit));
+        GitHubRepository bare = new GitHubRepository(2L, "bare", "octocat/bare");
+
+        RepositoryActivity restored = CompactActivity.of(new RepositoryActivity("octocat", List.of(repo, bare))).toActivity();
+
+        GitHubRepository restoredRepo = restored.getRepositories().get(0);
+        assertEquals("https://github.example.com/octocat/repo", restoredRepo.getHtmlUrl());
+        assertEquals("not-a-sha", restoredRepo.getRecentCommits().get(0).getSha());
+        assertNull(restoredRepo.getRecentCommits().get(0).getHtmlUrl());
+        assertNull(restoredRepo.getRecentCommits().get(0).getCommit().getAuthor());
+        assertNull(restoredRepo.getRecentCommits().get(0).getAuthor());
+        GitHubRepository restoredBare = restored.getRepositories().get(1);
+        assertNull(restoredBare.getHtmlUrl());
+        assertNull(restoredBare.getOwner());
+        assertNull(restoredBare.getRecentCommits());
+        assertNull(restoredBare.getPushedAt());
+        assertNull(restoredBare.getStargazersCount());
+    }
+
+    @Test
+    void of_shouldShareOwnersAndPeopleAcrossEntries() {
+        CompactActivity first = CompactActivity.of(activity("octocat", 2, 3));
+        CompactActivity second = CompactActivity.of(activity("octocat", 2, 3));
+
+        assertSame(first.repositories()[0].owner(), second.repositories()[1].owner());
+        assertSame(first.repositories()[0].commits()[0].author(), second.repositories()[1].commits()[0].committer());
+        assertSame(first.repositories()[0].commits()[1].user(), second.repositories()[0].commits()[1].user());
+        assertEquals(20, first.repositories()[0].commits()[0].sha().length);
+    }
+
+    @Test
+    void footprint_shouldShrinkPerCommit() {
+        int repositories = 30;
+        int commitsPerRepository = 10;
+        RepositoryActivity activity = activity("octocat", repositories, commitsPerRepository);
+        RepositoryActivity emptyCommits = activity("octocat", repositories, 0);
+
+        long modelBytes = GraphLayout.parseInstance(activity).totalSize();
+        long compactBytes = GraphLayout.parseInstance(CompactActivity.of(activity)).totalSize();
+        long modelPerCommit = (modelBytes - GraphLayout.parseInstance(emptyCommits).totalSize())
+                / (repositories * commitsPerRepository);
+        long compactPerCommit = (compactBytes - GraphLayout.parseInstance(CompactActivity.of(emptyCommits)).totalSize())
+                / (repositories * commitsPerRepository);
+
+        System.out.printf("Cached activity footprint: models %d bytes (%d per commit), compact %d bytes (%d per commit)%n",
+                modelBytes, modelPerCommit, compactBytes, compactPerCommit);
+
+        assertTrue(compactPerCommit * 2 < modelPerCommit,
+                "compact=" + compactPerCommit + " B/commit, models=" + modelPerCommit + " B/commit");
+        assertTrue(compactBytes < modelBytes);
+    }
+}
@@ -0,0 +1,82 @@
+package com.savant.labs.activity.tracker.cache;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.savant.labs.activity.tracker.constants.GitHubApiConstants;
+import com.savant.labs.activity.tracker.exception.GitHubConnectorException;
+import com.savant.labs.activity.tracker.models.RepositoryActivity;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import java.util.List;
+import static com.savant.labs.activity.tracker.ActivityFixtures.activity;
+import static org.junit.jupiter.api.Assertions.*;
+
+class FieldProjectionTest {
+
+    private static final String CONSUMER_FIELDS =
+            "repositories.name, repositories.pushed_at, repositories.recentCommits.sha, repositories.recentCommits.commit.message";
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final ObjectMapper projecting = FieldProjection.projecting(objectMapper);
+
+    @Test
+    void writer_shouldKeepOnlySelectedPaths() throws Exception {
+        FieldProjection fields = FieldProjection.parse(CONSUMER_FIELDS);
+
+        JsonNode json = objectMapper.readTree(fields.writer(projecting).writeValueAsBytes(activity("octocat", 2, 2)));
+
+        assertEquals(1, json.size());
+        JsonNode repo = json.at("/repositories/1");
+        assertEquals("repo1", repo.get("name").asText());
+        assertEquals("2024-05-01T12:00:00", repo.get("pushed_at").asText());
+        assertFalse(repo.has("owner"));
+        assertFalse(repo.has("html_url"));
+        JsonNode commit = repo.at("/recentCommits/1");
+        assertEquals(2, commit.size());
+        assertEquals(String.format("%040x", 1001), commit.get("sha").asText());
+        assertEquals("Change 1", commit.at("/commit/message").asText());
+        assertFalse(commit.get("commit").has("author"));
+    }
+
+    @Test
+    void writer_shouldKeepWholeObjectsSelectedByAShorterPath() throws Exception {
+        FieldProjection fields = FieldProjection.parse("username,repositories.owner.login,repositories.owner");
+
+        JsonNode json = objectMapper.readTree(fields.writer(projecting).writeValueAsBytes(activity("octocat", 1, 1)));
+
+        assertEquals("octocat", json.get("username").asText());
+        JsonNode owner = json.at("/repositories/0/owner");
+        assertEquals("octocat", owner.get("login").asText());
+        assertEquals("https://github.com/octocat", owner.get("html_url").asText());
+        assertEquals(1, json.at("/repositories/0").size());
+    }
+
+    @Test
+    void writer_shouldShrinkTypicalConsumerPayloads() throws Exception {
+        RepositoryActivity activity = activity("octocat", 30, 10);
+
+        byte[] full = objectMapper.writeValueAsBytes(activity);
+        byte[] projected = FieldProjection.parse(CONSUMER_FIELDS).writer(projecting).writeValueAsBytes(activity);
+
+        assertTrue(projected.length * 4 < full.length, "projected=" + projected.length + " full=" + full.length);
+    }
+
+    @Test
+    void projecting_shouldLeaveTheOriginalMapperAndUnprojectedWritesUnchanged() throws Exception {
+        RepositoryActivity activity = activity("octocat", 2, 2);
+
+        assertArrayEquals(objectMapper.writeValueAsBytes(activity),
+                FieldProjection.ALL.writer(projecting).writeValueAsBytes(activity));
+        assertTrue(FieldProjection.parse(" ").isAll());
+        assertTrue(FieldProjection.parse(null).isAll());
+    }
+
+    @Test
+    void parse_shouldRejectMalformedPaths() {
+        for (String fields : List.of("repositories..name", "repositories.", ",name", "repo-sitories", "a".repeat(3) + ",b".repeat(FieldProjection.MAX_FIELDS))) {
+            GitHubConnectorException e = assertThrows(GitHubConnectorException.class, () -> FieldProjection.parse(fields), fields);
+            assertEquals(GitHubApiConstants.ERROR_CODE_VALIDATION, e.getErrorCode());
+            assertEquals(400, e.getHttpStatus());
+        }
+    }
+}
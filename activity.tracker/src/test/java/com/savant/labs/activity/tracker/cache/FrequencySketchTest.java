@@ -0,0 +1,39 @@
+package com.savant.labs.activity.tracker.cache;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class FrequencySketchTest {
+
+    @Test
+    void frequency_shouldNeverUndercount() {
+        FrequencySketch sketch = new FrequencySketch(64);
+        for (int item = 0; item < 50; item++) {
+            for (int i = 0; i <= item % 7; i++) {
+                sketch.increment("user" + item);
+            }
+        }
+
+        for (int item = 0; item < 50; item++) {
+            assertTrue(sketch.frequency("user" + item) >= item % 7 + 1);
+        }
+        assertTrue(sketch.frequency("unknown") < 7);
+    }
+
+    @Test
+    void increment_shouldHalveCountsOnceTheSampleIsFull() {
+        FrequencySketch sketch = new FrequencySketch(16);
+        for (int i = 0; i < 100; i++) {
+            sketch.increment("hot");
+        }
+        assertEquals(100, sketch.frequency("hot"));
+
+        // width 32, so the 320th addition ages every counter
+        for (int i = 0; i < 220; i++) {
+            sketch.increment("other" + (i % 8));
+        }
+
+        assertTrue(sketch.frequency("hot") <= 50);
+        assertTrue(sketch.frequency("hot") >= 40);
+    }
+}
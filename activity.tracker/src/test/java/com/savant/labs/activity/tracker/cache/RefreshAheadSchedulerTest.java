@@ -0,0 +1,175 @@
+package com.savant.labs.activity.tracker.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.savant.labs.activity.tracker.config.GitHubConfig;
+import com.savant.labs.activity.tracker.constants.GitHubApiConstants;
+import com.savant.labs.activity.tracker.models.RepositoryActivity;
+import com.savant.labs.activity.tracker.service.IGitHubActivityService;
+import com.savant.labs.activity.tracker.service.IRateLimitService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshAheadSchedulerTest {
+
+    @Mock
+    private IGitHubActivityService activityService;
+
+    @Mock
+    private IRateLimitService rateLimitService;
+
+    private final AtomicLong ticker = new AtomicLong();
+    private GitHubConfig config;
+    private CaffeineCacheManager cacheManager;
+    private SimpleMeterRegistry meterRegistry;
+    private RefreshAheadScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        config = new GitHubConfig();
+        config.getRefreshAhead().setEnabled(true);
+        config.getRefreshAhead().setInterval(Duration.ofMillis(20));
+        config.getRefreshAhead().setMinFrequency(2);
+
+        cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(GitHubApiConstants.ACTIVITY_CACHE_NAME, Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMinutes(10))
+                .ticker(ticker::get)
+                .build());
+        meterRegistry = new SimpleMeterRegistry();
+        scheduler = new RefreshAheadScheduler(config, activityService, rateLimitService, cacheManager, meterRegistry);
+    }
+
+    private void cache(String username) {
+        cacheManager.getCache(GitHubApiConstants.ACTIVITY_CACHE_NAME)
+                .put(ActivityCacheKeys.forUsername(username), new RepositoryActivity(username, List.of()));
+    }
+
+    private void access(String username, int times) {
+        for (int i = 0; i < times; i++) {
+            scheduler.recordAccess(username);
+        }
+    }
+
+    private void advance(Duration duration) {
+        ticker.addAndGet(duration.toNanos());
+    }
+
+    private double refreshes(String outcome) {
+        return meterRegistry.get("github.cache.refresh-ahead.refreshes").tag("outcome", outcome).counter().count();
+    }
+
+    @Test
+    void refreshDue_shouldRefreshHotEntriesInsideTheWindow() {
+        when(rateLimitService.getRemainingRequests()).thenReturn(5000);
+        when(activityService.refreshUserActivity("octocat"))
+                .thenReturn(Mono.just(new RepositoryActivity("octocat", List.of())));
+        cache("octocat");
+        cache("hubot");
+        access("octocat", 5);
+        access("hubot", 1);
+
+        advance(Duration.ofMinutes(8));
+        StepVerifier.create(scheduler.refreshDue()).expectNext(0L).verifyComplete();
+
+        advance(Duration.ofSeconds(90));
+        StepVerifier.create(scheduler.refreshDue()).expectNext(1L).verifyComplete();
+
+        verify(activityService).refreshUserActivity("octocat");
+        verify(activityService, never()).refreshUserActivity("hubot");
+        assertEquals(1.0, refreshes("success"));
+        assertEquals(1L, meterRegistry.get("github.cache.refresh-ahead.lag").timer().count());
+    }
+
+    @Test
+    void refreshDue_shouldPreferTheMostRequestedEntries() {
+        config.getRefreshAhead().setMaxRefreshesPerTick(1);
+        when(rateLimitService.getRemainingRequests()).thenReturn(5000);
+        when(activityService.refreshUserActivity("hubot"))
+                .thenReturn(Mono.just(new RepositoryActivity("hubot", List.of())));
+        cache("octocat");
+        cache("hubot");
+        access("octocat", 3);
+        access("hubot", 7);
+
+        advance(Duration.ofSeconds(570));
+        StepVerifier.create(scheduler.refreshDue()).expectNext(1L).verifyComplete();
+
+        verify(activityService, times(1)).refreshUserActivity(anyString());
+        verify(activityService).refreshUserActivity("hubot");
+    }
+
+    @Test
+    void refreshDue_shouldStopWhenTheRateLimitBudgetIsLow() {
+        when(rateLimitService.getRemainingRequests()).thenReturn(10);
+        cache("octocat");
+        access("octocat", 5);
+
+        advance(Duration.ofSeconds(570));
+        StepVerifier.create(scheduler.refreshDue()).expectNext(0L).verifyComplete();
+
+        verifyNoInteractions(activityService);
+        assertEquals(1.0, meterRegistry.get("github.cache.refresh-ahead.skipped")
+                .tag("reason", "rate_limit").counter().count());
+    }
+
+    @Test
+    void refreshDue_shouldCountFailedRefreshes() {
+        when(rateLimitService.getRemainingRequests()).thenReturn(5000);
+        when(activityService.refreshUserActivity("octocat"))
+                .thenReturn(Mono.error(new IllegalStateException("boom")));
+        cache("octocat");
+        access("octocat", 5);
+
+        advance(Duration.ofSeconds(570));
+        StepVerifier.create(scheduler.refreshDue()).expectNext(0L).verifyComplete();
+
+        assertEquals(1.0, refreshes("failure"));
+        assertEquals(0.0, refreshes("success"));
+    }
+
+    @Test
+    void refreshDue_shouldStopWatchingRefreshedEntriesOnceTheyAreGone() {
+        when(rateLimitService.getRemainingRequests()).thenReturn(5000);
+        when(activityService.refreshUserActivity("octocat")).thenAnswer(invocation -> {
+            cache("octocat");
+            return Mono.just(new RepositoryActivity("octocat", List.of()));
+        });
+        cache("octocat");
+        access("octocat", 5);
+
+        advance(Duration.ofSeconds(570));
+        StepVerifier.create(scheduler.refreshDue()).expectNext(1L).verifyComplete();
+        assertEquals(1.0, meterRegistry.get("github.cache.refresh-ahead.replaced").gauge().value());
+
+        advance(Duration.ofMinutes(11));
+        StepVerifier.create(scheduler.refreshDue()).expectNext(0L).verifyComplete();
+        assertEquals(0.0, meterRegistry.get("github.cache.refresh-ahead.replaced").gauge().value());
+    }
+
+    @Test
+    void recordAccess_shouldDoNothingWhenDisabled() {
+        config.getRefreshAhead().setEnabled(false);
+        cache("octocat");
+        access("octocat", 5);
+
+        advance(Duration.ofSeconds(570));
+        StepVerifier.create(scheduler.refreshDue()).expectNext(0L).verifyComplete();
+
+        verifyNoInteractions(activityService);
+        assertEquals(0.0, meterRegistry.get("github.cache.refresh-ahead.tracked").gauge().value());
+    }
+}
@@ -0,0 +1,128 @@
+package com.savant.labs.activity.tracker.client;
+
+import com.savant.labs.activity.tracker.config.GitHubConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private GitHubConfig config;
+    private SimpleMeterRegistry meterRegistry;
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        config = new GitHubConfig();
+        config.getConcurrency().setInitialLimit(2);
+        config.getConcurrency().setMaxLimit(4);
+        meterRegistry = new SimpleMeterRegistry();
+        limiter = new AdaptiveConcurrencyLimiter(config, meterRegistry);
+    }
+
+    @Test
+    void limit_shouldQueueCallsBeyondTheLimit() {
+        List<Sinks.One<String>> upstream = new ArrayList<>();
+        AtomicInteger started = new AtomicInteger();
+        List<Mono<String>> calls = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Sinks.One<String> sink = Sinks.one();
+            upstream.add(sink);
+            calls.add(limiter.limit(Mono.defer(() -> {
+                started.incrementAndGet();
+                return sink.asMono();
+            })));
+        }
+        calls.forEach(Mono::subscribe);
+
+        assertEquals(2, started.get());
+        assertEquals(1, limiter.getQueued());
+        assertEquals(1.0, meterRegistry.get("github.api.concurrency.queued").gauge().value());
+
+        upstream.get(0).tryEmitValue("done");
+
+        assertEquals(3, started.get());
+        assertEquals(0, limiter.getQueued());
+        assertEquals(2, limiter.getInFlight());
+    }
+
+    @Test
+    void limit_shouldGrowAdditivelyOnHealthyCalls() {
+        for (int i = 0; i < 2; i++) {
+            StepVerifier.create(limiter.limit(Mono.just(i))).expectNextCount(1).verifyComplete();
+        }
+
+        // 2 + 1/2 + 1/2.5
+        assertEquals(2.9, limiter.getLimit(), 1e-9);
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void limit_shouldNotExceedMaxLimit() {
+        for (int i = 0; i < 100; i++) {
+            StepVerifier.create(limiter.limit(Mono.just(i))).expectNextCount(1).verifyComplete();
+        }
+
+        assertEquals(4.0, limiter.getLimit());
+    }
+
+    @Test
+    void limit_shouldCutLimitOnLatencySpike() {
+        config.getConcurrency().setLatencyThreshold(Duration.ofMillis(10));
+        config.getConcurrency().setInitialLimit(8);
+        limiter = new AdaptiveConcurrencyLimiter(config, meterRegistry);
+
+        StepVerifier.create(limiter.limit(Mono.delay(Duration.ofMillis(50)))).expectNextCount(1).verifyComplete();
+
+        assertEquals(4.0, limiter.getLimit());
+        assertEquals(1.0, meterRegistry.get("github.api.concurrency.throttled").tag("reason", "latency").counter().count());
+    }
+
+    @Test
+    void onThrottled_shouldCutLimitAndPauseForRetryAfter() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("Retry-After", "1");
+        headers.add("X-RateLimit-Remaining", "4000");
+
+        assertTrue(limiter.onThrottled(HttpStatus.FORBIDDEN, headers, "You have exceeded a secondary rate limit"));
+        assertEquals(1.0, limiter.getLimit());
+
+        AtomicInteger started = new AtomicInteger();
+        StepVerifier.create(limiter.limit(Mono.fromCallable(started::incrementAndGet)))
+                .expectSubscription()
+                .expectNoEvent(Duration.ofMillis(500))
+                .expectNext(1)
+                .expectComplete()
+                .verify(Duration.ofSeconds(3));
+        assertEquals(1.0, meterRegistry.get("github.api.concurrency.throttled").tag("reason", "secondary_limit").counter().count());
+    }
+
+    @Test
+    void onThrottled_shouldIgnorePrimaryRateLimitAndPlainForbidden() {
+        HttpHeaders exhausted = new HttpHeaders();
+        exhausted.add("X-RateLimit-Remaining", "0");
+        HttpHeaders withBudget = new HttpHeaders();
+        withBudget.add("X-RateLimit-Remaining", "4000");
+
+        assertFalse(limiter.onThrottled(HttpStatus.FORBIDDEN, exhausted, "API rate limit exceeded"));
+        assertFalse(limiter.onThrottled(HttpStatus.FORBIDDEN, withBudget, "Resource not accessible by integration"));
+        assertEquals(2.0, limiter.getLimit());
+    }
+
+    @Test
+    void retryAfter_shouldParseSecondsAndHttpDates() {
+        assertEquals(Duration.ofSeconds(30), AdaptiveConcurrencyLimiter.retryAfter("30").orElseThrow());
+        assertEquals(Duration.ZERO, AdaptiveConcurrencyLimiter.retryAfter("Wed, 21 Oct 2015 07:28:00 GMT").orElseThrow());
+        assertTrue(AdaptiveConcurrencyLimiter.retryAfter("soon").isEmpty());
+    }
+}
@@ -0,0 +1,94 @@
+package com.savant.labs.activity.tracker.client;
+
+import com.savant.labs.activity.tracker.config.GitHubConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConditionalRequestStoreTest {
+
+    private static final String URL = "https://api.github.com/users/octocat/repos";
+
+    private GitHubConfig config;
+    private SimpleMeterRegistry meterRegistry;
+    private ConditionalRequestStore store;
+
+    @BeforeEach
+    void setUp() {
+        config = new GitHubConfig();
+        meterRegistry = new SimpleMeterRegistry();
+        store = new ConditionalRequestStore(config, meterRegistry);
+    }
+
+    private static ResponseEntity<List<String>> response(String etag, List<String> body) {
+        HttpHeaders headers = new HttpHeaders();
+        if (etag != null) {
+            headers.setETag(etag);
+        }
+        headers.add(HttpHeaders.LINK, "<https://api.github.com/x?page=2>; rel=\"next\"");
+        headers.add("X-RateLimit-Remaining", "4999");
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+
+    @Test
+    void store_shouldReplayEtagAsIfNoneMatch() {
+        store.store(URL, response("\"abc\"", List.of("repo")), false);
+
+        ConditionalRequestStore.Entry entry = store.get(URL);
+        assertNotNull(entry);
+
+        HttpHeaders requestHeaders = new HttpHeaders();
+        entry.applyValidators(requestHeaders);
+        assertEquals("\"abc\"", requestHeaders.getFirst(HttpHeaders.IF_NONE_MATCH));
+
+        ResponseEntity<List<String>> replayed = entry.toResponseEntity();
+        assertEquals(List.of("repo"), replayed.getBody());
+        assertNotNull(replayed.getHeaders().getFirst(HttpHeaders.LINK));
+        assertNull(replayed.getHeaders().getFirst("X-RateLimit-Remaining"));
+    }
+
+    @Test
+    void store_shouldKeepAnUnmodifiableSnapshotOfTheBody() {
+        List<String> body = new ArrayList<>(List.of("repo"));
+        store.store(URL, response("\"abc\"", body), false);
+        body.add("added later");
+
+        List<String> replayed = store.get(URL).<List<String>>toResponseEntity().getBody();
+        assertEquals(List.of("repo"), replayed);
+        assertThrows(UnsupportedOperationException.class, () -> replayed.add("other"));
+    }
+
+    @Test
+    void store_shouldSkipResponsesWithoutValidators() {
+        store.store(URL, response(null, List.of("repo")), false);
+
+        assertNull(store.get(URL));
+    }
+
+    @Test
+    void store_shouldCountConditionalOutcomes() {
+        store.store(URL, response("\"abc\"", List.of("repo")), false);
+        store.store(URL, response("\"def\"", List.of("repo", "other")), true);
+        store.recordNotModified();
+
+        assertEquals(1.0, meterRegistry.get("github.api.conditional.requests").tag("result", "unconditional").counter().count());
+        assertEquals(1.0, meterRegistry.get("github.api.conditional.requests").tag("result", "modified").counter().count());
+        assertEquals(1.0, meterRegistry.get("github.api.conditional.requests").tag("result", "not_modified").counter().count());
+    }
+
+    @Test
+    void get_shouldReturnNothing_whenDisabled() {
+        config.getConditionalRequests().setEnabled(false);
+        store = new ConditionalRequestStore(config, new SimpleMeterRegistry());
+
+        store.store(URL, response("\"abc\"", List.of("repo")), false);
+
+        assertNull(store.get(URL));
+    }
+}
@@ -0,0 +1,80 @@
+package com.savant.labs.activity.tracker.client;
+
+import com.savant.labs.activity.tracker.config.GitHubConfig;
+import com.savant.labs.activity.tracker.config.WebClientConfig;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.test.StepVerifier;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectionWarmerTest {
+
+    private HttpServer server;
+    private ExecutorService serverThreads;
+    private final AtomicInteger headRequests = new AtomicInteger();
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private GitHubConfig config;
+    private ConnectionProvider connectionProvider;
+    private ConnectionWarmer warmer;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        serverThreads = Executors.newFixedThreadPool(4);
+        server.setExecutor(serverThreads);
+        server.createContext("/rate_limit", exchange -> {
+            if ("HEAD".equals(exchange.getRequestMethod())) {
+                headRequests.incrementAndGet();
+            }
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+
+        config = new GitHubConfig();
+        config.setBaseUrl("http://localhost:" + server.getAddress().getPort());
+        config.getApi().setRateLimitEndpoint("/rate_limit");
+        config.getConnection().setWarmupConnections(3);
+        config.getConnection().setMetrics(false);
+        WebClientConfig webClientConfig = new WebClientConfig();
+        connectionProvider = webClientConfig.githubConnectionProvider(config);
+        warmer = new ConnectionWarmer(webClientConfig.githubHttpClient(config, connectionProvider), config);
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionProvider.dispose();
+        server.stop(0);
+        serverThreads.shutdownNow();
+    }
+
+    @Test
+    void warmUp_shouldOpenTheConfiguredNumberOfPooledConnections() {
+        StepVerifier.create(warmer.warmUp())
+                .expectNext(3L)
+                .verifyComplete();
+
+        assertEquals(3, headRequests.get());
+        assertEquals(3, clientPorts.size());
+    }
+
+    @Test
+    void warmUp_shouldNotFailWhenTheUpstreamIsUnreachable() {
+        server.stop(0);
+
+        StepVerifier.create(warmer.warmUp())
+                .expectNext(0L)
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,134 @@
+package com.savant.labs.activity.tracker.client;
+
+import com.savant.labs.activity.tracker.config.GitHubConfig;
+import com.savant.labs.activity.tracker.models.GitHubCommit;
+import com.savant.labs.activity.tracker.models.GitHubRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonArrayStreamDecoderTest {
+
+    private GitHubConfig config;
+    private JsonArrayStreamDecoder decoder;
+
+    @BeforeEach
+    void setUp() {
+        config = new GitHubConfig();
+        decoder = new JsonArrayStreamDecoder(Jackson2ObjectMapperBuilder.json().build(), config);
+    }
+
+    private static String repository(int i) {
+        return "{\"id\":" + i + ",\"node_id\":\"R_" + i + "\",\"name\":\"repo" + i + "\",\"full_name\":\"octocat/repo" + i + "\","
+                + "\"owner\":{\"login\":\"octocat\",\"id\":7,\"gravatar_id\":\"\",\"site_admin\":false,\"type\":\"User\"},"
+                + "\"topics\":[\"a\",{\"nested\":[1,2,{\"deep\":null}]}],\"license\":{\"key\":\"mit\",\"name\":\"MIT\"},"
+                + "\"pushed_at\":\"2024-05-01T12:00:00Z\",\"stargazers_count\":" + i + ",\"permissions\":{\"admin\":false}}";
+    }
+
+    private static Flux<DataBuffer> chunked(String json, int chunkSize) {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        List<DataBuffer> buffers = new ArrayList<>();
+        for (int offset = 0; offset < bytes.length; offset += chunkSize) {
+            buffers.add(DefaultDataBufferFactory.sharedInstance.wrap(
+                    Arrays.copyOfRange(bytes, offset, Math.min(bytes.length, offset + chunkSize))));
+        }
+        return Flux.fromIterable(buffers);
+    }
+
+    @Test
+    void decode_shouldBindElementsSplitAcrossBuffersAndSkipUnmappedFields() {
+        String json = IntStream.range(0, 3).mapToObj(JsonArrayStreamDecoderTest::repository)
+                .collect(Collectors.joining(",", "[", "]"));
+
+        StepVerifier.create(decoder.decode(chunked(json, 7), GitHubRepository.class))
+                .assertNext(repo -> {
+                    assertEquals(0L, repo.getId());
+                    assertEquals("octocat/repo0", repo.getFullName());
+                    assertEquals("octocat", repo.getOwner().getLogin());
+                    assertEquals("User", repo.getOwner().getType());
+                    assertEquals(LocalDateTime.of(2024, 5, 1, 12, 0), repo.getPushedAt());
+                })
+                .assertNext(repo -> assertEquals("repo1", repo.getName()))
+                .assertNext(repo -> assertEquals(2, repo.getStargazersCount()))
+                .verifyComplete();
+    }
+
+    @Test
+    void decode_shouldBindNestedModelsAndLists() {
+        String json = "[{\"sha\":\"abc\",\"node_id\":\"C_1\",\"commit\":{\"message\":\"Fix\",\"tree\":{\"sha\":\"t\"},"
+                + "\"author\":{\"name\":\"Alice\",\"email\":\"alice@example.com\",\"date\":\"2024-05-01T12:00:00Z\"}},"
+                + "\"parents\":[{\"sha\":\"p\"}],\"author\":{\"login\":\"alice\",\"id\":100,\"followers_url\":\"x\"}}, null]";
+
+        StepVerifier.create(decoder.decode(chunked(json, 5), GitHubCommit.class))
+                .assertNext(commit -> {
+                    assertEquals("abc", commit.getSha());
+                    assertEquals("Fix", commit.getCommit().getMessage());
+                    assertEquals("Alice", commit.getCommit().getAuthor().getName());
+                    assertEquals(LocalDateTime.of(2024, 5, 1, 12, 0), commit.getCommit().getAuthor().getDate());
+                    assertEquals("alice", commit.getAuthor().getLogin());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void decode_shouldEmitEachElementBeforeTheBodyEnds() {
+        Sinks.Many<DataBuffer> body = Sinks.many().unicast().onBackpressureBuffer();
+
+        StepVerifier.create(decoder.decode(body.asFlux(), GitHubRepository.class))
+                .then(() -> body.tryEmitNext(DefaultDataBufferFactory.sharedInstance.wrap(
+                        ("[" + repository(0) + ",").getBytes(StandardCharsets.UTF_8))))
+                .assertNext(repo -> assertEquals("repo0", repo.getName()))
+                .then(() -> {
+                    body.tryEmitNext(DefaultDataBufferFactory.sharedInstance.wrap(
+                            (repository(1) + "]").getBytes(StandardCharsets.UTF_8)));
+                    body.tryEmitComplete();
+                })
+                .assertNext(repo -> assertEquals("repo1", repo.getName()))
+                .verifyComplete();
+    }
+
+    @Test
+    void decode_shouldLimitEachElementButNotThePage() {
+        config.getDecoding().setMaxElementSize(DataSize.ofBytes(repository(999).length() + 10));
+        decoder = new JsonArrayStreamDecoder(Jackson2ObjectMapperBuilder.json().build(), config);
+        String page = IntStream.range(0, 1000).mapToObj(JsonArrayStreamDecoderTest::repository)
+                .collect(Collectors.joining(",", "[", "]"));
+        String oversized = "[{\"id\":1,\"description\":\"" + "x".repeat(repository(999).length() + 10) + "\"}]";
+
+        StepVerifier.create(decoder.decode(chunked(page, 8192), GitHubRepository.class).count())
+                .expectNext(1000L)
+                .verifyComplete();
+        StepVerifier.create(decoder.decode(chunked(oversized, 64), GitHubRepository.class))
+                .expectError(DataBufferLimitException.class)
+                .verify();
+    }
+
+    @Test
+    void decode_shouldRejectBodiesThatAreNotASingleCompleteArray() {
+        StepVerifier.create(decoder.decode(chunked("{\"message\":\"Not Found\"}", 8), GitHubRepository.class))
+                .expectError(DecodingException.class)
+                .verify();
+        StepVerifier.create(decoder.decode(chunked("[" + repository(0), 8), GitHubRepository.class))
+                .expectNextCount(1)
+                .expectError(DecodingException.class)
+                .verify();
+        StepVerifier.create(decoder.decode(Flux.empty(), GitHubRepository.class))
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,29 @@
+package com.savant.labs.activity.tracker.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import java.util.OptionalInt;
+import static org.junit.jupiter.api.Assertions.*;
+
+class LinkHeaderTest {
+
+    private static final String GITHUB_LINK = "<https://api.github.com/user/583231/repos?per_page=100&page=2>; rel=\"next\", "
+            + "<https://api.github.com/user/583231/repos?per_page=100&page=7>; rel=\"last\"";
+
+    @Test
+    void page_shouldReadNextAndLast() {
+        assertEquals(OptionalInt.of(2), LinkHeader.page(GITHUB_LINK, LinkHeader.REL_NEXT));
+        assertEquals(OptionalInt.of(7), LinkHeader.page(GITHUB_LINK, LinkHeader.REL_LAST));
+    }
+
+    @Test
+    void lastPage_shouldBeEmpty_whenHeaderMissingOrOnLastPage() {
+        assertTrue(LinkHeader.lastPage(new HttpHeaders()).isEmpty());
+        assertTrue(LinkHeader.page("<https://api.github.com/user/1/repos?page=1>; rel=\"prev\"", LinkHeader.REL_LAST).isEmpty());
+    }
+
+    @Test
+    void page_shouldIgnoreMalformedEntries() {
+        assertTrue(LinkHeader.page("garbage, <https://api.github.com/x?page=abc>; rel=\"last\"", LinkHeader.REL_LAST).isEmpty());
+    }
+}
@@ -0,0 +1,109 @@
+package com.savant.labs.activity.tracker.client;
+
+import com.savant.labs.activity.tracker.config.GitHubConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestHedgerTest {
+
+    private static final String ENDPOINT = "commits";
+
+    private GitHubConfig config;
+    private SimpleMeterRegistry meterRegistry;
+    private RequestHedger hedger;
+
+    @BeforeEach
+    void setUp() {
+        config = new GitHubConfig();
+        config.setToken("test-token");
+        config.getHedging().setEnabled(true);
+        config.getHedging().setMinSamples(5);
+        config.getHedging().setMinDelay(Duration.ofMillis(20));
+        meterRegistry = new SimpleMeterRegistry();
+        hedger = new RequestHedger(config, new TokenPool(config, new SimpleMeterRegistry()), meterRegistry);
+    }
+
+    @Test
+    void hedge_shouldNotDuplicateWhenDisabled() {
+        config.getHedging().setEnabled(false);
+        AtomicInteger subscriptions = new AtomicInteger();
+
+        StepVerifier.create(hedger.hedge(ENDPOINT, Mono.fromCallable(subscriptions::incrementAndGet)))
+                .expectNext(1)
+                .verifyComplete();
+
+        assertTrue(hedger.hedgeDelay(ENDPOINT).isEmpty());
+    }
+
+    @Test
+    void hedge_shouldWaitForEnoughSamples() {
+        warmUp(4);
+
+        assertTrue(hedger.hedgeDelay(ENDPOINT).isEmpty());
+
+        warmUp(1);
+
+        assertEquals(Duration.ofMillis(20), hedger.hedgeDelay(ENDPOINT).orElseThrow());
+    }
+
+    @Test
+    void hedge_shouldTakeTheDuplicateWhenThePrimaryIsSlow() {
+        warmUp(5);
+
+        StepVerifier.create(hedger.hedge(ENDPOINT, slowFirstSubscription()))
+                .expectNext("fast")
+                .expectComplete()
+                .verify(Duration.ofSeconds(1));
+
+        assertEquals(1.0, counter("github.api.hedge.sent"));
+        assertEquals(1.0, counter("github.api.hedge.won"));
+    }
+
+    @Test
+    void hedge_shouldStopAtTheHedgeCap() {
+        config.getHedging().setMaxBurst(1);
+        config.getHedging().setMaxRatio(0.0);
+        hedger = new RequestHedger(config, new TokenPool(config, new SimpleMeterRegistry()), meterRegistry);
+        warmUp(5);
+
+        StepVerifier.create(hedger.hedge(ENDPOINT, slowFirstSubscription())).expectNext("fast").verifyComplete();
+        StepVerifier.create(hedger.hedge(ENDPOINT, slowFirstSubscription())).expectNext("slow").verifyComplete();
+
+        assertEquals(1.0, counter("github.api.hedge.sent"));
+        assertEquals(1.0, meterRegistry.get("github.api.hedge.skipped").tag("reason", "capped").counter().count());
+    }
+
+    @Test
+    void hedge_shouldNotSpendRateLimitBudgetTheCallsNeed() {
+        config.getHedging().setMinRemainingRequests(10_000);
+        warmUp(5);
+
+        StepVerifier.create(hedger.hedge(ENDPOINT, slowFirstSubscription())).expectNext("slow").verifyComplete();
+
+        assertEquals(0.0, counter("github.api.hedge.sent"));
+        assertEquals(1.0, meterRegistry.get("github.api.hedge.skipped").tag("reason", "rate_limit").counter().count());
+    }
+
+    private void warmUp(int calls) {
+        for (int i = 0; i < calls; i++) {
+            StepVerifier.create(hedger.hedge(ENDPOINT, Mono.just("warm"))).expectNext("warm").verifyComplete();
+        }
+    }
+
+    private static Mono<String> slowFirstSubscription() {
+        AtomicInteger subscriptions = new AtomicInteger();
+        return Mono.defer(() -> subscriptions.incrementAndGet() == 1
+                ? Mono.delay(Duration.ofMillis(300)).thenReturn("slow")
+                : Mono.just("fast"));
+    }
+
+    private double counter(String name) {
+        return meterRegistry.get(name).tag("endpoint", ENDPOINT).counter().count();
+    }
+}
@@ -0,0 +1,122 @@
+package com.savant.labs.activity.tracker.client;
+
+import com.savant.labs.activity.tracker.config.GitHubConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.util.retry.Retry;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryBudgetTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RetryBudget retryBudget;
+
+    @BeforeEach
+    void setUp() {
+        GitHubConfig config = new GitHubConfig();
+        config.getRetryBudget().setMaxTokens(2);
+        config.getRetryBudget().setRatio(0.5);
+        meterRegistry = new SimpleMeterRegistry();
+        retryBudget = new RetryBudget(config, meterRegistry);
+    }
+
+    @Test
+    void tryAcquire_shouldRejectOnceTheBudgetIsSpent() {
+        assertTrue(retryBudget.tryAcquire());
+        assertTrue(retryBudget.tryAcquire());
+        assertFalse(retryBudget.tryAcquire());
+
+        assertEquals(2.0, meterRegistry.get("github.api.retry.budget.retries").tag("outcome", "granted").counter().count());
+        assertEquals(1.0, meterRegistry.get("github.api.retry.budget.retries").tag("outcome", "rejected").counter().count());
+        assertEquals(0.0, meterRegistry.get("github.api.retry.budget.tokens").gauge().value());
+    }
+
+    @Test
+    void recordSuccess_shouldRefillByRatio() {
+        retryBudget.tryAcquire();
+        retryBudget.tryAcquire();
+
+        retryBudget.recordSuccess();
+        assertFalse(retryBudget.tryAcquire());
+
+        retryBudget.recordSuccess();
+        assertEquals(1.0, retryBudget.getAvailableTokens());
+        assertTrue(retryBudget.tryAcquire());
+    }
+
+    @Test
+    void recordSuccess_shouldNotExceedMaxTokens() {
+        for (int i = 0; i < 10; i++) {
+            retryBudget.recordSuccess();
+        }
+
+        assertEquals(2.0, retryBudget.getAvailableTokens());
+        assertEquals(10.0, meterRegistry.get("github.api.retry.budget.deposits").counter().count());
+    }
+
+    @Test
+    void limit_shouldWithdrawOnlyForRetriesThatRun() {
+        AtomicInteger attempts = new AtomicInteger();
+        Mono<String> call = Mono.defer(() -> {
+            attempts.incrementAndGet();
+            return Mono.error(new IOException("connection reset"));
+        });
+
+        StepVerifier.create(call.retryWhen(retryBudget.limit(Retry.backoff(1, Duration.ofMillis(1)))))
+                .expectErrorSatisfies(error -> assertTrue(Exceptions.isRetryExhausted(error)))
+                .verify();
+
+        assertEquals(2, attempts.get());
+        assertEquals(1.0, retryBudget.getAvailableTokens());
+        assertEquals(1.0, meterRegistry.get("github.api.retry.budget.retries").tag("outcome", "granted").counter().count());
+    }
+
+    @Test
+    void limit_shouldFailWithTheOriginalErrorOnceTheBudgetIsSpent() {
+        AtomicInteger attempts = new AtomicInteger();
+        Mono<String> call = Mono.defer(() -> {
+            attempts.incrementAndGet();
+            return Mono.error(new IOException("connection reset"));
+        });
+
+        StepVerifier.create(call.retryWhen(retryBudget.limit(Retry.backoff(5, Duration.ofMillis(1)))))
+                .expectError(IOException.class)
+                .verify();
+
+        assertEquals(3, attempts.get());
+        assertEquals(0.0, retryBudget.getAvailableTokens());
+        assertEquals(1.0, meterRegistry.get("github.api.retry.budget.retries").tag("outcome", "rejected").counter().count());
+    }
+
+    @Test
+    void limit_shouldNotWithdrawForErrorsTheFilterRejects() {
+        Mono<String> call = Mono.error(new IllegalStateException("not retryable"));
+
+        StepVerifier.create(call.retryWhen(retryBudget.limit(Retry.backoff(3, Duration.ofMillis(1))
+                        .filter(error -> error instanceof IOException))))
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        assertEquals(2.0, retryBudget.getAvailableTokens());
+    }
+
+    @Test
+    void refund_shouldReturnAWithdrawnRetry() {
+        retryBudget.tryAcquire();
+        retryBudget.tryAcquire();
+
+        retryBudget.refund();
+
+        assertEquals(1.0, retryBudget.getAvailableTokens());
+        assertEquals(1.0, meterRegistry.get("github.api.retry.budget.retries").tag("outcome", "refunded").counter().count());
+    }
+}
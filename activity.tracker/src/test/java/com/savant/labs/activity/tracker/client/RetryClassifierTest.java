@@ -0,0 +1,65 @@
+package com.savant.labs.activity.tracker.client;
+
+import com.savant.labs.activity.tracker.config.GitHubConfig;
+import com.savant.labs.activity.tracker.constants.GitHubApiConstants;
+import com.savant.labs.activity.tracker.exception.AuthenticationException;
+import com.savant.labs.activity.tracker.exception.GitHubConnectorException;
+import com.savant.labs.activity.tracker.exception.UserNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryClassifierTest {
+
+    private TokenPool tokenPool;
+    private RetryClassifier classifier;
+
+    @BeforeEach
+    void setUp() {
+        GitHubConfig config = new GitHubConfig();
+        config.setToken("test-token");
+        tokenPool = new TokenPool(config, new SimpleMeterRegistry());
+        classifier = new RetryClassifier(tokenPool);
+    }
+
+    @Test
+    void isRetryable_shouldRetryTransientFailures() {
+        assertTrue(classifier.isRetryable(connectorError(GitHubApiConstants.ERROR_CODE_SERVER_ERROR, 502)));
+        assertTrue(classifier.isRetryable(connectorError(GitHubApiConstants.ERROR_CODE_CLIENT_ERROR, 429)));
+        assertTrue(classifier.isRetryable(connectorError(GitHubApiConstants.ERROR_CODE_SECONDARY_RATE_LIMIT, 403)));
+        assertTrue(classifier.isRetryable(new TimeoutException()));
+    }
+
+    @Test
+    void isRetryable_shouldNotRetryPermanentFailures() {
+        assertFalse(classifier.isRetryable(new UserNotFoundException("octocat")));
+        assertFalse(classifier.isRetryable(connectorError(GitHubApiConstants.ERROR_CODE_ACCESS_FORBIDDEN, 403)));
+        assertFalse(classifier.isRetryable(connectorError(GitHubApiConstants.ERROR_CODE_CLIENT_ERROR, 422)));
+        assertFalse(classifier.isRetryable(new IllegalStateException("bug")));
+    }
+
+    @Test
+    void isRetryable_shouldLookThroughWrappers() {
+        Throwable wrapped = new CompletionException(new GitHubConnectorException("Unexpected error",
+                connectorError(GitHubApiConstants.ERROR_CODE_SERVER_ERROR, 503)));
+
+        assertTrue(classifier.isRetryable(wrapped));
+        assertFalse(classifier.isRetryable(new CompletionException(new UserNotFoundException("octocat"))));
+    }
+
+    @Test
+    void isRetryable_shouldRetryRejectedTokenOnlyWhileAnotherIsAvailable() {
+        assertTrue(classifier.isRetryable(new AuthenticationException("Bad credentials")));
+
+        tokenPool.revoke(tokenPool.acquire());
+
+        assertFalse(classifier.isRetryable(new AuthenticationException("Bad credentials")));
+    }
+
+    private static GitHubConnectorException connectorError(String errorCode, int status) {
+        return new GitHubConnectorException("GitHub call failed", errorCode, status);
+    }
+}
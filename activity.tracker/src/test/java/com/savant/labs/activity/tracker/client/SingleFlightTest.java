@@ -0,0 +1,166 @@
+package com.savant.labs.activity.tracker.client;
+
+import com.savant.labs.activity.tracker.config.GitHubConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private static final String URL = "https://api.github.com/users/octocat/repos?page=1";
+
+    private GitHubConfig config;
+    private SimpleMeterRegistry meterRegistry;
+    private SingleFlight singleFlight;
+    private AtomicInteger calls;
+    private AtomicBoolean cancelled;
+    private Sinks.One<String> response;
+
+    @BeforeEach
+    void setUp() {
+        config = new GitHubConfig();
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new SingleFlight(config, meterRegistry);
+        calls = new AtomicInteger();
+        cancelled = new AtomicBoolean();
+        response = Sinks.one();
+    }
+
+    private Mono<String> upstream() {
+        return Mono.defer(() -> {
+            calls.incrementAndGet();
+            return response.asMono();
+        }).doOnCancel(() -> cancelled.set(true));
+    }
+
+    private double coalesced() {
+        return meterRegistry.get("github.api.coalesced").counter().count();
+    }
+
+    @Test
+    void execute_shouldShareOneCallBetweenConcurrentCallers() {
+        Mono<String> first = singleFlight.execute(URL, upstream());
+        Mono<String> second = singleFlight.execute(URL, upstream());
+
+        StepVerifier.create(Mono.zip(first, second))
+                .then(() -> response.tryEmitValue("repos"))
+                .assertNext(results -> {
+                    assertEquals("repos", results.getT1());
+                    assertEquals("repos", results.getT2());
+                })
+                .verifyComplete();
+
+        assertEquals(1, calls.get());
+        assertEquals(1.0, coalesced());
+    }
+
+    @Test
+    void execute_shouldShareErrors() {
+        Mono<String> first = singleFlight.execute(URL, upstream());
+        Mono<String> second = singleFlight.execute(URL, upstream());
+
+        StepVerifier.create(Mono.zip(first.onErrorReturn("failed"), second.onErrorReturn("failed")))
+                .then(() -> response.tryEmitError(new IllegalStateException("boom")))
+                .assertNext(results -> assertEquals("failed", results.getT2()))
+                .verifyComplete();
+
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void execute_shouldKeepTheCallWhileOtherCallersWait() {
+        Disposable impatient = singleFlight.execute(URL, upstream()).subscribe();
+        Mono<String> patient = singleFlight.execute(URL, upstream());
+
+        StepVerifier.create(patient)
+                .then(impatient::dispose)
+                .then(() -> assertFalse(cancelled.get()))
+                .then(() -> response.tryEmitValue("repos"))
+                .expectNext("repos")
+                .verifyComplete();
+
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void execute_shouldCancelTheCallOnceEveryCallerHasLeft() {
+        Disposable first = singleFlight.execute(URL, upstream()).subscribe();
+        Disposable second = singleFlight.execute(URL, upstream()).subscribe();
+
+        first.dispose();
+        second.dispose();
+
+        assertTrue(cancelled.get());
+        response.tryEmitValue("late");
+        StepVerifier.create(singleFlight.execute(URL, Mono.just("fresh")))
+                .expectNext("fresh")
+                .verifyComplete();
+    }
+
+    @Test
+    void execute_shouldStartAFreshCallOnceTheSharedOneCompleted() {
+        response.tryEmitValue("repos");
+
+        StepVerifier.create(singleFlight.execute(URL, upstream())).expectNext("repos").verifyComplete();
+        StepVerifier.create(singleFlight.execute(URL, upstream())).expectNext("repos").verifyComplete();
+
+        assertEquals(2, calls.get());
+        assertEquals(0.0, coalesced());
+    }
+
+    @Test
+    void execute_shouldNotShareCallsForDifferentUrls() {
+        StepVerifier.create(Mono.zip(singleFlight.execute(URL, upstream()), singleFlight.execute(URL + "2", upstream())))
+                .then(() -> response.tryEmitValue("repos"))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertEquals(2, calls.get());
+        assertEquals(0.0, coalesced());
+    }
+
+    @Test
+    void execute_shouldPassThroughWhenDisabled() {
+        config.getCoalescing().setEnabled(false);
+        singleFlight = new SingleFlight(config, new SimpleMeterRegistry());
+
+        StepVerifier.create(Mono.zip(singleFlight.execute(URL, upstream()), singleFlight.execute(URL, upstream())))
+                .then(() -> response.tryEmitValue("repos"))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void execute_shouldTimeOutCallersIndependently() {
+        Mono<String> shared = singleFlight.execute(URL, upstream());
+
+        StepVerifier.create(Mono.zip(
+                        shared.timeout(Duration.ofMillis(20)).onErrorReturn("timed out"),
+                        singleFlight.execute(URL, upstream()).timeout(Duration.ofSeconds(5))))
+                .then(() -> {
+                    try {
+                        Thread.sleep(50);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    response.tryEmitValue("repos");
+                })
+                .assertNext(results -> {
+                    assertEquals("timed out", results.getT1());
+                    assertEquals("repos", results.getT2());
+                })
+                .verifyComplete();
+
+        assertEquals(1, calls.get());
+    }
+}
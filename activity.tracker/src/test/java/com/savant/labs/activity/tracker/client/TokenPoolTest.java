@@ -0,0 +1,147 @@
+package com.savant.labs.activity.tracker.client;
+
+import com.savant.labs.activity.tracker.config.GitHubConfig;
+import com.savant.labs.activity.tracker.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenPoolTest {
+
+    private static final long IN_AN_HOUR = System.currentTimeMillis() / 1000 + 3600;
+
+    private GitHubConfig config;
+    private SimpleMeterRegistry meterRegistry;
+    private TokenPool pool;
+
+    @BeforeEach
+    void setUp() {
+        config = new GitHubConfig();
+        config.setToken("primary");
+        config.setTokens(List.of("secondary", "tertiary"));
+        meterRegistry = new SimpleMeterRegistry();
+        pool = new TokenPool(config, meterRegistry);
+    }
+
+    private static HttpHeaders rateLimit(int remaining, long reset) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("X-RateLimit-Remaining", String.valueOf(remaining));
+        headers.add("X-RateLimit-Reset", String.valueOf(reset));
+        return headers;
+    }
+
+    private TokenPool.Token token(String value) {
+        for (int i = 0; i < pool.size(); i++) {
+            TokenPool.Token token = pool.acquire();
+            if (token.getValue().equals(value)) {
+                return token;
+            }
+        }
+        throw new AssertionError("Token not in rotation: " + value);
+    }
+
+    @Test
+    void acquire_shouldPreferTokenWithMostRemainingBudget() {
+        pool.update(token("primary"), rateLimit(10, IN_AN_HOUR));
+        pool.update(token("secondary"), rateLimit(4000, IN_AN_HOUR));
+        pool.update(token("tertiary"), rateLimit(200, IN_AN_HOUR));
+
+        assertEquals("secondary", pool.acquire().getValue());
+        assertEquals(3999 + 200 + 10, pool.totalRemaining());
+    }
+
+    @Test
+    void acquire_shouldBreakTiesBySoonestReset() {
+        pool.update(token("primary"), rateLimit(100, IN_AN_HOUR));
+        pool.update(token("secondary"), rateLimit(100, IN_AN_HOUR - 600));
+        pool.update(token("tertiary"), rateLimit(50, IN_AN_HOUR - 1200));
+
+        assertEquals("secondary", pool.acquire().getValue());
+    }
+
+    @Test
+    void acquire_shouldSkipExhaustedAndRevokedTokens() {
+        pool.update(token("primary"), rateLimit(0, IN_AN_HOUR));
+        pool.revoke(token("secondary"));
+
+        assertEquals("tertiary", pool.acquire().getValue());
+        assertEquals(0.0, meterRegistry.get("github.api.token.available").tag("token", "token-1").gauge().value());
+    }
+
+    @Test
+    void acquire_shouldFailWhenEveryTokenIsOutOfRotation() {
+        pool.update(token("primary"), rateLimit(0, IN_AN_HOUR));
+        pool.update(token("secondary"), rateLimit(0, IN_AN_HOUR - 60));
+        pool.revoke(token("tertiary"));
+
+        RateLimitExceededException ex = assertThrows(RateLimitExceededException.class, pool::acquire);
+        assertEquals(0, ex.getRemainingRequests());
+        assertFalse(pool.hasAvailableToken());
+    }
+
+    @Test
+    void acquire_shouldRestoreTokenOnceItsWindowResets() {
+        TokenPool.Token primary = token("primary");
+        pool.update(primary, rateLimit(0, System.currentTimeMillis() / 1000 - 1));
+        pool.update(token("secondary"), rateLimit(0, IN_AN_HOUR));
+        pool.update(token("tertiary"), rateLimit(0, IN_AN_HOUR));
+
+        assertEquals("primary", pool.acquire().getValue());
+        assertTrue(primary.getRemaining() > 0);
+    }
+
+    @Test
+    void acquire_shouldNeverHandOutMoreCallsThanRemain() throws Exception {
+        pool.update(token("primary"), rateLimit(5, IN_AN_HOUR));
+        pool.update(token("secondary"), rateLimit(3, IN_AN_HOUR));
+        pool.update(token("tertiary"), rateLimit(0, IN_AN_HOUR));
+
+        int threads = 16;
+        AtomicInteger acquired = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> calls = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                calls.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        pool.acquire();
+                        acquired.incrementAndGet();
+                    } catch (RateLimitExceededException e) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> call : calls) {
+                call.get(5, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(8, acquired.get());
+        assertEquals(threads - 8, rejected.get());
+        assertEquals(0, pool.totalRemaining());
+    }
+
+    @Test
+    void update_shouldPublishPerTokenGauges() {
+        pool.update(token("tertiary"), rateLimit(1234, IN_AN_HOUR));
+
+        assertEquals(1234.0, meterRegistry.get("github.api.token.remaining").tag("token", "token-2").gauge().value());
+    }
+}
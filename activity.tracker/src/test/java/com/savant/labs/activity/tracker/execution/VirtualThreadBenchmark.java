@@ -0,0 +1,200 @@
+package com.savant.labs.activity.tracker.execution;
+
+import com.savant.labs.activity.tracker.cache.ActivitySnapshotStore;
+import com.savant.labs.activity.tracker.client.AdaptiveConcurrencyLimiter;
+import com.savant.labs.activity.tracker.client.ConditionalRequestStore;
+import com.savant.labs.activity.tracker.client.JsonArrayStreamDecoder;
+import com.savant.labs.activity.tracker.client.RequestHedger;
+import com.savant.labs.activity.tracker.client.RetryBudget;
+import com.savant.labs.activity.tracker.client.RetryClassifier;
+import com.savant.labs.activity.tracker.client.SingleFlight;
+import com.savant.labs.activity.tracker.client.TokenPool;
+import com.savant.labs.activity.tracker.config.ExecutionConfig;
+import com.savant.labs.activity.tracker.config.GitHubConfig;
+import com.savant.labs.activity.tracker.constants.GitHubApiConstants;
+import com.savant.labs.activity.tracker.models.RepositoryActivity;
+import com.savant.labs.activity.tracker.service.impl.CommitFanOutEngine;
+import com.savant.labs.activity.tracker.service.impl.GitHubActivityService;
+import com.savant.labs.activity.tracker.service.impl.GitHubApiClientService;
+import com.savant.labs.activity.tracker.service.impl.RateLimitService;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.scheduler.Scheduler;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares platform and virtual thread execution of the blocking activity path against a slow
+ * local upstream. Run with {@code ./gradlew virtualThreadBenchmark}; excluded from {@code test}.
+ * The platform run is capped at Tomcat's default of 200 request threads.
+ */
+@Tag("benchmark")
+class VirtualThreadBenchmark {
+
+    private static final int CONCURRENT_REQUESTS = 1000;
+    private static final int PLATFORM_REQUEST_THREADS = 200;
+    private static final int REPOSITORIES_PER_USER = 3;
+    private static final Duration UPSTREAM_LATENCY = Duration.ofMillis(100);
+
+    private HttpServer upstream;
+    private ConnectionProvider connectionProvider;
+
+    @BeforeEach
+    void startUpstream() throws IOException {
+        upstream = HttpServer.create(new InetSocketAddress("localhost", 0), 4096);
+        upstream.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        upstream.createContext("/users/", exchange -> respond(exchange, repositoriesJson(exchange)));
+        upstream.createContext("/repos/", exchange -> respond(exchange, commitsJson()));
+        upstream.start();
+        connectionProvider = ConnectionProvider.builder("virtual-thread-benchmark")
+                .maxConnections(4 * CONCURRENT_REQUESTS)
+                .pendingAcquireMaxCount(-1)
+                .build();
+    }
+
+    @AfterEach
+    void stopUpstream() {
+        upstream.stop(0);
+        connectionProvider.dispose();
+    }
+
+    @Test
+    void compareExecutionModes() throws Exception {
+        Result platform = run(false, Executors.newFixedThreadPool(PLATFORM_REQUEST_THREADS));
+        Result virtual = run(true, Executors.newVirtualThreadPerTaskExecutor());
+
+        System.out.printf("%n%-10s %10s %12s %10s %10s%n", "mode", "requests", "throughput/s", "p50 ms", "p99 ms");
+        for (Result result : List.of(platform, virtual)) {
+            System.out.printf("%-10s %10d %12.1f %10d %10d%n", result.mode(), result.completed(),
+                    result.throughput(), result.p50Millis(), result.p99Millis());
+        }
+
+        assertEquals(CONCURRENT_REQUESTS, platform.completed());
+        assertEquals(CONCURRENT_REQUESTS, virtual.completed());
+    }
+
+    private Result run(boolean virtualThreads, ExecutorService requestThreads) throws Exception {
+        GitHubConfig config = config(virtualThreads);
+        ExecutionConfig executionConfig = new ExecutionConfig();
+        ExecutorService blockingExecutor = executionConfig.githubBlockingExecutor(config);
+        Scheduler fanOutScheduler = executionConfig.fanOutScheduler(config, blockingExecutor);
+
+        WebClient webClient = WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connectionProvider)))
+                .build();
+        TokenPool tokenPool = new TokenPool(config, new SimpleMeterRegistry());
+        GitHubApiClientService apiClient = new GitHubApiClientService(webClient, config,
+                new RateLimitService(null, config, tokenPool),
+                new ConditionalRequestStore(config, new SimpleMeterRegistry()), tokenPool,
+                new AdaptiveConcurrencyLimiter(config, new SimpleMeterRegistry()), new RetryClassifier(tokenPool),
+                new RetryBudget(config, new SimpleMeterRegistry()),
+                new RequestHedger(config, tokenPool, new SimpleMeterRegistry()),
+                new SingleFlight(config, new SimpleMeterRegistry()),
+                new JsonArrayStreamDecoder(Jackson2ObjectMapperBuilder.json().build(), config));
+        GitHubActivityService activityService = new GitHubActivityService(apiClient,
+                new CommitFanOutEngine(apiClient, config, fanOutScheduler),
+                new ConcurrentMapCacheManager(GitHubApiConstants.ACTIVITY_CACHE_NAME),
+                CircuitBreakerRegistry.ofDefaults(), RetryRegistry.ofDefaults(),
+                new ActivitySnapshotStore(config, new SimpleMeterRegistry()), blockingExecutor);
+
+        long start = System.nanoTime();
+        List<Future<Long>> latencies = new ArrayList<>();
+        try (requestThreads) {
+            for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+                String username = "user" + i;
+                latencies.add(requestThreads.submit(() -> {
+                    long requestStart = System.nanoTime();
+                    RepositoryActivity activity = activityService.fetchUserActivity(username);
+                    assertEquals(REPOSITORIES_PER_USER, activity.getTotalRepositories());
+                    return System.nanoTime() - requestStart;
+                }));
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        fanOutScheduler.dispose();
+        blockingExecutor.shutdown();
+
+        List<Long> sorted = new ArrayList<>();
+        for (Future<Long> latency : latencies) {
+            sorted.add(latency.get());
+        }
+        Collections.sort(sorted);
+        return new Result(virtualThreads ? "virtual" : "platform", sorted.size(),
+                sorted.size() / (elapsed / 1e9),
+                percentile(sorted, 0.50) / 1_000_000,
+                percentile(sorted, 0.99) / 1_000_000);
+    }
+
+    private GitHubConfig config(boolean virtualThreads) {
+        GitHubConfig config = new GitHubConfig();
+        config.setToken("benchmark-token");
+        config.setBaseUrl("http://localhost:" + upstream.getAddress().getPort());
+        config.getApi().setUsersReposEndpoint("/users/{username}/repos?type=public&sort=updated&per_page={perPage}&page={page}");
+        config.getApi().setRepoCommitsEndpoint("/repos/{repoFullName}/commits?sha={branch}&per_page={maxCommits}&page={page}");
+        config.getExecution().setVirtualThreads(virtualThreads);
+        config.getConditionalRequests().setEnabled(false);
+        // Measure thread scheduling, not the adaptive limiter
+        config.getConcurrency().setInitialLimit(4 * CONCURRENT_REQUESTS);
+        config.getConcurrency().setMaxLimit(4 * CONCURRENT_REQUESTS);
+        return config;
+    }
+
+    private static long percentile(List<Long> sorted, double percentile) {
+        return sorted.get(Math.min(sorted.size() - 1, (int) Math.ceil(percentile * sorted.size()) - 1));
+    }
+
+    private static String repositoriesJson(HttpExchange exchange) {
+        String username = exchange.getRequestURI().getPath().split("/")[2];
+        return IntStream.range(0, REPOSITORIES_PER_USER)
+                .mapToObj(i -> "{\"id\":" + i + ",\"name\":\"repo" + i + "\",\"full_name\":\"" + username + "/repo" + i
+                        + "\",\"default_branch\":\"main\"}")
+                .collect(Collectors.joining(",", "[", "]"));
+    }
+
+    private static String commitsJson() {
+        return "[{\"sha\":\"6dcb09b5b57875f334f61aebed695e2e4193db5e\",\"commit\":{\"message\":\"Fix all the bugs\","
+                + "\"author\":{\"name\":\"Monalisa Octocat\",\"email\":\"support@github.com\",\"date\":\"2011-04-14T16:00:49Z\"}}}]";
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        try {
+            Thread.sleep(UPSTREAM_LATENCY);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private record Result(String mode, int completed, double throughput, long p50Millis, long p99Millis) {
+    }
+}
@@ -0,0 +1,142 @@
+package com.savant.labs.activity.tracker.service;
+
+import com.savant.labs.activity.tracker.config.GitHubConfig;
+import com.savant.labs.activity.tracker.constants.GitHubApiConstants;
+import com.savant.labs.activity.tracker.exception.GitHubConnectorException;
+import com.savant.labs.activity.tracker.exception.UserNotFoundException;
+import com.savant.labs.activity.tracker.models.BatchActivityResult;
+import com.savant.labs.activity.tracker.service.impl.BatchActivityService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import static com.savant.labs.activity.tracker.ActivityFixtures.activity;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BatchActivityServiceTest {
+
+    @Mock
+    private IGitHubActivityService activityService;
+
+    private GitHubConfig config;
+    private ConcurrentMapCacheManager cacheManager;
+    private BatchActivityService batchService;
+
+    @BeforeEach
+    void setUp() {
+        config = new GitHubConfig();
+        cacheManager = new ConcurrentMapCacheManager(GitHubApiConstants.ACTIVITY_CACHE_NAME);
+        batchService = new BatchActivityService(activityService, cacheManager, config, new SimpleMeterRegistry());
+    }
+
+    private static Map<String, BatchActivityResult> byUsername(List<BatchActivityResult> results) {
+        return results.stream().collect(Collectors.toMap(BatchActivityResult::getUsername, Function.identity()));
+    }
+
+    @Test
+    void fetchBatchActivity_shouldAnswerCacheHitsFirstAndFetchEachMissOnce() {
+        cacheManager.getCache(GitHubApiConstants.ACTIVITY_CACHE_NAME).put("octocat", activity("octocat", 0));
+        when(activityService.fetchUserActivityReactive("hubot")).thenReturn(Mono.just(activity("hubot", 0)));
+
+        List<BatchActivityResult> results = batchService
+                .fetchBatchActivity(List.of("hubot", "Octocat", "HUBOT", "octocat"))
+                .collectList().block();
+
+        assertEquals(2, results.size());
+        assertEquals("Octocat", results.get(0).getUsername());
+        assertTrue(results.get(0).getCached());
+        assertEquals("hubot", results.get(1).getUsername());
+        assertFalse(results.get(1).getCached());
+        assertEquals(BatchActivityResult.Status.OK, results.get(1).getStatus());
+        verify(activityService, times(1)).fetchUserActivityReactive(anyString());
+    }
+
+    @Test
+    void fetchBatchActivity_shouldReportFailuresInline() {
+        config.getBatch().setTimeout(Duration.ofMillis(100));
+        when(activityService.fetchUserActivityReactive("ghost")).thenReturn(Mono.error(new UserNotFoundException("ghost")));
+        when(activityService.fetchUserActivityReactive("slow")).thenReturn(Mono.never());
+        when(activityService.fetchUserActivityReactive("octocat")).thenReturn(Mono.just(activity("octocat", 0)));
+
+        Map<String, BatchActivityResult> results = byUsername(batchService
+                .fetchBatchActivity(List.of("ghost", "slow", "octocat", "-bad-"))
+                .collectList().block(Duration.ofSeconds(5)));
+
+        assertEquals(4, results.size());
+        assertEquals("USER_NOT_FOUND", results.get("ghost").getErrorCode());
+        assertEquals(404, results.get("ghost").getHttpStatus());
+        assertEquals(GitHubApiConstants.ERROR_CODE_TIMEOUT, results.get("slow").getErrorCode());
+        assertEquals(GitHubApiConstants.ERROR_CODE_VALIDATION, results.get("-bad-").getErrorCode());
+        assertEquals(BatchActivityResult.Status.OK, results.get("octocat").getStatus());
+        assertNull(results.get("ghost").getActivity());
+    }
+
+    @Test
+    void fetchBatchActivity_shouldShareFetchSlotsAcrossBatches() {
+        config.getBatch().setConcurrency(2);
+        config.getBatch().setPerRequestConcurrency(2);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        when(activityService.fetchUserActivityReactive(anyString())).thenAnswer(invocation -> Mono.defer(() -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            return Mono.delay(Duration.ofMillis(20))
+                    .thenReturn(activity(invocation.getArgument(0), 0))
+                    .doFinally(signal -> running.decrementAndGet());
+        }));
+
+        Flux<BatchActivityResult> first = batchService.fetchBatchActivity(List.of("a1", "a2", "a3", "a4"));
+        Flux<BatchActivityResult> second = batchService.fetchBatchActivity(List.of("b1", "b2", "b3", "b4"));
+
+        StepVerifier.create(Flux.merge(first, second))
+                .expectNextCount(8)
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        assertEquals(2, maxRunning.get());
+        assertEquals(0, batchService.getInFlight());
+        assertEquals(0, batchService.getQueued());
+    }
+
+    @Test
+    void fetchBatchActivity_shouldReleaseSlotsOfTimedOutFetches() {
+        config.getBatch().setConcurrency(1);
+        config.getBatch().setTimeout(Duration.ofMillis(50));
+        when(activityService.fetchUserActivityReactive(anyString())).thenReturn(Mono.never());
+
+        List<BatchActivityResult> results = batchService.fetchBatchActivity(List.of("a1", "a2", "a3"))
+                .collectList().block(Duration.ofSeconds(5));
+
+        assertTrue(results.stream().allMatch(r -> GitHubApiConstants.ERROR_CODE_TIMEOUT.equals(r.getErrorCode())));
+        assertEquals(0, batchService.getInFlight());
+        assertEquals(0, batchService.getQueued());
+    }
+
+    @Test
+    void fetchBatchActivity_shouldRejectOversizedBatches() {
+        config.getBatch().setMaxUsernames(2);
+
+        StepVerifier.create(batchService.fetchBatchActivity(List.of("a", "b", "c")))
+                .expectErrorSatisfies(ex -> {
+                    assertInstanceOf(GitHubConnectorException.class, ex);
+                    assertEquals(400, ((GitHubConnectorException) ex).getHttpStatus());
+                })
+                .verify();
+
+        verifyNoInteractions(activityService);
+    }
+}
@@ -0,0 +1,193 @@
+package com.savant.labs.activity.tracker.service;
+
+import com.savant.labs.activity.tracker.config.GitHubConfig;
+import com.savant.labs.activity.tracker.models.AuthorInfo;
+import com.savant.labs.activity.tracker.models.CommitDetails;
+import com.savant.labs.activity.tracker.models.GitHubCommit;
+import com.savant.labs.activity.tracker.models.GitHubRepository;
+import com.savant.labs.activity.tracker.models.RepositoryActivity;
+import com.savant.labs.activity.tracker.service.impl.CommitFanOutEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CommitFanOutEngineTest {
+
+    @Mock
+    private IGitHubApiClientService apiClient;
+
+    private GitHubConfig config;
+    private CommitFanOutEngine fanOutEngine;
+
+    @BeforeEach
+    void setUp() {
+        config = new GitHubConfig();
+        fanOutEngine = new CommitFanOutEngine(apiClient, config, Schedulers.immediate());
+    }
+
+    private static GitHubRepository repository(String name) {
+        return new GitHubRepository(null, name, "user/" + name);
+    }
+
+    private static GitHubRepository repository(String name, LocalDateTime pushedAt, GitHubCommit... commits) {
+        GitHubRepository repo = repository(name);
+        repo.setPushedAt(pushedAt);
+        repo.setRecentCommits(commits.length > 0 ? List.of(commits) : null);
+        return repo;
+    }
+
+    private static GitHubCommit commit(String sha, LocalDateTime date) {
+        return new GitHubCommit(sha, new CommitDetails("message " + sha, new AuthorInfo("Alice", "alice@example.com", date)));
+    }
+
+    @Test
+    void enrich_shouldNotExceedConfiguredConcurrency() {
+        config.getFanOut().setConcurrency(3);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+
+        when(apiClient.fetchCommits(anyString(), anyString())).thenAnswer(invocation ->
+                Mono.delay(Duration.ofMillis(20))
+                        .map(tick -> List.<GitHubCommit>of())
+                        .doOnSubscribe(s -> maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max))
+                        .doFinally(signal -> inFlight.decrementAndGet()));
+
+        List<GitHubRepository> repositories = IntStream.range(0, 12)
+                .mapToObj(i -> repository("Repo" + i))
+                .toList();
+
+        StepVerifier.create(fanOutEngine.enrichAll(repositories))
+                .assertNext(enriched -> assertEquals(12, enriched.size()))
+                .verifyComplete();
+
+        assertTrue(maxInFlight.get() <= 3, "max in-flight was " + maxInFlight.get());
+    }
+
+    @Test
+    void enrich_shouldKeepInputOrder_whenOrderingIsInput() {
+        when(apiClient.fetchCommits(eq("user/Slow"), anyString()))
+                .thenReturn(Mono.delay(Duration.ofMillis(50)).map(tick -> List.<GitHubCommit>of()));
+        when(apiClient.fetchCommits(eq("user/Fast"), anyString()))
+                .thenReturn(Mono.just(List.<GitHubCommit>of()));
+
+        StepVerifier.create(fanOutEngine.enrich(List.of(repository("Slow"), repository("Fast"))).map(GitHubRepository::getName))
+                .expectNext("Slow", "Fast")
+                .verifyComplete();
+    }
+
+    @Test
+    void enrich_shouldEmitInCompletionOrder_whenOrderingIsCompletion() {
+        config.getFanOut().setOrdering(GitHubConfig.FanOutOrdering.COMPLETION);
+        when(apiClient.fetchCommits(eq("user/Slow"), anyString()))
+                .thenReturn(Mono.delay(Duration.ofMillis(50)).map(tick -> List.<GitHubCommit>of()));
+        when(apiClient.fetchCommits(eq("user/Fast"), anyString()))
+                .thenReturn(Mono.just(List.<GitHubCommit>of()));
+
+        StepVerifier.create(fanOutEngine.enrich(List.of(repository("Slow"), repository("Fast"))).map(GitHubRepository::getName))
+                .expectNext("Fast", "Slow")
+                .verifyComplete();
+    }
+
+    @Test
+    void enrichAll_shouldReuseCommitsOfUnchangedRepositoriesAndFetchOnlyNewOnes() {
+        LocalDateTime monday = LocalDateTime.of(2024, 5, 6, 9, 0);
+        LocalDateTime tuesday = monday.plusDays(1);
+        RepositoryActivity previous = new RepositoryActivity("user", List.of(
+                repository("Quiet", monday, commit("q1", monday)),
+                repository("Busy", monday, commit("b2", monday), commit("b1", monday.minusHours(1)))));
+        when(apiClient.fetchCommitsSince("user/Busy", "main", monday))
+                .thenReturn(Mono.just(List.of(commit("b3", tuesday), commit("b2", monday))));
+        when(apiClient.fetchCommits(eq("user/New"), anyString()))
+                .thenReturn(Mono.just(List.of(commit("n1", tuesday))));
+
+        StepVerifier.create(fanOutEngine.enrichAll(List.of(repository("Quiet", monday), repository("Busy", tuesday),
+                        repository("New", tuesday)), previous))
+                .assertNext(enriched -> {
+                    assertEquals(List.of("q1"), shas(enriched.get(0)));
+                    assertEquals(List.of("b3", "b2", "b1"), shas(enriched.get(1)));
+                    assertEquals(List.of("n1"), shas(enriched.get(2)));
+                })
+                .verifyComplete();
+
+        verify(apiClient, never()).fetchCommits(eq("user/Quiet"), anyString());
+        verify(apiClient, never()).fetchCommits(eq("user/Busy"), anyString());
+    }
+
+    @Test
+    void enrichAll_shouldKeepPreviousCommitsWhenTheIncrementalFetchFails() {
+        LocalDateTime monday = LocalDateTime.of(2024, 5, 6, 9, 0);
+        RepositoryActivity previous = new RepositoryActivity("user", List.of(repository("Busy", monday, commit("b1", monday))));
+        when(apiClient.fetchCommitsSince("user/Busy", "main", monday)).thenReturn(Mono.error(new RuntimeException("boom")));
+
+        StepVerifier.create(fanOutEngine.enrichAll(List.of(repository("Busy", monday.plusDays(1))), previous))
+                .assertNext(enriched -> assertEquals(List.of("b1"), shas(enriched.get(0))))
+                .verifyComplete();
+    }
+
+    @Test
+    void enrichAll_shouldFetchEverythingWhenIncrementalIsDisabled() {
+        config.getFanOut().setIncremental(false);
+        LocalDateTime monday = LocalDateTime.of(2024, 5, 6, 9, 0);
+        RepositoryActivity previous = new RepositoryActivity("user", List.of(repository("Quiet", monday, commit("q1", monday))));
+        when(apiClient.fetchCommits(eq("user/Quiet"), anyString())).thenReturn(Mono.just(List.of(commit("q1", monday))));
+
+        StepVerifier.create(fanOutEngine.enrichAll(List.of(repository("Quiet", monday)), previous))
+                .assertNext(enriched -> assertEquals(List.of("q1"), shas(enriched.get(0))))
+                .verifyComplete();
+
+        verify(apiClient).fetchCommits(eq("user/Quiet"), anyString());
+    }
+
+    private static List<String> shas(GitHubRepository repo) {
+        return repo.getRecentCommits().stream().map(GitHubCommit::getSha).toList();
+    }
+
+    @Test
+    void enrich_shouldLeaveTheFetchedRepositoriesUnmodified() {
+        GitHubRepository fetched = repository("Shared");
+        when(apiClient.fetchCommits(eq("user/Shared"), anyString()))
+                .thenReturn(Mono.just(List.of(new GitHubCommit("c1", null))));
+
+        StepVerifier.create(fanOutEngine.enrichAll(List.of(fetched)))
+                .assertNext(enriched -> {
+                    assertNotSame(fetched, enriched.get(0));
+                    assertEquals("user/Shared", enriched.get(0).getFullName());
+                    assertEquals(List.of("c1"), shas(enriched.get(0)));
+                })
+                .verifyComplete();
+
+        assertNull(fetched.getRecentCommits());
+    }
+
+    @Test
+    void enrich_shouldIsolateFailedRepository() {
+        when(apiClient.fetchCommits(eq("user/Broken"), anyString()))
+                .thenReturn(Mono.error(new RuntimeException("boom")));
+        when(apiClient.fetchCommits(eq("user/Healthy"), anyString()))
+                .thenReturn(Mono.just(List.of(new GitHubCommit("c1", null))));
+
+        StepVerifier.create(fanOutEngine.enrichAll(List.of(repository("Broken"), repository("Healthy"))))
+                .assertNext(enriched -> {
+                    assertTrue(enriched.get(0).getRecentCommits().isEmpty());
+                    assertEquals(1, enriched.get(1).getRecentCommits().size());
+                })
+                .verifyComplete();
+    }
+}
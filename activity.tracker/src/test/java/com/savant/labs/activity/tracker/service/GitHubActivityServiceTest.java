@@ -1,21 +1,37 @@
 package com.savant.labs.activity.tracker.service;
 
+import com.savant.labs.activity.tracker.cache.ActivitySnapshotStore;
+import com.savant.labs.activity.tracker.config.GitHubConfig;
+import com.savant.labs.activity.tracker.constants.GitHubApiConstants;
 import com.savant.labs.activity.tracker.exception.GitHubConnectorException;
+import com.savant.labs.activity.tracker.exception.UserNotFoundException;
 import com.savant.labs.activity.tracker.models.AuthorInfo;
 import com.savant.labs.activity.tracker.models.CommitDetails;
 import com.savant.labs.activity.tracker.models.GitHubCommit;
 import com.savant.labs.activity.tracker.models.GitHubRepository;
 import com.savant.labs.activity.tracker.models.RepositoryActivity;
+import com.savant.labs.activity.tracker.service.impl.CommitFanOutEngine;
 import com.savant.labs.activity.tracker.service.impl.GitHubActivityService;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -25,7 +41,6 @@ class GitHubActivityServiceTest {
     @Mock
     private IGitHubApiClientService apiClient;
 
-    @InjectMocks
     private GitHubActivityService activityService;
 
     private GitHubRepository repo1;
@@ -33,6 +48,11 @@ class GitHubActivityServiceTest {
 
     @BeforeEach
     void setup() {
+        activityService = new GitHubActivityService(apiClient, new CommitFanOutEngine(apiClient, new GitHubConfig(), Schedulers.immediate()),
+                new ConcurrentMapCacheManager(GitHubApiConstants.ACTIVITY_CACHE_NAME),
+                CircuitBreakerRegistry.ofDefaults(), RetryRegistry.ofDefaults(),
+                new ActivitySnapshotStore(new GitHubConfig(), new SimpleMeterRegistry()), Runnable::run);
+
         repo1 = new GitHubRepository();
         repo1.setName("Repo1");
         repo1.setFullName("user/Repo1");
@@ -73,11 +93,11 @@ class GitHubActivityServiceTest {
         when(apiClient.fetchRepositoriesAsync("user"))
                 .thenReturn(CompletableFuture.completedFuture(repositories));
 
-        when(apiClient.fetchCommitsAsync(eq("user/Repo1"), anyString()))
-                .thenReturn(CompletableFuture.completedFuture(commits1));
+        when(apiClient.fetchCommits(eq("user/Repo1"), anyString()))
+                .thenReturn(Mono.just(commits1));
 
-        when(apiClient.fetchCommitsAsync(eq("user/Repo2"), anyString()))
-                .thenReturn(CompletableFuture.completedFuture(commits2));
+        when(apiClient.fetchCommits(eq("user/Repo2"), anyString()))
+                .thenReturn(Mono.just(commits2));
 
         RepositoryActivity result = activityService.fetchUserActivity("user");
 
@@ -103,6 +123,7 @@ class GitHubActivityServiceTest {
 
         assertEquals("user", fallback.getUsername());
         assertTrue(fallback.getRepositories().isEmpty());
+        assertTrue(fallback.isFallback());
     }
 
     @Test
@@ -121,8 +142,8 @@ class GitHubActivityServiceTest {
         when(apiClient.fetchRepositoriesAsync("user"))
                 .thenReturn(CompletableFuture.completedFuture(List.of(repo1)));
 
-        when(apiClient.fetchCommitsAsync(anyString(), anyString()))
-                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Git error")));
+        when(apiClient.fetchCommits(anyString(), anyString()))
+                .thenReturn(Mono.error(new RuntimeException("Git error")));
 
         RepositoryActivity result = activityService.fetchUserActivity("user");
 
@@ -130,4 +151,80 @@ class GitHubActivityServiceTest {
         assertEquals(1, result.getRepositories().size());
         assertTrue(result.getRepositories().getFirst().getRecentCommits().isEmpty());
     }
+
+    @Test
+    void shouldStreamRepositoriesInCompletionOrder() {
+        when(apiClient.streamRepositories("user"))
+                .thenReturn(Flux.just(repo1, repo2));
+        when(apiClient.fetchCommits(eq("user/Repo1"), anyString()))
+                .thenReturn(Mono.delay(Duration.ofMillis(50)).map(tick -> List.<GitHubCommit>of()));
+        when(apiClient.fetchCommits(eq("user/Repo2"), anyString()))
+                .thenReturn(Mono.just(List.of(new GitHubCommit("c1", new CommitDetails()))));
+
+        StepVerifier.create(activityService.streamUserActivity("user"))
+                .assertNext(repo -> {
+                    assertEquals("Repo2", repo.getName());
+                    assertEquals(1, repo.getRecentCommits().size());
+                })
+                .assertNext(repo -> assertEquals("Repo1", repo.getName()))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldFetchActivityReactively_andServeRepeatCallsFromCache() {
+        when(apiClient.fetchRepositories("user"))
+                .thenReturn(Mono.just(List.of(repo1)));
+        when(apiClient.fetchCommits(eq("user/Repo1"), anyString()))
+                .thenReturn(Mono.just(List.of(new GitHubCommit("c1", new CommitDetails()))));
+
+        StepVerifier.create(activityService.fetchUserActivityReactive("user"))
+                .assertNext(activity -> assertEquals(1, activity.getTotalCommitsFetched()))
+                .verifyComplete();
+
+        StepVerifier.create(activityService.fetchUserActivityReactive("USER"))
+                .assertNext(activity -> assertEquals(1, activity.getTotalRepositories()))
+                .verifyComplete();
+
+        verify(apiClient, times(1)).fetchRepositories("user");
+    }
+
+    @Test
+    void shouldWriteSnapshotsOffTheSubscriberThread_onReactivePath() throws Exception {
+        CompletableFuture<Thread> writer = new CompletableFuture<>();
+        ActivitySnapshotStore snapshotStore = new ActivitySnapshotStore(new GitHubConfig(), new SimpleMeterRegistry()) {
+            @Override
+            public void put(String key, RepositoryActivity activity) {
+                writer.complete(Thread.currentThread());
+            }
+        };
+        ExecutorService snapshotWriter = Executors.newSingleThreadExecutor();
+        try {
+            GitHubActivityService service = new GitHubActivityService(apiClient,
+                    new CommitFanOutEngine(apiClient, new GitHubConfig(), Schedulers.immediate()),
+                    new ConcurrentMapCacheManager(GitHubApiConstants.ACTIVITY_CACHE_NAME),
+                    CircuitBreakerRegistry.ofDefaults(), RetryRegistry.ofDefaults(), snapshotStore, snapshotWriter);
+            when(apiClient.fetchRepositories("user"))
+                    .thenReturn(Mono.just(List.of(repo1)));
+            when(apiClient.fetchCommits(eq("user/Repo1"), anyString()))
+                    .thenReturn(Mono.just(List.of(new GitHubCommit("c1", new CommitDetails()))));
+
+            StepVerifier.create(service.fetchUserActivityReactive("user"))
+                    .assertNext(activity -> assertEquals(1, activity.getTotalCommitsFetched()))
+                    .verifyComplete();
+
+            assertNotSame(Thread.currentThread(), writer.get(5, TimeUnit.SECONDS));
+        } finally {
+            snapshotWriter.shutdown();
+        }
+    }
+
+    @Test
+    void shouldPropagateUserNotFound_fromReactivePath() {
+        when(apiClient.fetchRepositories("ghost"))
+                .thenReturn(Mono.error(new UserNotFoundException("ghost")));
+
+        StepVerifier.create(activityService.fetchUserActivityReactive("ghost"))
+                .expectError(UserNotFoundException.class)
+                .verify();
+    }
 }
@@ -0,0 +1,203 @@
+package com.savant.labs.activity.tracker.service;
+
+import com.savant.labs.activity.tracker.client.AdaptiveConcurrencyLimiter;
+import com.savant.labs.activity.tracker.client.ConditionalRequestStore;
+import com.savant.labs.activity.tracker.client.JsonArrayStreamDecoder;
+import com.savant.labs.activity.tracker.client.RequestHedger;
+import com.savant.labs.activity.tracker.client.RetryBudget;
+import com.savant.labs.activity.tracker.client.RetryClassifier;
+import com.savant.labs.activity.tracker.client.SingleFlight;
+import com.savant.labs.activity.tracker.client.TokenPool;
+import com.savant.labs.activity.tracker.config.GitHubConfig;
+import com.savant.labs.activity.tracker.constants.GitHubApiConstants;
+import com.savant.labs.activity.tracker.models.GitHubRepository;
+import com.savant.labs.activity.tracker.service.impl.GitHubApiClientService;
+import com.savant.labs.activity.tracker.service.impl.RateLimitService;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import static org.junit.jupiter.api.Assertions.*;
+
+class GitHubApiClientServicePaginationTest {
+
+    private static final int TOTAL_REPOSITORIES = 23;
+    private static final int PER_PAGE = 5;
+    private static final Duration ADMISSION_DELAY = Duration.ofMillis(500);
+
+    private HttpServer server;
+    private final ExecutorService serverThreads = Executors.newCachedThreadPool();
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger slowCommitCalls = new AtomicInteger();
+    private GitHubConfig config;
+    private GitHubApiClientService apiClient;
+    private RequestHedger requestHedger;
+    private RateLimitService rateLimitService;
+    private volatile boolean slowAdmission;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/users/octocat/repos", this::handleRepositories);
+        server.createContext("/repos/", this::handleCommits);
+        // A slow handler must not hold up the others, e.g. a hedge racing it
+        server.setExecutor(serverThreads);
+        server.start();
+
+        config = new GitHubConfig();
+        config.setToken("test-token");
+        config.setBaseUrl("http://localhost:" + server.getAddress().getPort());
+        config.setPerPage(PER_PAGE);
+        config.getApi().setUsersReposEndpoint("/users/{username}/repos?type=public&sort=updated&per_page={perPage}&page={page}");
+        config.getApi().setRepoCommitsEndpoint("/repos/{repoFullName}/commits?sha={branch}&per_page={maxCommits}&page={page}");
+
+        TokenPool tokenPool = new TokenPool(config, new SimpleMeterRegistry());
+        // Admission is slow only when a test asks for it, to tell queueing apart from network time
+        rateLimitService = new RateLimitService(null, config, tokenPool) {
+            @Override
+            public Mono<Void> checkRateLimit() {
+                return slowAdmission ? Mono.delay(ADMISSION_DELAY).then() : super.checkRateLimit();
+            }
+        };
+        requestHedger = new RequestHedger(config, tokenPool, new SimpleMeterRegistry());
+        apiClient = new GitHubApiClientService(WebClient.create(), config, rateLimitService,
+                new ConditionalRequestStore(config, new SimpleMeterRegistry()), tokenPool,
+                new AdaptiveConcurrencyLimiter(config, new SimpleMeterRegistry()), new RetryClassifier(tokenPool),
+                new RetryBudget(config, new SimpleMeterRegistry()),
+                requestHedger,
+                new SingleFlight(config, new SimpleMeterRegistry()),
+                new JsonArrayStreamDecoder(Jackson2ObjectMapperBuilder.json().build(), config));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        serverThreads.shutdownNow();
+    }
+
+    private void handleRepositories(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        int page = Integer.parseInt(exchange.getRequestURI().getQuery().replaceAll(".*page=(\\d+).*", "$1"));
+        int lastPage = (TOTAL_REPOSITORIES + PER_PAGE - 1) / PER_PAGE;
+
+        String body = IntStream.range((page - 1) * PER_PAGE, Math.min(page * PER_PAGE, TOTAL_REPOSITORIES))
+                .mapToObj(i -> "{\"id\":" + i + ",\"name\":\"repo" + i + "\",\"full_name\":\"octocat/repo" + i + "\"}")
+                .collect(Collectors.joining(",", "[", "]"));
+        String base = "http://localhost:" + server.getAddress().getPort() + "/users/octocat/repos?per_page=" + PER_PAGE;
+        exchange.getResponseHeaders().add("Link", "<" + base + "&page=" + Math.min(page + 1, lastPage) + ">; rel=\"next\", "
+                + "<" + base + "&page=" + lastPage + ">; rel=\"last\"");
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private void handleCommits(HttpExchange exchange) throws IOException {
+        // The first call for the "slow" repository stalls, so the hedge answers it
+        if (exchange.getRequestURI().getPath().startsWith("/repos/octocat/slow/") && slowCommitCalls.getAndIncrement() == 0) {
+            try {
+                Thread.sleep(ADMISSION_DELAY.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        byte[] bytes = "[{\"sha\":\"abc\",\"commit\":{\"message\":\"change\"}}]".getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @Test
+    void fetchCommits_shouldLearnHedgeDelaysFromTheExchangeAlone() {
+        config.getHedging().setEnabled(true);
+        config.getHedging().setMinSamples(3);
+        config.getHedging().setMinDelay(Duration.ofMillis(1));
+        slowAdmission = true;
+
+        for (int i = 0; i < 3; i++) {
+            StepVerifier.create(apiClient.fetchCommits("octocat/repo" + i, "main"))
+                    .assertNext(commits -> assertEquals(1, commits.size()))
+                    .verifyComplete();
+        }
+
+        Duration delay = requestHedger.hedgeDelay(GitHubApiConstants.HEDGE_ENDPOINT_COMMITS).orElseThrow();
+        assertTrue(delay.compareTo(ADMISSION_DELAY) < 0, "hedge delay " + delay + " includes admission");
+    }
+
+    @Test
+    void fetchCommits_shouldChargeAHedgeAgainstTheRateLimitBudget() {
+        config.getHedging().setEnabled(true);
+        config.getHedging().setMinSamples(3);
+        config.getHedging().setMinDelay(Duration.ofMillis(1));
+        for (int i = 0; i < 3; i++) {
+            StepVerifier.create(apiClient.fetchCommits("octocat/repo" + i, "main"))
+                    .expectNextCount(1)
+                    .verifyComplete();
+        }
+        int before = rateLimitService.getRemainingRequests();
+
+        StepVerifier.create(apiClient.fetchCommits("octocat/slow", "main"))
+                .assertNext(commits -> assertEquals(1, commits.size()))
+                .verifyComplete();
+
+        assertEquals(2, slowCommitCalls.get());
+        assertEquals(before - 2, rateLimitService.getRemainingRequests());
+    }
+
+    @Test
+    void fetchRepositories_shouldFollowLinkHeaderToLastPage() {
+        StepVerifier.create(apiClient.fetchRepositories("octocat"))
+                .assertNext(repos -> {
+                    assertEquals(TOTAL_REPOSITORIES, repos.size());
+                    assertEquals(List.of("repo0", "repo1"), repos.stream().limit(2).map(GitHubRepository::getName).toList());
+                    assertEquals("repo22", repos.getLast().getName());
+                })
+                .verifyComplete();
+
+        assertEquals(5, requests.get());
+    }
+
+    @Test
+    void fetchRepositories_shouldStopAtMaxPages() {
+        config.getPagination().setMaxPages(2);
+
+        StepVerifier.create(apiClient.fetchRepositories("octocat"))
+                .assertNext(repos -> assertEquals(2 * PER_PAGE, repos.size()))
+                .verifyComplete();
+
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    void fetchRepositories_shouldStopAtMaxRepositories() {
+        config.getPagination().setMaxRepositories(7);
+
+        StepVerifier.create(apiClient.fetchRepositories("octocat"))
+                .assertNext(repos -> assertEquals(7, repos.size()))
+                .verifyComplete();
+
+        assertEquals(2, requests.get());
+    }
+}
@@ -10,6 +10,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
+import java.time.LocalDateTime;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
@@ -75,4 +76,15 @@ class GitHubApiClientServiceTest {
         String actualUrl = gitHubApiClientService.buildCommitsUrl(repoFullName, branch, page);
         assertEquals(expectedUrl, actualUrl);
     }
+
+    @Test
+    void buildCommitsUrl_AppendsSinceAsUtcInstant() {
+        setupUrlBuildingConfig();
+        String expectedUrl = "https://api.github.com/repos/testuser/testrepo/commits?sha=main&per_page=10&page=1"
+                + "&since=2024-05-01T12:30:00Z";
+
+        String actualUrl = gitHubApiClientService.buildCommitsUrl("testuser/testrepo", "main", 1,
+                LocalDateTime.of(2024, 5, 1, 12, 30));
+        assertEquals(expectedUrl, actualUrl);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,154 @@
+package com.savant.labs.activity.tracker.service;
+
+import com.savant.labs.activity.tracker.client.AdaptiveConcurrencyLimiter;
+import com.savant.labs.activity.tracker.client.RetryBudget;
+import com.savant.labs.activity.tracker.client.RetryClassifier;
+import com.savant.labs.activity.tracker.client.TokenPool;
+import com.savant.labs.activity.tracker.config.GitHubConfig;
+import com.savant.labs.activity.tracker.exception.UserNotFoundException;
+import com.savant.labs.activity.tracker.models.GitHubCommit;
+import com.savant.labs.activity.tracker.models.GitHubRepository;
+import com.savant.labs.activity.tracker.service.impl.GitHubGraphQlApiClientService;
+import com.savant.labs.activity.tracker.service.impl.RateLimitService;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.test.StepVerifier;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+class GitHubGraphQlApiClientServiceTest {
+
+    private static final String COMMIT_NODE = "{\"oid\":\"6dcb09b5b57875f334f61aebed695e2e4193db5e\","
+            + "\"message\":\"Fix all the bugs\",\"url\":\"https://github.com/octocat/Hello-World/commit/6dcb09b\","
+            + "\"author\":{\"name\":\"Monalisa Octocat\",\"email\":\"support@github.com\",\"date\":\"2011-04-14T18:00:49+02:00\","
+            + "\"user\":{\"databaseId\":1,\"login\":\"octocat\",\"avatarUrl\":\"a\",\"url\":\"u\"}},"
+            + "\"committer\":{\"name\":\"Monalisa Octocat\",\"email\":\"support@github.com\",\"date\":\"2011-04-14T16:00:49Z\"}}";
+
+    private HttpServer server;
+    private final AtomicInteger requests = new AtomicInteger();
+    private GitHubConfig config;
+    private GitHubGraphQlApiClientService apiClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/graphql", this::handleGraphQl);
+        server.start();
+
+        config = new GitHubConfig();
+        config.setToken("test-token");
+        config.setBaseUrl("http://localhost:" + server.getAddress().getPort());
+        config.setApiMode(GitHubConfig.ApiMode.GRAPHQL);
+
+        TokenPool tokenPool = new TokenPool(config, new SimpleMeterRegistry());
+        apiClient = new GitHubGraphQlApiClientService(WebClient.create(), config,
+                new RateLimitService(null, config, tokenPool), tokenPool,
+                new AdaptiveConcurrencyLimiter(config, new SimpleMeterRegistry()), new RetryClassifier(tokenPool),
+                new RetryBudget(config, new SimpleMeterRegistry()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    private void handleGraphQl(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        String request = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+
+        String body;
+        if (request.contains("\"login\":\"ghost\"")) {
+            body = "{\"data\":{\"user\":null},\"errors\":[{\"type\":\"NOT_FOUND\",\"path\":[\"user\"],"
+                    + "\"message\":\"Could not resolve to a User with the login of 'ghost'.\"}]}";
+        } else if (request.contains("repository(owner")) {
+            body = "{\"data\":{\"repository\":{\"object\":{\"history\":{\"nodes\":[" + COMMIT_NODE + "]}}}}}";
+        } else if (request.contains("\"after\":\"cursor-1\"")) {
+            body = repositoriesPage("repo1", false, null);
+        } else {
+            body = repositoriesPage("repo0", true, "cursor-1");
+        }
+
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String repositoriesPage(String name, boolean hasNextPage, String endCursor) {
+        String cursor = endCursor == null ? "null" : "\"" + endCursor + "\"";
+        return "{\"data\":{\"user\":{\"repositories\":{\"pageInfo\":{\"hasNextPage\":" + hasNextPage + ",\"endCursor\":" + cursor + "},"
+                + "\"nodes\":[{\"databaseId\":42,\"name\":\"" + name + "\",\"nameWithOwner\":\"octocat/" + name + "\","
+                + "\"url\":\"https://github.com/octocat/" + name + "\",\"pushedAt\":\"2024-01-02T03:04:05Z\","
+                + "\"primaryLanguage\":{\"name\":\"Java\"},\"stargazerCount\":7,\"forkCount\":2,\"watchers\":{\"totalCount\":3},"
+                + "\"owner\":{\"__typename\":\"User\",\"login\":\"octocat\",\"databaseId\":1},"
+                + "\"defaultBranchRef\":{\"name\":\"trunk\",\"target\":{\"history\":{\"nodes\":[" + COMMIT_NODE + "]}}}}]}}}}";
+    }
+
+    @Test
+    void fetchRepositories_shouldFollowCursorsAndMapCommits() {
+        StepVerifier.create(apiClient.fetchRepositories("octocat"))
+                .assertNext(repos -> {
+                    assertEquals(List.of("repo0", "repo1"), repos.stream().map(GitHubRepository::getName).toList());
+
+                    GitHubRepository repo = repos.getFirst();
+                    assertEquals(42L, repo.getId());
+                    assertEquals("octocat/repo0", repo.getFullName());
+                    assertEquals("trunk", repo.getDefaultBranch());
+                    assertEquals("Java", repo.getLanguage());
+                    assertEquals(7, repo.getStargazersCount());
+                    assertEquals(LocalDateTime.of(2024, 1, 2, 3, 4, 5), repo.getPushedAt());
+                    assertEquals("User", repo.getOwner().getType());
+
+                    GitHubCommit commit = repo.getRecentCommits().getFirst();
+                    assertEquals("6dcb09b5b57875f334f61aebed695e2e4193db5e", commit.getSha());
+                    assertEquals("Fix all the bugs", commit.getCommit().getMessage());
+                    assertEquals(LocalDateTime.of(2011, 4, 14, 16, 0, 49), commit.getCommit().getAuthor().getDate());
+                    assertEquals("octocat", commit.getAuthor().getLogin());
+                })
+                .verifyComplete();
+
+        assertEquals(2, requests.get());
+        assertTrue(apiClient.includesRecentCommits());
+    }
+
+    @Test
+    void fetchRepositories_shouldStopAtMaxPages() {
+        config.getPagination().setMaxPages(1);
+
+        StepVerifier.create(apiClient.fetchRepositories("octocat"))
+                .assertNext(repos -> assertEquals(1, repos.size()))
+                .verifyComplete();
+
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    void fetchRepositories_shouldMapMissingUserToUserNotFound() {
+        StepVerifier.create(apiClient.fetchRepositories("ghost"))
+                .expectError(UserNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void fetchCommits_shouldQueryBranchHistory() {
+        StepVerifier.create(apiClient.fetchCommits("octocat/Hello-World", "main"))
+                .assertNext(commits -> {
+                    assertEquals(1, commits.size());
+                    assertEquals("support@github.com", commits.getFirst().getCommit().getCommitter().getEmail());
+                })
+                .verifyComplete();
+    }
+}
@@ -1,10 +1,23 @@
 package com.savant.labs.activity.tracker.service;
 
+import com.savant.labs.activity.tracker.client.TokenPool;
+import com.savant.labs.activity.tracker.config.GitHubConfig;
+import com.savant.labs.activity.tracker.exception.RateLimitExceededException;
 import com.savant.labs.activity.tracker.service.impl.RateLimitService;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
 import reactor.test.StepVerifier;
+import reactor.util.context.Context;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.List;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 import java.time.ZoneOffset;
@@ -84,4 +97,97 @@ class RateLimitServiceTest {
 
         assertEquals(4999, rateLimitService.getRemainingRequests());
     }
-}
\ No newline at end of file
+
+    @Test
+    void checkRateLimit_shouldQueueUntilBudgetIsReplenished() {
+        long reset = System.currentTimeMillis() / 1000 + 10;
+        rateLimitService.updateRateLimit(0, reset);
+
+        StepVerifier.create(rateLimitService.checkRateLimit())
+                .expectSubscription()
+                .expectNoEvent(Duration.ofMillis(100))
+                .then(() -> rateLimitService.updateRateLimit(5, reset))
+                .verifyComplete();
+
+        assertEquals(4, rateLimitService.getRemainingRequests());
+    }
+
+    @Test
+    void checkRateLimit_shouldFailFastWhenResetIsAfterDeadline() {
+        rateLimitService.updateRateLimit(0, System.currentTimeMillis() / 1000 + 3600);
+
+        StepVerifier.create(rateLimitService.checkRateLimit())
+                .expectError(RateLimitExceededException.class)
+                .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void checkRateLimit_shouldHonourDeadlineFromContext() {
+        rateLimitService.updateRateLimit(0, System.currentTimeMillis() / 1000 + 10);
+
+        StepVerifier.create(rateLimitService.checkRateLimit()
+                        .contextWrite(Context.of(RateLimitService.DEADLINE_CONTEXT_KEY, Instant.now().plusSeconds(2))))
+                .expectError(RateLimitExceededException.class)
+                .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void checkRateLimit_shouldRejectWhenQueueIsFull() {
+        GitHubConfig config = new GitHubConfig();
+        config.getRateLimit().setQueueCapacity(0);
+        RateLimitService service = new RateLimitService(null, config, null);
+        service.updateRateLimit(0, System.currentTimeMillis() / 1000 + 10);
+
+        StepVerifier.create(service.checkRateLimit())
+                .expectError(RateLimitExceededException.class)
+                .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void checkRateLimit_shouldTrackResourcesSeparately() {
+        rateLimitService.updateRateLimit("graphql", 0, System.currentTimeMillis() / 1000 + 3600);
+
+        StepVerifier.create(rateLimitService.checkRateLimit("core"))
+                .verifyComplete();
+        StepVerifier.create(rateLimitService.checkRateLimit("graphql"))
+                .expectError(RateLimitExceededException.class)
+                .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void seed_shouldSumEveryTokensBudgetFromRateLimitEndpoint() throws Exception {
+        long reset = System.currentTimeMillis() / 1000 + 1200;
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/rate_limit", exchange -> {
+            boolean primary = exchange.getRequestHeaders().getFirst("Authorization").endsWith("primary");
+            String body = "{\"resources\":{"
+                    + "\"core\":{\"limit\":5000,\"remaining\":" + (primary ? 4000 : 1000) + ",\"reset\":" + reset + "},"
+                    + "\"graphql\":{\"limit\":5000,\"remaining\":300,\"reset\":" + reset + "},"
+                    + "\"search\":{\"limit\":30,\"remaining\":30,\"reset\":" + reset + "}}}";
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+        server.start();
+        try {
+            GitHubConfig config = new GitHubConfig();
+            config.setToken("primary");
+            config.setTokens(List.of("secondary"));
+            config.setBaseUrl("http://localhost:" + server.getAddress().getPort());
+            RateLimitService service = new RateLimitService(WebClient.create(), config,
+                    new TokenPool(config, new SimpleMeterRegistry()));
+
+            StepVerifier.create(service.seed()).verifyComplete();
+
+            assertEquals(5000, service.getRemainingRequests("core"));
+            assertEquals(600, service.getRemainingRequests("graphql"));
+            assertEquals(60, service.getRemainingRequests("search"));
+            assertEquals(reset, service.getResetTime().toEpochSecond(ZoneOffset.UTC));
+        } finally {
+            server.stop(0);
+        }
+    }
+}